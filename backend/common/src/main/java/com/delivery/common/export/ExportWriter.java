@@ -0,0 +1,109 @@
+package com.delivery.common.export;
+
+import com.delivery.common.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes export rows straight to the response as CSV or NDJSON, one row at a time. Values are written as they come
+ * from the result set, so nothing but the output buffer outlives a row.
+ */
+public class ExportWriter {
+
+    private final ExportFormat format;
+    private final List<String> columns;
+    private final GZIPOutputStream gzip;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    public ExportWriter(OutputStream output, ExportFormat format, List<String> columns, JsonFactory jsonFactory,
+                        boolean compress) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.gzip = compress ? new GZIPOutputStream(output, 8192) : null;
+        this.writer = new BufferedWriter(new OutputStreamWriter(compress ? gzip : output, StandardCharsets.UTF_8));
+        this.json = format == ExportFormat.NDJSON ? jsonFactory.createGenerator(writer) : null;
+        if (json != null) {
+            json.setRootValueSeparator(null);
+        } else {
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Values in column order. Dates are written as ISO date-times, collections as arrays or semicolon separated.
+     */
+    public void writeRow(Object... values) throws IOException {
+        if (json != null) {
+            json.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                json.writeFieldName(columns.get(i));
+                writeJson(values[i]);
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(CsvUtils.escape(csvValue(values[i])));
+        }
+        writer.write('\n');
+    }
+
+    public void finish() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+            gzip.flush();
+        }
+    }
+
+    private void writeJson(Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Long number) {
+            json.writeNumber(number);
+        } else if (value instanceof Integer number) {
+            json.writeNumber(number);
+        } else if (value instanceof LocalDateTime dateTime) {
+            json.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+        } else if (value instanceof Collection<?> collection) {
+            json.writeStartArray();
+            for (Object element : collection) {
+                writeJson(element);
+            }
+            json.writeEndArray();
+        } else {
+            json.writeString(value.toString());
+        }
+    }
+
+    private Object csvValue(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+        }
+        if (value instanceof Collection<?> collection) {
+            return String.join(";", collection.stream().map(String::valueOf).toList());
+        }
+        return value;
+    }
+}
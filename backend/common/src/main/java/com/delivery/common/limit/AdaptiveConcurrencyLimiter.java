@@ -0,0 +1,114 @@
+package com.delivery.common.limit;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit for one endpoint class, adjusted by AIMD on observed latency.
+ * <p>
+ * The limit grows by one for every fast response while at least half of it is in use, and is multiplied by the
+ * backoff ratio at most once per round trip when a response is slower than the target latency or reports
+ * overload. Requests over the limit wait in a short bounded queue and are rejected when it is full or the wait
+ * runs out, so threads are never parked until the client gives up.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final int maxQueued;
+    private final long maxQueueWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // Written under the lock, read without it by the metrics gauges
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int queued;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos,
+                                      double backoffRatio, int maxQueued, long maxQueueWaitNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.maxQueued = maxQueued;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+    }
+
+    /**
+     * Takes a slot, waiting in the queue if needed. Returns {@code false} if the request should be shed.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= maxQueued) {
+                return false;
+            }
+
+            queued++;
+            try {
+                long remaining = maxQueueWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot and feeds the round trip of the finished request into the limit.
+     */
+    public void release(long startNanos, boolean overloaded) {
+        long now = System.nanoTime();
+        long rtt = now - startNanos;
+        lock.lock();
+        try {
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight--;
+
+            if (overloaded || rtt > targetLatencyNanos) {
+                // Requests that overlapped the same congestion would otherwise each cut the limit again
+                if (now - lastBackoffNanos > rtt) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = now;
+                }
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+}
@@ -0,0 +1,134 @@
+package com.delivery.common.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sheds load with 503 and {@code Retry-After} once an endpoint class reaches its adaptive concurrency limit.
+ * Runs right after Spring Security, so rejections still carry CORS headers and unauthenticated requests never
+ * take a slot. Each service registers it as a bean with its own {@link EndpointClassifier}.
+ */
+@Slf4j
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "app.concurrency-limit.";
+
+    private final EndpointClassifier classifier;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new HashMap<>();
+    private final Map<String, Counter> rejections = new HashMap<>();
+    private final Map<String, Timer> queueWaits = new HashMap<>();
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(EndpointClassifier classifier, Environment environment, MeterRegistry meterRegistry) {
+        this.classifier = classifier;
+        this.enabled = environment.getRequiredProperty(PREFIX + "enabled", Boolean.class);
+        this.retryAfterSeconds = Math.max(1,
+                environment.getRequiredProperty(PREFIX + "retry-after", Duration.class).toSeconds());
+        double backoffRatio = environment.getRequiredProperty(PREFIX + "backoff-ratio", Double.class);
+        int maxQueued = environment.getRequiredProperty(PREFIX + "max-queued", Integer.class);
+        Duration maxQueueWait = environment.getRequiredProperty(PREFIX + "max-queue-wait", Duration.class);
+
+        for (String endpointClass : classifier.keys()) {
+            String prefix = PREFIX + "classes." + endpointClass + ".";
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    environment.getRequiredProperty(prefix + "initial-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "min-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "max-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "target-latency", Duration.class).toNanos(),
+                    backoffRatio,
+                    maxQueued,
+                    maxQueueWait.toNanos());
+            limiters.put(endpointClass, limiter);
+
+            String tag = endpointClass;
+            Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("http.server.concurrency.rejected")
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry));
+            queueWaits.put(endpointClass, Timer.builder("http.server.concurrency.queue.wait")
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classifier.classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String endpointClass = classifier.classify(request);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        long start = System.nanoTime();
+        queueWaits.get(endpointClass).record(Duration.ofNanos(start - waitStart));
+
+        if (!acquired) {
+            rejections.get(endpointClass).increment();
+            log.debug("Shedding {} {}: {} limit {} reached", request.getMethod(), request.getRequestURI(),
+                    endpointClass, (int) limiter.getLimit());
+            reject(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Pool and downstream timeouts surface as 503/504 and mean we are past the knee already
+            int status = response.getStatus();
+            limiter.release(start, status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value());
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        String body = String.format(
+                "{\"timestamp\":\"%s\",\"status\":503,\"error\":\"Service Unavailable\",\"message\":\"Server is overloaded, retry later\"}",
+                LocalDateTime.now()
+        );
+        response.getWriter().write(body);
+    }
+}
@@ -0,0 +1,42 @@
+package com.delivery.common.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The endpoint classes of a service and which one a request belongs to. Each class has its own concurrency limit,
+ * configured under {@code app.concurrency-limit.classes.<key>}.
+ */
+public interface EndpointClassifier {
+
+    Collection<String> keys();
+
+    /**
+     * The key of the request's class, or {@code null} for requests that are never shed.
+     */
+    String classify(HttpServletRequest request);
+
+    /**
+     * Classifies by a service's endpoint class enum, given each constant's key and the constant of a request.
+     */
+    static <E extends Enum<E>> EndpointClassifier of(E[] values, Function<E, String> key,
+                                                     Function<HttpServletRequest, E> classify) {
+        List<String> keys = Arrays.stream(values).map(key).toList();
+        return new EndpointClassifier() {
+            @Override
+            public Collection<String> keys() {
+                return keys;
+            }
+
+            @Override
+            public String classify(HttpServletRequest request) {
+                E endpointClass = classify.apply(request);
+                return endpointClass != null ? key.apply(endpointClass) : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.delivery.common.shard;
+
+/**
+ * Layout of order, item and payment ids. Orders are placed by the bucket of their user; every id carries that bucket,
+ * so an order is found from its id alone, wherever the bucket lives after resharding.
+ * <pre>
+ *  bit 52     bits 14..51            bits 10..13       bits 0..9
+ *  marker     shard sequence value   issuing shard     bucket
+ * </pre>
+ * The sequence value is unique within the issuing shard, which makes ids unique across shards. Ids stay below 2^53
+ * so browsers read them as exact numbers. Ids without the marker predate sharding and carry no bucket.
+ * <p>
+ * order-service issues these ids, and perf-tools generates orders with them, so both read the layout from here.
+ */
+public final class ShardedIds {
+
+    public static final int BUCKETS = 1024;
+
+    /**
+     * Values each {@code nextval} of an id sequence reserves; the INCREMENT BY of the sequences in order-service's
+     * V6__Prepare_order_sharding.sql.
+     */
+    public static final int SEQUENCE_BLOCK = 50;
+
+    /**
+     * Fills the {@code shard_bucket} directory on first start, with the number of shards to spread the buckets over
+     * and the last bucket as parameters; see {@link #initialSpread}.
+     */
+    public static final String ASSIGN_BUCKETS = "INSERT INTO shard_bucket (bucket, shard) "
+            + "SELECT b, b % ? FROM generate_series(0, ?) b ON CONFLICT DO NOTHING";
+
+    private static final int BUCKET_BITS = 10;
+    private static final int SHARD_BITS = 4;
+    private static final int SEQUENCE_SHIFT = BUCKET_BITS + SHARD_BITS;
+    private static final long MARKER = 1L << 52;
+    private static final long MAX_SEQUENCE = (1L << (52 - SEQUENCE_SHIFT)) - 1;
+
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private ShardedIds() {
+    }
+
+    /**
+     * Shards the buckets are first spread over: all of them for a new database, only shard 0 when it already holds
+     * orders from before sharding, which stay there until their buckets are moved.
+     */
+    public static int initialSpread(boolean existingOrders, int shardCount) {
+        return existingOrders ? 1 : shardCount;
+    }
+
+    public static int bucketOfUser(long userId) {
+        return (int) Math.floorMod(userId, (long) BUCKETS);
+    }
+
+    public static long compose(long sequenceValue, int shard, int bucket) {
+        if (sequenceValue < 0 || sequenceValue > MAX_SEQUENCE) {
+            throw new IllegalStateException("Shard id sequence out of range: " + sequenceValue);
+        }
+        return MARKER | sequenceValue << SEQUENCE_SHIFT | (long) shard << BUCKET_BITS | bucket;
+    }
+
+    public static boolean isSharded(long id) {
+        return (id & MARKER) != 0;
+    }
+
+    /**
+     * Bucket of a sharded id; only meaningful when {@link #isSharded(long)}.
+     */
+    public static int bucketOf(long id) {
+        return (int) (id & (BUCKETS - 1));
+    }
+}
@@ -0,0 +1,18 @@
+package com.delivery.common.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller method may execute per request.
+ * Exceeding it is logged and counted; with app.sql.query-budget.strict the request fails,
+ * which is how CI catches N+1 regressions.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
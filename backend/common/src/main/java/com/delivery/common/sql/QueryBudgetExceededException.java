@@ -0,0 +1,12 @@
+package com.delivery.common.sql;
+
+/**
+ * Thrown by {@link SqlStatisticsListener} in strict mode for the statement that takes a request over its
+ * {@link QueryBudget}. The services' generic exception handlers answer it with a 500.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,49 @@
+package com.delivery.common.sql;
+
+import lombok.Getter;
+
+/**
+ * Statements executed by the request running on the current thread.
+ * Opened and closed by SqlStatisticsFilter, fed by SqlStatisticsListener.
+ */
+@Getter
+public final class SqlRequestStatistics {
+
+    private static final ThreadLocal<SqlRequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedMs;
+    private int budget = -1;
+    private String handler;
+
+    private SqlRequestStatistics() {
+    }
+
+    public static SqlRequestStatistics start() {
+        SqlRequestStatistics statistics = new SqlRequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlRequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void record(long elapsedMs) {
+        statements++;
+        this.elapsedMs += elapsedMs;
+    }
+
+    void limit(int budget, String handler) {
+        this.budget = budget;
+        this.handler = handler;
+    }
+
+    public boolean isOverBudget() {
+        return budget >= 0 && statements > budget;
+    }
+}
@@ -0,0 +1,52 @@
+package com.delivery.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statistics and query budgets. Services pull it in with {@code @Import(SqlStatisticsConfig.class)}
+ * and set {@code app.sql.slow-query-ms}, {@code app.sql.log-sample-rate} and {@code app.sql.query-budget.strict}.
+ */
+@Configuration
+public class SqlStatisticsConfig implements WebMvcConfigurer {
+
+    // Counts and times every statement on the pool instead of printing it with show_sql
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(
+            @Value("${app.sql.slow-query-ms}") long slowQueryMs,
+            @Value("${app.sql.query-budget.strict}") boolean strictQueryBudget) {
+        SqlStatisticsListener listener = new SqlStatisticsListener(slowQueryMs, strictQueryBudget);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatisticsFilter sqlStatisticsFilter(MeterRegistry meterRegistry,
+                                                   @Value("${app.sql.log-sample-rate}") double logSampleRate) {
+        return new SqlStatisticsFilter(meterRegistry, logSampleRate);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor());
+    }
+}
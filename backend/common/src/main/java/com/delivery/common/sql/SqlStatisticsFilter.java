@@ -0,0 +1,63 @@
+package com.delivery.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens the {@link SqlRequestStatistics} of each request and records them per endpoint when it ends.
+ * Registered by {@link SqlStatisticsConfig}.
+ */
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final double logSampleRate;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, double logSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStatistics statistics = SqlRequestStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStatistics.end();
+            record(request, response, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlRequestStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        meterRegistry.summary("http.server.requests.sql.statements", "method", request.getMethod(), "uri", uri)
+                .record(statistics.getStatements());
+        meterRegistry.timer("http.server.requests.sql.time", "method", request.getMethod(), "uri", uri)
+                .record(statistics.getElapsedMs(), TimeUnit.MILLISECONDS);
+
+        if (statistics.isOverBudget()) {
+            meterRegistry.counter("sql.query.budget.exceeded", "uri", uri).increment();
+            log.warn("Query budget exceeded: {} ran {} statements, budget {}",
+                    statistics.getHandler(), statistics.getStatements(), statistics.getBudget());
+        } else if (statistics.getStatements() > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            log.info("SQL statistics: method={} uri={} status={} statements={} timeMs={}",
+                    request.getMethod(), uri, response.getStatus(),
+                    statistics.getStatements(), statistics.getElapsedMs());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.delivery.common.sql;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatisticsListener implements QueryExecutionListener {
+
+    private final long slowQueryMs;
+    private final boolean strictQueryBudget;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        long elapsedMs = execution.getElapsedTime();
+        if (elapsedMs >= slowQueryMs) {
+            for (QueryInfo query : queries) {
+                log.warn("Slow query: {} ms, batch size {}, params {}: {}", elapsedMs,
+                        execution.getBatchSize(), parameterShapes(query), query.getQuery());
+            }
+        }
+
+        SqlRequestStatistics statistics = SqlRequestStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        statistics.record(elapsedMs);
+        if (strictQueryBudget && statistics.isOverBudget()) {
+            throw new QueryBudgetExceededException(String.format("Query budget of %d statements exceeded by %s",
+                    statistics.getBudget(), statistics.getHandler()));
+        }
+    }
+
+    // Types and string lengths only: bound values may hold personal data
+    private String parameterShapes(QueryInfo query) {
+        if (query.getParametersList().isEmpty()) {
+            return "[]";
+        }
+        return query.getParametersList().get(0).stream()
+                .map(this::parameterShape)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private String parameterShape(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        Object value = args.length > 1 ? args[1] : null;
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String text) {
+            return "String(" + text.length() + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
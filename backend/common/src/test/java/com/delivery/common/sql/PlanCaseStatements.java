@@ -0,0 +1,134 @@
+package com.delivery.common.sql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the statements a repository method sends against the plan cases perf-tools explains for it, from
+ * {@code backend/perf-tools/src/main/resources/plans/<service>.json}, so the plan check never explains SQL the
+ * service no longer runs. Each test runs one repository method through {@link #assertRuns}, which records its
+ * statements on the {@link SqlStatisticsConfig} proxy; {@link #assertEveryPlanCaseChecked()} then fails for the
+ * plan cases no test ran.
+ */
+public final class PlanCaseStatements {
+
+    // Relative to the service module, which is where surefire runs
+    private static final Path PLANS = Path.of("..", "perf-tools", "src", "main", "resources", "plans");
+
+    private final String file;
+    // Plan cases by repository method, without notes such as " (count)"
+    private final Map<String, List<PlanCase>> casesByMethod;
+    private final Set<String> checked = ConcurrentHashMap.newKeySet();
+    private final Set<ProxyDataSource> attached = ConcurrentHashMap.newKeySet();
+    // Statements of the call being checked; scheduled jobs on other threads use the same pool
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    private PlanCaseStatements(String file, Map<String, List<PlanCase>> casesByMethod) {
+        this.file = file;
+        this.casesByMethod = casesByMethod;
+    }
+
+    public static PlanCaseStatements of(String service) throws IOException {
+        Path file = PLANS.resolve(service + ".json");
+        Map<String, List<PlanCase>> casesByMethod = new LinkedHashMap<>();
+        for (JsonNode planCase : new ObjectMapper().readTree(file.toFile())) {
+            String method = planCase.get("repositoryMethod").asText();
+            if (method.contains(" (")) {
+                method = method.substring(0, method.indexOf(" ("));
+            }
+            casesByMethod.computeIfAbsent(method, key -> new ArrayList<>())
+                    .add(new PlanCase(planCase.get("name").asText(), planCase.get("sql").asText()));
+        }
+        return new PlanCaseStatements(file.toString(), casesByMethod);
+    }
+
+    /**
+     * Records the statements of {@code dataSource}, the service's pool as {@link SqlStatisticsConfig} wraps it.
+     */
+    public void attach(DataSource dataSource) {
+        ProxyDataSource proxy = assertInstanceOf(ProxyDataSource.class, dataSource,
+                "The data source is not wrapped by SqlStatisticsConfig");
+        if (attached.add(proxy)) {
+            proxy.getProxyConfig().getQueryListener().addListener(new Recorder());
+        }
+    }
+
+    /**
+     * Runs {@code call}, which invokes {@code repositoryMethod} once, and fails unless it sent the statement of each
+     * of that method's plan cases, and nothing without a plan case. A statement may be explained by another method's
+     * case, such as an eager collection that several queries load the same way.
+     */
+    public void assertRuns(String repositoryMethod, Runnable call) {
+        List<PlanCase> cases = casesByMethod.getOrDefault(repositoryMethod, List.of());
+        assertFalse(cases.isEmpty(), () -> "No plan case for " + repositoryMethod + " in " + file);
+        assertFalse(attached.isEmpty(), "No data source attached");
+
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            call.run();
+        } finally {
+            recording.remove();
+        }
+
+        for (PlanCase planCase : cases) {
+            assertTrue(statements.contains(planCase.sql()), () -> String.format(
+                    "Plan case %s in %s is not what %s runs%n  plan case: %s%n  ran:       %s",
+                    planCase.name(), file, repositoryMethod, planCase.sql(),
+                    String.join("\n             ", statements)));
+            checked.add(planCase.name());
+        }
+        List<String> unexplained = statements.stream()
+                .filter(statement -> casesByMethod.values().stream()
+                        .flatMap(List::stream)
+                        .noneMatch(planCase -> planCase.sql().equals(statement)))
+                .toList();
+        assertTrue(unexplained.isEmpty(),
+                () -> repositoryMethod + " runs statements without a plan case in " + file + ": " + unexplained);
+    }
+
+    public void assertEveryPlanCaseChecked() {
+        List<String> unchecked = casesByMethod.values().stream()
+                .flatMap(List::stream)
+                .map(PlanCase::name)
+                .filter(name -> !checked.contains(name))
+                .toList();
+        assertTrue(unchecked.isEmpty(), () -> "No statement test for the plan cases " + unchecked + " in " + file);
+    }
+
+    private record PlanCase(String name, String sql) {
+    }
+
+    private final class Recorder implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+            List<String> statements = recording.get();
+            if (statements != null) {
+                queries.forEach(query -> statements.add(query.getQuery()));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.delivery.common.sql;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the statements of a MockMvc request against the {@link QueryBudget} of the handler that served it.
+ * The test context needs {@link Capture}, which keeps the request's {@link SqlRequestStatistics} after the
+ * filter has closed them.
+ */
+public final class QueryBudgetAssertions {
+
+    private static final String STATISTICS_ATTRIBUTE = QueryBudgetAssertions.class.getName() + ".statistics";
+
+    // Handlers checked so far in this JVM, for assertEveryBudgetChecked
+    private static final Set<String> CHECKED = ConcurrentHashMap.newKeySet();
+
+    private QueryBudgetAssertions() {
+    }
+
+    public static ResultMatcher withinQueryBudget() {
+        return result -> {
+            HandlerMethod handler = assertInstanceOf(HandlerMethod.class, result.getHandler(),
+                    "No controller method served " + result.getRequest().getRequestURI());
+            QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+            assertNotNull(budget, handler.getShortLogMessage() + " has no @QueryBudget");
+            CHECKED.add(handler.getShortLogMessage());
+            SqlRequestStatistics statistics =
+                    (SqlRequestStatistics) result.getRequest().getAttribute(STATISTICS_ATTRIBUTE);
+            assertNotNull(statistics, "No SQL statistics recorded; import QueryBudgetAssertions.Capture");
+            assertTrue(statistics.getStatements() <= budget.value(), () -> String.format(
+                    "%s ran %d statements, budget %d", handler.getShortLogMessage(), statistics.getStatements(),
+                    budget.value()));
+        };
+    }
+
+    /**
+     * Fails for every handler with a {@link QueryBudget} that {@link #withinQueryBudget()} has not checked yet.
+     */
+    public static void assertEveryBudgetChecked(RequestMappingHandlerMapping handlerMapping) {
+        List<String> unchecked = handlerMapping.getHandlerMethods().values().stream()
+                .filter(handler -> handler.hasMethodAnnotation(QueryBudget.class))
+                .map(HandlerMethod::getShortLogMessage)
+                .filter(handler -> !CHECKED.contains(handler))
+                .sorted()
+                .toList();
+        assertTrue(unchecked.isEmpty(), () -> "No query budget test for " + unchecked);
+    }
+
+    @TestConfiguration
+    public static class Capture implements WebMvcConfigurer {
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                    // The same instance keeps counting until the request ends
+                    request.setAttribute(STATISTICS_ATTRIBUTE, SqlRequestStatistics.current());
+                    return true;
+                }
+            });
+        }
+    }
+}
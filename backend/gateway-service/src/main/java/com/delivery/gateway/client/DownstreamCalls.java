@@ -0,0 +1,49 @@
+package com.delivery.gateway.client;
+
+import com.delivery.gateway.exception.ApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.function.Supplier;
+
+/**
+ * Translates downstream failures into {@link ApiException}s. Errors that belong to the caller (401, 403, 404)
+ * are passed through with the downstream message; everything else is the gateway's upstream problem.
+ */
+@Slf4j
+final class DownstreamCalls {
+
+    private DownstreamCalls() {
+    }
+
+    static <T> T call(String service, Supplier<T> request) {
+        try {
+            return request.get();
+        } catch (HttpStatusCodeException e) {
+            HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+            if (status == HttpStatus.UNAUTHORIZED || status == HttpStatus.FORBIDDEN || status == HttpStatus.NOT_FOUND) {
+                throw new ApiException(messageOf(e, status), status);
+            }
+            log.warn("{} responded with {}", service, e.getStatusCode());
+            throw new ApiException(service + " request failed", HttpStatus.BAD_GATEWAY);
+        } catch (ResourceAccessException e) {
+            log.warn("{} is unavailable: {}", service, e.getMessage());
+            throw new ApiException(service + " is unavailable", HttpStatus.GATEWAY_TIMEOUT);
+        }
+    }
+
+    private static String messageOf(HttpStatusCodeException e, HttpStatus status) {
+        try {
+            JsonNode body = e.getResponseBodyAs(JsonNode.class);
+            if (body != null && body.hasNonNull("message")) {
+                return body.get("message").asText();
+            }
+        } catch (RuntimeException ignored) {
+            // Not a JSON error body
+        }
+        return status.getReasonPhrase();
+    }
+}
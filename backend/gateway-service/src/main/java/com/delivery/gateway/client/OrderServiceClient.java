@@ -0,0 +1,40 @@
+package com.delivery.gateway.client;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+@Component
+public class OrderServiceClient {
+
+    private static final ParameterizedTypeReference<List<ObjectNode>> ORDER_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final RestClient restClient;
+
+    public OrderServiceClient(RestClient.Builder builder,
+                              ClientHttpRequestFactory downstreamRequestFactory,
+                              @Value("${app.services.order}") String orderServiceUrl) {
+        this.restClient = builder
+                .baseUrl(orderServiceUrl)
+                .requestFactory(downstreamRequestFactory)
+                .build();
+    }
+
+    /**
+     * Orders are passed through as JSON trees, so fields added to order-service reach the frontend unchanged.
+     */
+    public List<ObjectNode> getOrders(String authorization) {
+        return DownstreamCalls.call("order-service", () -> restClient.get()
+                .uri("/orders")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .retrieve()
+                .body(ORDER_LIST));
+    }
+}
@@ -0,0 +1,48 @@
+package com.delivery.gateway.client;
+
+import com.delivery.gateway.dto.response.RestaurantSummaryDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class RestaurantServiceClient {
+
+    private final RestClient restClient;
+
+    public RestaurantServiceClient(RestClient.Builder builder,
+                                   ClientHttpRequestFactory downstreamRequestFactory,
+                                   @Value("${app.services.restaurant}") String restaurantServiceUrl,
+                                   @Value("${app.security.internal-token}") String internalToken) {
+        this.restClient = builder
+                .baseUrl(restaurantServiceUrl)
+                // Summaries come from /internal/restaurants, which only accepts the shared internal token
+                .defaultHeader("X-Internal-Token", internalToken)
+                .requestFactory(downstreamRequestFactory)
+                .build();
+    }
+
+    public RestaurantSummaryDto getRestaurantSummary(Long id) {
+        JsonNode restaurant = DownstreamCalls.call("restaurant-service", () -> restClient.get()
+                .uri("/internal/restaurants/{id}", id)
+                .retrieve()
+                .body(JsonNode.class));
+
+        RestaurantSummaryDto summary = new RestaurantSummaryDto();
+        summary.setId(restaurant.path("id").asLong());
+        summary.setName(restaurant.path("name").asText(null));
+        summary.setCuisine(restaurant.path("cuisine").asText(null));
+        summary.setAddress(restaurant.path("address").asText(null));
+        summary.setDishCount(restaurant.path("dishes").size());
+        return summary;
+    }
+
+    public JsonNode getRestaurants(int page) {
+        return DownstreamCalls.call("restaurant-service", () -> restClient.get()
+                .uri(builder -> builder.path("/restaurants").queryParam("page", page).build())
+                .retrieve()
+                .body(JsonNode.class));
+    }
+}
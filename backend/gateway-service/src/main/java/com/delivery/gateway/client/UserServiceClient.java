@@ -0,0 +1,31 @@
+package com.delivery.gateway.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class UserServiceClient {
+
+    private final RestClient restClient;
+
+    public UserServiceClient(RestClient.Builder builder,
+                             ClientHttpRequestFactory downstreamRequestFactory,
+                             @Value("${app.services.user}") String userServiceUrl) {
+        this.restClient = builder
+                .baseUrl(userServiceUrl)
+                .requestFactory(downstreamRequestFactory)
+                .build();
+    }
+
+    public JsonNode getCurrentUser(String authorization) {
+        return DownstreamCalls.call("user-service", () -> restClient.get()
+                .uri("/users/me")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .retrieve()
+                .body(JsonNode.class));
+    }
+}
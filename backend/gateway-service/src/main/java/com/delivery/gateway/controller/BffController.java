@@ -0,0 +1,87 @@
+package com.delivery.gateway.controller;
+
+import com.delivery.gateway.dto.response.DashboardResponseDto;
+import com.delivery.gateway.service.AggregationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/bff")
+@RequiredArgsConstructor
+@Tag(name = "BFF controller", description = "Page-shaped data aggregated from all services")
+public class BffController {
+
+    private final AggregationService aggregationService;
+
+    @Operation(
+            summary = "Orders page",
+            description = "Get current user orders, each with a summary of its restaurant",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "502",
+                    description = "Order service failed",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @GetMapping("/orders")
+    @ResponseStatus(HttpStatus.OK)
+    public List<JsonNode> getOrders(
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return aggregationService.getOrders(authorization);
+    }
+
+    @Operation(
+            summary = "Dashboard page",
+            description = "Get current user profile, latest orders and the first page of restaurants",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DashboardResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "502",
+                    description = "User or order service failed",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @GetMapping("/dashboard")
+    @ResponseStatus(HttpStatus.OK)
+    public DashboardResponseDto getDashboard(
+            @Parameter(hidden = true) @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return aggregationService.getDashboard(authorization);
+    }
+}
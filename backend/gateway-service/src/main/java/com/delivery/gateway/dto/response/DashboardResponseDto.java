@@ -0,0 +1,13 @@
+package com.delivery.gateway.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DashboardResponseDto {
+    private JsonNode profile;
+    private List<JsonNode> recentOrders;
+    private JsonNode restaurants;
+}
@@ -0,0 +1,12 @@
+package com.delivery.gateway.dto.response;
+
+import lombok.Data;
+
+@Data
+public class RestaurantSummaryDto {
+    private Long id;
+    private String name;
+    private String cuisine;
+    private String address;
+    private Integer dishCount;
+}
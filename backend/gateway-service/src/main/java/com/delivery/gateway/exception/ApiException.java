@@ -0,0 +1,12 @@
+package com.delivery.gateway.exception;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@RequiredArgsConstructor
+public class ApiException extends RuntimeException {
+    private final String message;
+    private final HttpStatus status;
+}
@@ -0,0 +1,88 @@
+package com.delivery.gateway.filter;
+
+import com.delivery.gateway.util.JwtTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the access token once at the edge. Downstream services still check it themselves (including
+ * revocation), so the gateway only decides whether a request is worth fanning out at all.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final ObservationRegistry observationRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String token = getTokenFromRequest(request);
+
+        try {
+            Claims claims = token != null ? verifyToken(token) : null;
+            if (claims != null) {
+                Long userId = Long.parseLong(claims.getSubject());
+
+                @SuppressWarnings("unchecked")
+                List<String> roles = (List<String>) claims.get("roles");
+                List<SimpleGrantedAuthority> authorities = (roles != null ? roles : List.<String>of()).stream()
+                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .collect(Collectors.toList());
+
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                log.debug("Gateway Service - Authenticated user ID: {} with roles: {}", userId, roles);
+            }
+        } catch (Exception e) {
+            SecurityContextHolder.clearContext();
+            log.error("JWT authentication error: {}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Claims verifyToken(String token) {
+        Observation observation = Observation.start("jwt.verification", observationRegistry);
+        Claims claims = null;
+        try (Observation.Scope scope = observation.openScope()) {
+            claims = jwtTokenVerifier.verify(token);
+            return claims;
+        } finally {
+            observation.lowCardinalityKeyValue("result", claims != null ? "valid" : "invalid").stop();
+        }
+    }
+
+    private String getTokenFromRequest(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.delivery.gateway.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groups endpoints that share a concurrency limit. Every page fans out to the same services, so the gateway
+ * has a single class; the services behind it limit per endpoint class themselves.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EndpointClass {
+    PAGE("page");
+
+    private final String key;
+
+    /**
+     * Returns {@code null} for requests that are never shed: preflights, actuator and API docs.
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        return path.startsWith("/bff/") ? PAGE : null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.delivery.gateway.service;
+
+import com.delivery.gateway.client.OrderServiceClient;
+import com.delivery.gateway.client.RestaurantServiceClient;
+import com.delivery.gateway.client.UserServiceClient;
+import com.delivery.gateway.dto.response.DashboardResponseDto;
+import com.delivery.gateway.dto.response.RestaurantSummaryDto;
+import com.delivery.gateway.exception.ApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds page-shaped responses from several services in one round trip.
+ * <p>
+ * All caches are short-lived async caches: concurrent requests for the same key share one in-flight downstream
+ * call, and failed calls are never cached. Per-user data is keyed by the caller's bearer token, so it is only
+ * ever served back to a request carrying the same token.
+ */
+@Slf4j
+@Service
+public class AggregationService {
+
+    private final OrderServiceClient orderServiceClient;
+    private final RestaurantServiceClient restaurantServiceClient;
+    private final UserServiceClient userServiceClient;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int recentOrders;
+
+    private final AsyncCache<String, List<ObjectNode>> orders;
+    private final AsyncCache<String, JsonNode> profiles;
+    private final AsyncCache<Long, RestaurantSummaryDto> restaurants;
+    private final AsyncCache<Integer, JsonNode> restaurantPages;
+
+    public AggregationService(OrderServiceClient orderServiceClient,
+                              RestaurantServiceClient restaurantServiceClient,
+                              UserServiceClient userServiceClient,
+                              ObjectMapper objectMapper,
+                              ThreadPoolTaskExecutor bffExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.bff.cache.maximum-size}") long maximumSize,
+                              @Value("${app.bff.cache.user-ttl}") Duration userTtl,
+                              @Value("${app.bff.cache.restaurant-ttl}") Duration restaurantTtl,
+                              @Value("${app.bff.dashboard.recent-orders}") int recentOrders) {
+        this.orderServiceClient = orderServiceClient;
+        this.restaurantServiceClient = restaurantServiceClient;
+        this.userServiceClient = userServiceClient;
+        this.objectMapper = objectMapper;
+        this.executor = bffExecutor;
+        this.recentOrders = recentOrders;
+
+        this.orders = buildCache(meterRegistry, "bffOrders", maximumSize, userTtl);
+        this.profiles = buildCache(meterRegistry, "bffProfiles", maximumSize, userTtl);
+        this.restaurants = buildCache(meterRegistry, "bffRestaurants", maximumSize, restaurantTtl);
+        this.restaurantPages = buildCache(meterRegistry, "bffRestaurantPages", maximumSize, restaurantTtl);
+    }
+
+    /**
+     * The caller's orders, each with a {@code restaurant} summary and {@code restaurantName}. Every distinct
+     * restaurant is fetched once, in parallel; one that cannot be loaded leaves its summary {@code null}.
+     */
+    public List<JsonNode> getOrders(String authorization) {
+        List<ObjectNode> userOrders = join(load(orders, authorization,
+                () -> orderServiceClient.getOrders(authorization)));
+        return withRestaurants(userOrders);
+    }
+
+    public DashboardResponseDto getDashboard(String authorization) {
+        CompletableFuture<JsonNode> profile = load(profiles, authorization,
+                () -> userServiceClient.getCurrentUser(authorization));
+        CompletableFuture<List<ObjectNode>> userOrders = load(orders, authorization,
+                () -> orderServiceClient.getOrders(authorization));
+        CompletableFuture<JsonNode> restaurantPage = load(restaurantPages, 0,
+                () -> restaurantServiceClient.getRestaurants(0))
+                .exceptionally(e -> {
+                    log.warn("Dashboard without restaurants: {}", unwrap(e).getMessage());
+                    return null;
+                });
+
+        List<ObjectNode> latest = join(userOrders).stream()
+                .sorted(Comparator.comparing((ObjectNode order) -> order.path("orderDate").asText(""))
+                        .reversed())
+                .limit(recentOrders)
+                .collect(Collectors.toList());
+
+        DashboardResponseDto dashboard = new DashboardResponseDto();
+        dashboard.setProfile(join(profile));
+        dashboard.setRecentOrders(withRestaurants(latest));
+        dashboard.setRestaurants(join(restaurantPage));
+        return dashboard;
+    }
+
+    private List<JsonNode> withRestaurants(List<ObjectNode> userOrders) {
+        Map<Long, CompletableFuture<RestaurantSummaryDto>> lookups = userOrders.stream()
+                .map(order -> order.path("restaurantId"))
+                .filter(JsonNode::canConvertToLong)
+                .map(JsonNode::asLong)
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(), this::restaurantSummary));
+
+        CompletableFuture.allOf(lookups.values().toArray(CompletableFuture[]::new)).join();
+
+        return userOrders.stream()
+                .map(order -> {
+                    // Cached orders are shared between requests, so enrich a copy
+                    ObjectNode view = order.deepCopy();
+                    CompletableFuture<RestaurantSummaryDto> lookup = lookups.get(order.path("restaurantId").asLong());
+                    RestaurantSummaryDto restaurant = lookup != null ? lookup.join() : null;
+                    view.set("restaurant", objectMapper.valueToTree(restaurant));
+                    view.put("restaurantName", restaurant != null ? restaurant.getName() : null);
+                    return (JsonNode) view;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private CompletableFuture<RestaurantSummaryDto> restaurantSummary(Long restaurantId) {
+        return load(restaurants, restaurantId, () -> restaurantServiceClient.getRestaurantSummary(restaurantId))
+                .exceptionally(e -> {
+                    log.warn("Restaurant {} unavailable: {}", restaurantId, unwrap(e).getMessage());
+                    return null;
+                });
+    }
+
+    private <K, V> CompletableFuture<V> load(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        return cache.get(key, (k, cacheExecutor) -> CompletableFuture.supplyAsync(loader, executor));
+    }
+
+    private <K, V> AsyncCache<K, V> buildCache(MeterRegistry meterRegistry, String name,
+                                               long maximumSize, Duration ttl) {
+        AsyncCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof ApiException apiException) {
+                throw apiException;
+            }
+            throw new ApiException("Downstream request failed", HttpStatus.BAD_GATEWAY);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return Objects.requireNonNull(cause);
+    }
+}
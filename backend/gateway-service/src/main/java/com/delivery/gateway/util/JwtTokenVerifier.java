@@ -0,0 +1,33 @@
+package com.delivery.gateway.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtParser parser;
+
+    public JwtTokenVerifier(@Value("${app.security.jwt.secret-key}") String jwtSecret) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
+                .build();
+    }
+
+    /**
+     * Returns the claims of a valid access token, or {@code null} for an invalid, expired or refresh token.
+     */
+    public Claims verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            // Refresh tokens are only accepted by user-service /auth/refresh
+            return "refresh".equals(claims.get("type")) ? null : claims;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
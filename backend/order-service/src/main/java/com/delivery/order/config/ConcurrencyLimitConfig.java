@@ -0,0 +1,20 @@
+package com.delivery.order.config;
+
+import com.delivery.common.limit.ConcurrencyLimitFilter;
+import com.delivery.common.limit.EndpointClassifier;
+import com.delivery.order.limit.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(Environment environment, MeterRegistry meterRegistry) {
+        EndpointClassifier classifier =
+                EndpointClassifier.of(EndpointClass.values(), EndpointClass::getKey, EndpointClass::of);
+        return new ConcurrencyLimitFilter(classifier, environment, meterRegistry);
+    }
+}
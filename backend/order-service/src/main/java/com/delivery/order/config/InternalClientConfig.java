@@ -0,0 +1,20 @@
+package com.delivery.order.config;
+
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Every Feign client of this service calls /internal/** endpoints, which only accept the shared internal token.
+ */
+@Configuration
+public class InternalClientConfig {
+
+    public static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    @Bean
+    public RequestInterceptor internalTokenInterceptor(@Value("${app.security.internal-token}") String internalToken) {
+        return template -> template.header(INTERNAL_TOKEN_HEADER, internalToken);
+    }
+}
@@ -0,0 +1,30 @@
+package com.delivery.order.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Feign configuration of RestaurantServiceClient only, hence no @Configuration:
+ * decodes Smile responses of restaurant-service's internal endpoints.
+ */
+public class RestaurantClientConfig {
+
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    @Bean
+    public Decoder restaurantClientDecoder(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                           ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        HttpMessageConverters converters = new HttpMessageConverters(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build()));
+        return new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters, customizers)));
+    }
+}
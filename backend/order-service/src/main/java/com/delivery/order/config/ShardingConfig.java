@@ -0,0 +1,87 @@
+package com.delivery.order.config;
+
+import com.delivery.order.shard.ShardDataSources;
+import com.delivery.order.shard.ShardRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ShardingConfig {
+
+    // Shards come from app.sharding.shards[n], e.g. APP_SHARDING_SHARDS_1_URL; without any, spring.datasource is the only one
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.sharding.pool-size}") int poolSize,
+            @Value("${spring.datasource.hikari.connection-timeout}") long connectionTimeoutMs) {
+        List<ShardDataSources.Connection> shards = Binder.get(environment)
+                .bind("app.sharding.shards", Bindable.listOf(ShardDataSources.Connection.class))
+                .orElseGet(() -> List.of(new ShardDataSources.Connection(
+                        environment.getRequiredProperty("spring.datasource.url"),
+                        environment.getProperty("spring.datasource.username"),
+                        environment.getProperty("spring.datasource.password"))));
+        return new ShardDataSources(shards, poolSize, connectionTimeoutMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.count(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(shards.get(0));
+        dataSource.setLenientFallback(false);
+        return dataSource;
+    }
+
+    // Every shard gets the same schema
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardDataSources shards) {
+        return flyway -> {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shards.get(shard))
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    /**
+     * Queries all shards of an admin order page at once. Overflow runs on the request thread, as in the
+     * gateway's fan-out executor.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor shardQueryExecutor(@Value("${app.sharding.query-threads}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("shard-query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Carries the current trace into the query threads
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
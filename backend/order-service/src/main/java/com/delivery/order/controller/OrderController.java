@@ -1,7 +1,11 @@
 package com.delivery.order.controller;
 
+import com.delivery.common.export.ExportFormat;
+import com.delivery.common.sql.QueryBudget;
 import com.delivery.order.dto.request.OrderRequestDto;
 import com.delivery.order.dto.response.OrderResponseDto;
+import com.delivery.order.exception.ApiException;
+import com.delivery.order.service.OrderExportService;
 import com.delivery.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,11 +17,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -28,6 +38,7 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     @Operation(
             summary = "New order **HAS ROLE USER**",
@@ -67,7 +78,8 @@ public class OrderController {
 
     @Operation(
             summary = "Get **HAS ROLE USER | ADMIN**",
-            description = "Get orders",
+            description = "Get orders. Users get all their orders; admins get the newest orders of all users, "
+                    + "one page at a time: pass orderDate and id of the last order as beforeDate and beforeId",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -84,10 +96,62 @@ public class OrderController {
                     content = @Content(schema = @Schema(hidden = true))
             )
     })
+    @QueryBudget(1)
     @GetMapping("")
     @ResponseStatus(HttpStatus.OK)
-    public List<OrderResponseDto> getOrders(HttpServletRequest request) {
-        return orderService.getOrders(request);
+    public List<OrderResponseDto> getOrders(
+            HttpServletRequest request,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return orderService.getOrders(request, beforeDate, beforeId, limit);
+    }
+
+    @Operation(
+            summary = "Export **HAS ROLE ADMIN**",
+            description = "Stream the orders of all users as CSV or NDJSON, oldest first, optionally limited to "
+                    + "orders placed from (inclusive) and to (exclusive) the given date-times. "
+                    + "Gzip-compressed when the request accepts gzip",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exported"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many exports running",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat = ExportFormat.fromName(format)
+                .orElseThrow(() -> new ApiException("Unsupported format: " + format, HttpStatus.BAD_REQUEST));
+        boolean compress = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = orderExportService.exportOrders(from, to, exportFormat, compress);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("orders" + exportFormat.getExtension()).build()
+                                .toString());
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @Operation(
@@ -114,6 +178,7 @@ public class OrderController {
                     content = @Content(schema = @Schema(hidden = true))
             )
     })
+    @QueryBudget(3)
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public OrderResponseDto getOrderById(@PathVariable Long id) {
@@ -145,6 +210,7 @@ public class OrderController {
             )
     })
     @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(1)
     @GetMapping("/user/{id}")
     @ResponseStatus(HttpStatus.OK)
     public List<OrderResponseDto> getOrdersByUserId(@PathVariable Long id) {
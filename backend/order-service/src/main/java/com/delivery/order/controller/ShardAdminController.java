@@ -0,0 +1,43 @@
+package com.delivery.order.controller;
+
+import com.delivery.order.shard.ShardDirectory;
+import com.delivery.order.shard.ShardRebalancer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/shards")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Shard admin controller", description = "Order database shards")
+public class ShardAdminController {
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRebalancer shardRebalancer;
+
+    @Operation(
+            summary = "Get **HAS ROLE ADMIN**",
+            description = "Buckets per shard and buckets being moved",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("")
+    public Map<String, Object> getStatus() {
+        return shardDirectory.status();
+    }
+
+    @Operation(
+            summary = "Move **HAS ROLE ADMIN**",
+            description = "Move the orders of a bucket to another shard; returns once the move is complete",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PostMapping("/buckets/{bucket}/move")
+    public ShardRebalancer.MoveResult moveBucket(@PathVariable int bucket, @RequestParam int target) {
+        return shardRebalancer.move(bucket, target);
+    }
+}
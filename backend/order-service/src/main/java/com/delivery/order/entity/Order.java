@@ -1,5 +1,7 @@
 package com.delivery.order.entity;
 
+import com.delivery.order.shard.ShardKeyed;
+import com.delivery.order.shard.ShardedId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,10 +14,10 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Order {
+public class Order implements ShardKeyed {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedId(sequence = "orders_sharded_id_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -43,4 +45,9 @@ public class Order {
     protected void onCreate() {
         orderDate = LocalDateTime.now();
     }
-}
\ No newline at end of file
+
+    @Override
+    public long shardKey() {
+        return userId;
+    }
+}
@@ -1,5 +1,7 @@
 package com.delivery.order.entity;
 
+import com.delivery.order.shard.ShardKeyed;
+import com.delivery.order.shard.ShardedId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,10 +10,10 @@ import lombok.*;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class OrderItem {
+public class OrderItem implements ShardKeyed {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedId(sequence = "order_item_sharded_id_seq")
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,4 +32,9 @@ public class OrderItem {
     public Long getOrderId() {
         return order != null ? order.getId() : null;
     }
+
+    @Override
+    public long shardKey() {
+        return order.getUserId();
+    }
 }
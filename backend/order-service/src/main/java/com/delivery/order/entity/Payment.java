@@ -1,5 +1,7 @@
 package com.delivery.order.entity;
 
+import com.delivery.order.shard.ShardKeyed;
+import com.delivery.order.shard.ShardedId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,10 +11,10 @@ import lombok.*;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Payment {
+public class Payment implements ShardKeyed {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedId(sequence = "payment_sharded_id_seq")
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -31,4 +33,9 @@ public class Payment {
     public Long getOrderId() {
         return order != null ? order.getId() : null;
     }
+
+    @Override
+    public long shardKey() {
+        return order.getUserId();
+    }
 }
@@ -0,0 +1,32 @@
+package com.delivery.order.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groups endpoints that share a concurrency limit. Order writes call user-service and restaurant-service
+ * and hold a connection meanwhile, so they get their own, smaller limit than order reads.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EndpointClass {
+    ORDER_READ("order-read"),
+    ORDER_WRITE("order-write");
+
+    private final String key;
+
+    /**
+     * Returns {@code null} for requests that are never shed: preflights, actuator and API docs.
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        if (path.equals("/orders") || path.startsWith("/orders/")) {
+            return "GET".equals(request.getMethod()) ? ORDER_READ : ORDER_WRITE;
+        }
+        return null;
+    }
+}
@@ -1,14 +1,49 @@
 package com.delivery.order.repository;
 
 import com.delivery.order.entity.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> getOrdersByUserId(Long userId);
+    @Override
+    @EntityGraph(attributePaths = {"orderItems", "payment"})
+    Optional<Order> findById(Long id);
 
-    List<Order> findByUserId(Long userId);
+    // Row-locked for status changes; the items are loaded afterwards, outer joins cannot be locked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"orderItems", "payment"})
+    List<Order> getOrdersByUserIdOrderByOrderDateDesc(Long userId);
+
+    @EntityGraph(attributePaths = {"orderItems", "payment"})
+    List<Order> findByUserIdOrderByOrderDateDesc(Long userId);
+
+    // Newest orders first; the limit is applied in the subquery, before items are joined
+    @EntityGraph(attributePaths = {"orderItems", "payment"})
+    @Query("select o from Order o where o.id in ("
+            + "select l.id from Order l order by l.orderDate desc, l.id desc limit :limit) "
+            + "order by o.orderDate desc, o.id desc")
+    List<Order> findLatest(@Param("limit") int limit);
+
+    @EntityGraph(attributePaths = {"orderItems", "payment"})
+    @Query("select o from Order o where o.id in ("
+            + "select l.id from Order l "
+            + "where l.orderDate < :beforeDate or (l.orderDate = :beforeDate and l.id < :beforeId) "
+            + "order by l.orderDate desc, l.id desc limit :limit) "
+            + "order by o.orderDate desc, o.id desc")
+    List<Order> findLatestBefore(@Param("beforeDate") LocalDateTime beforeDate,
+                                 @Param("beforeId") Long beforeId,
+                                 @Param("limit") int limit);
 }
@@ -0,0 +1,199 @@
+package com.delivery.order.service;
+
+import com.delivery.common.export.ExportFormat;
+import com.delivery.common.export.ExportWriter;
+import com.delivery.common.shard.ShardedIds;
+import com.delivery.order.exception.ApiException;
+import com.delivery.order.shard.ShardDataSources;
+import com.delivery.order.shard.ShardDirectory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Streams orders of all shards for accounting, oldest first. Every shard is read through its own server-side
+ * cursor and the cursors are merged by order date, so memory stays the same whatever the number of orders.
+ */
+@Slf4j
+@Service
+public class OrderExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String EXPORT_PERMIT = "exportPermit";
+
+    private static final List<String> COLUMNS = List.of("id", "userId", "restaurantId", "status", "orderDate",
+            "totalPrice", "paymentMethod", "paymentAmount", "paymentStatus");
+
+    private static final String SELECT_ORDERS_SQL = """
+            SELECT o.id, o.user_id, o.restaurant_id, o.status, o.order_date, o.total_price,
+                   p.method, p.amount, p.status
+            FROM orders o
+            LEFT JOIN payment p ON p.order_id = o.id
+            WHERE o.order_date >= ? AND o.order_date < ? AND o.user_id %% %d = ANY(?)
+            ORDER BY o.order_date, o.id
+            """.formatted(ShardedIds.BUCKETS);
+
+    // Bounds of the date filter when the caller leaves it open
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final ShardDataSources dataSources;
+    private final ShardDirectory shardDirectory;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exports;
+
+    public OrderExportService(ShardDataSources dataSources, ShardDirectory shardDirectory, ObjectMapper objectMapper,
+                              @Value("${app.export.max-concurrent}") int maxConcurrent) {
+        this.dataSources = dataSources;
+        this.shardDirectory = shardDirectory;
+        this.objectMapper = objectMapper;
+        this.exports = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Each running export holds one connection of every shard until the last row is written.
+     */
+    public StreamingResponseBody exportOrders(LocalDateTime from, LocalDateTime to, ExportFormat format,
+                                              boolean compress) {
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(
+                ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest());
+        if (!exports.tryAcquire()) {
+            throw new ApiException("Too many exports running, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exports.release();
+            }
+        };
+        // Released when the export ends, or when the async request completes without running it, e.g. when the
+        // task executor rejects it
+        asyncManager.registerCallableInterceptor(EXPORT_PERMIT, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                release.run();
+            }
+        });
+
+        return output -> {
+            try {
+                stream(output, from != null ? from : EARLIEST, to != null ? to : LATEST, format, compress);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private void stream(OutputStream output, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                        boolean compress) throws IOException {
+        List<Connection> connections = new ArrayList<>();
+        long rows = 0;
+        try {
+            PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(ShardCursor.ORDER);
+            int[] bucketShards = shardDirectory.bucketShards();
+            for (int shard = 0; shard < dataSources.count(); shard++) {
+                Connection connection = dataSources.get(shard).getConnection();
+                connections.add(connection);
+                // PostgreSQL only honours the fetch size inside a transaction, which turns the query into a cursor
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                PreparedStatement statement = connection.prepareStatement(SELECT_ORDERS_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, from);
+                statement.setObject(2, to);
+                // Only the buckets assigned to the shard, so a bucket being moved is not exported twice
+                statement.setArray(3, connection.createArrayOf("integer", bucketsOf(bucketShards, shard)));
+                ShardCursor cursor = new ShardCursor(statement.executeQuery());
+                if (cursor.next()) {
+                    cursors.add(cursor);
+                }
+            }
+
+            ExportWriter writer = new ExportWriter(output, format, COLUMNS, objectMapper.getFactory(), compress);
+            while (!cursors.isEmpty()) {
+                ShardCursor cursor = cursors.poll();
+                ResultSet rs = cursor.resultSet;
+                writer.writeRow(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getString(4), cursor.orderDate,
+                        rs.getInt(6), rs.getString(7), rs.getObject(8, Integer.class), rs.getString(9));
+                rows++;
+                if (cursor.next()) {
+                    cursors.add(cursor);
+                }
+            }
+            writer.finish();
+            log.info("Exported {} orders", rows);
+        } catch (IOException e) {
+            // The client went away; the rollback below closes the cursors, so the shards stop reading.
+            // Dropping the client also cancels the export task, whose interrupt would cut the rollback short.
+            Thread.interrupted();
+            log.info("Order export aborted after {} rows: {}", rows, e.getMessage());
+            throw e;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Order export failed after " + rows + " rows", e);
+        } finally {
+            for (Connection connection : connections) {
+                try (connection) {
+                    connection.rollback();
+                } catch (SQLException e) {
+                    log.warn("Closing export connection failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Integer[] bucketsOf(int[] bucketShards, int shard) {
+        return IntStream.range(0, bucketShards.length)
+                .filter(bucket -> bucketShards[bucket] == shard)
+                .boxed()
+                .toArray(Integer[]::new);
+    }
+
+    private static final class ShardCursor {
+
+        static final Comparator<ShardCursor> ORDER = Comparator
+                .comparing((ShardCursor cursor) -> cursor.orderDate)
+                .thenComparingLong(cursor -> cursor.id);
+
+        private final ResultSet resultSet;
+        private LocalDateTime orderDate;
+        private long id;
+
+        private ShardCursor(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        private boolean next() throws SQLException {
+            if (!resultSet.next()) {
+                return false;
+            }
+            id = resultSet.getLong(1);
+            orderDate = resultSet.getObject(5, LocalDateTime.class);
+            return true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.delivery.order.service;
 
+import com.delivery.common.shard.ShardedIds;
 import com.delivery.order.dto.request.OrderItemRequestDto;
 import com.delivery.order.dto.request.OrderRequestDto;
 import com.delivery.order.dto.response.OrderResponseDto;
@@ -11,32 +12,82 @@ import com.delivery.order.mapper.OrderMapper;
 import com.delivery.order.repository.OrderItemRepository;
 import com.delivery.order.repository.OrderRepository;
 import com.delivery.order.repository.PaymentRepository;
+import com.delivery.order.shard.ShardDirectory;
+import com.delivery.order.shard.ShardRouter;
 import com.delivery.order.util.JwtTokenProvider;
 import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String CANCELLED = "CANCELLED";
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderMapper orderMapper;
     private final PaymentRepository paymentRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final RestaurantServiceClient restaurantServiceClient;
+    private final MeterRegistry meterRegistry;
+    private final ShardDirectory shardDirectory;
+    private final ShardRouter shardRouter;
 
-    @Transactional
     public OrderResponseDto createOrder(OrderRequestDto orderRequestDto, Long userId) {
+        int bucket = ShardedIds.bucketOfUser(userId);
+        // Fails fast while the bucket is moving, before anything is reserved
+        shardDirectory.writableShardOfBucket(bucket);
+
+        // The restaurant-service calls come first, so the bucket's lock and the transaction only cover the inserts
+        // and a slow call holds no connection
+        checkDishes(orderRequestDto);
+        ReservationRequestDto reservation = reserveDishes(orderRequestDto.getOrderItems());
 
+        AtomicBoolean handedToTransaction = new AtomicBoolean();
+        try {
+            return shardRouter.inBucketTransaction(bucket, () -> {
+                // Give the portions back if the order itself is not stored
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            releaseDishes(reservation);
+                        }
+                    }
+                });
+                handedToTransaction.set(true);
+                return placeOrder(orderRequestDto, userId);
+            });
+        } catch (RuntimeException e) {
+            // Failed before the transaction started, e.g. because the bucket is being moved
+            if (!handedToTransaction.get()) {
+                releaseDishes(reservation);
+            }
+            throw e;
+        }
+    }
+
+    private void checkDishes(OrderRequestDto orderRequestDto) {
         try {
             RestaurantDto restaurant = restaurantServiceClient
                     .getRestaurantById(orderRequestDto.getRestaurantId());
@@ -50,7 +101,9 @@ public class OrderService {
         } catch (FeignException.NotFound e) {
             throw new ApiException("Restaurant not found", HttpStatus.NOT_FOUND);
         }
+    }
 
+    private OrderResponseDto placeOrder(OrderRequestDto orderRequestDto, Long userId) {
         Integer totalPrice = orderRequestDto.getOrderItems().stream()
                 .mapToInt(item -> item.getPrice() * item.getQuantity())
                 .sum();
@@ -86,6 +139,8 @@ public class OrderService {
         paymentRepository.save(payment);
         savedOrder.setPayment(payment);
 
+        meterRegistry.counter("orders.created", "status", savedOrder.getStatus()).increment();
+
         return orderMapper.toDto(savedOrder);
     }
 
@@ -101,7 +156,37 @@ public class OrderService {
         }
     }
 
-    public List<OrderResponseDto> getOrders(HttpServletRequest request) {
+    private ReservationRequestDto reserveDishes(List<OrderItemRequestDto> orderItems) {
+        ReservationRequestDto reservation = new ReservationRequestDto(orderItems.stream()
+                .map(item -> new ReservationItemDto(item.getDishId(), item.getQuantity()))
+                .collect(Collectors.toList()));
+
+        try {
+            restaurantServiceClient.reserve(reservation);
+        } catch (FeignException.Conflict e) {
+            throw new ApiException("Dish is sold out for today", HttpStatus.CONFLICT);
+        } catch (FeignException.NotFound e) {
+            throw new ApiException("Dish not found", HttpStatus.NOT_FOUND);
+        }
+        return reservation;
+    }
+
+    private void releaseDishes(ReservationRequestDto reservation) {
+        try {
+            restaurantServiceClient.release(reservation);
+        } catch (FeignException e) {
+            log.warn("Failed to release reservation {}: {}", reservation, e.getMessage());
+        }
+    }
+
+    private static ReservationRequestDto reservationOf(List<OrderItem> orderItems) {
+        return new ReservationRequestDto(orderItems.stream()
+                .map(item -> new ReservationItemDto(item.getDishId(), item.getQuantity()))
+                .collect(Collectors.toList()));
+    }
+
+    public List<OrderResponseDto> getOrders(HttpServletRequest request, LocalDateTime beforeDate, Long beforeId,
+                                            int limit) {
         String token = jwtTokenProvider.getTokenFromRequest(request);
         List<String> roles = jwtTokenProvider.getRolesFromToken(token);
         Long userId = jwtTokenProvider.getUserIdFromToken(token);
@@ -109,9 +194,10 @@ public class OrderService {
         List<Order> orders;
 
         if(roles.contains("ADMIN")) {
-            orders = orderRepository.findAll();
+            orders = findLatestOrders(beforeDate, beforeId, limit);
         } else {
-            orders = orderRepository.getOrdersByUserId(userId);
+            orders = shardRouter.on(shardDirectory.shardForRead(userId),
+                    () -> orderRepository.getOrdersByUserIdOrderByOrderDateDesc(userId));
         }
 
         return orders.stream()
@@ -120,15 +206,64 @@ public class OrderService {
 
     }
 
+    // Every shard returns its own newest page, the newest of those rows make up the page across all shards
+    private List<Order> findLatestOrders(LocalDateTime beforeDate, Long beforeId, int limit) {
+        if ((beforeDate == null) != (beforeId == null)) {
+            throw new ApiException("beforeDate and beforeId must be given together", HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ApiException("limit must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        int[] bucketShards = shardDirectory.bucketShards();
+        List<List<Order>> pages = shardRouter.scatter(
+                shard -> findLatestOwned(shard, bucketShards, beforeDate, beforeId, limit));
+
+        return pages.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Order::getOrderDate).thenComparing(Order::getId).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The newest orders of the buckets assigned to {@code shard}. While a bucket moves, or until a finished move has
+     * deleted its old rows, its orders are on two shards; only the copy on the assigned shard counts. Those rows are
+     * rare, so further pages are read only when they were skipped.
+     */
+    private List<Order> findLatestOwned(int shard, int[] bucketShards, LocalDateTime beforeDate, Long beforeId,
+                                        int limit) {
+        List<Order> owned = new ArrayList<>();
+        LocalDateTime pageBeforeDate = beforeDate;
+        Long pageBeforeId = beforeId;
+        while (true) {
+            List<Order> page = pageBeforeDate == null
+                    ? orderRepository.findLatest(limit)
+                    : orderRepository.findLatestBefore(pageBeforeDate, pageBeforeId, limit);
+            for (Order order : page) {
+                if (bucketShards[ShardedIds.bucketOfUser(order.getUserId())] == shard && owned.size() < limit) {
+                    owned.add(order);
+                }
+            }
+            if (owned.size() == limit || page.size() < limit) {
+                return owned;
+            }
+            Order last = page.get(page.size() - 1);
+            pageBeforeDate = last.getOrderDate();
+            pageBeforeId = last.getId();
+        }
+    }
+
     public OrderResponseDto getOrderById(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = findOrder(orderId)
                 .orElseThrow(() -> new ApiException("Order not found", HttpStatus.NOT_FOUND));
 
         return orderMapper.toDto(order);
     }
 
     public List<OrderResponseDto> getOrdersByUserId(Long userId) {
-        List<Order> orders = orderRepository.findByUserId(userId);
+        List<Order> orders = shardRouter.on(shardDirectory.shardForRead(userId),
+                () -> orderRepository.findByUserIdOrderByOrderDateDesc(userId));
 
         return orderMapper.toDtoList(orders);
     }
@@ -136,11 +271,54 @@ public class OrderService {
     public void updateOrderStatus(Long orderId, String status) {
         validateStatus(status);
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ApiException("Order not found", HttpStatus.NOT_FOUND));
+        String previousStatus = shardRouter.inBucketTransaction(bucketOfOrder(orderId), () -> {
+            // Locked, so of two concurrent cancellations only the first sees an order that is not cancelled yet
+            Order order = orderRepository.findByIdForUpdate(orderId)
+                    .orElseThrow(() -> new ApiException("Order not found", HttpStatus.NOT_FOUND));
+
+            String previous = order.getStatus();
+            order.setStatus(status);
+            orderRepository.save(order);
+
+            if (CANCELLED.equals(status) && !CANCELLED.equals(previous)) {
+                // The portions go back to the restaurant only once the cancellation is stored
+                ReservationRequestDto reservation = reservationOf(order.getOrderItems());
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        releaseDishes(reservation);
+                    }
+                });
+            }
+            return previous;
+        });
+
+        meterRegistry.counter("orders.status.changed", "from", previousStatus, "to", status).increment();
+    }
 
-        order.setStatus(status);
-        orderRepository.save(order);
+    private Optional<Order> findOrder(Long orderId) {
+        OptionalInt shard = shardDirectory.shardOfOrder(orderId);
+        if (shard.isPresent()) {
+            return shardRouter.on(shard.getAsInt(), () -> orderRepository.findById(orderId));
+        }
+        // Ids from before sharding carry no bucket, so every shard is asked
+        for (int candidate = 0; candidate < shardRouter.shardCount(); candidate++) {
+            int shardToAsk = candidate;
+            Optional<Order> order = shardRouter.on(shardToAsk, () -> orderRepository.findById(orderId));
+            if (order.isPresent()) {
+                return order;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int bucketOfOrder(Long orderId) {
+        if (ShardedIds.isSharded(orderId)) {
+            return ShardedIds.bucketOf(orderId);
+        }
+        Order order = findOrder(orderId)
+                .orElseThrow(() -> new ApiException("Order not found", HttpStatus.NOT_FOUND));
+        return ShardedIds.bucketOfUser(order.getUserId());
     }
 
     private void validateStatus(String status) {
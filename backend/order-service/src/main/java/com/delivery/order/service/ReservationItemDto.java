@@ -0,0 +1,13 @@
+package com.delivery.order.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationItemDto {
+    private Long dishId;
+    private Integer quantity;
+}
@@ -1,12 +1,21 @@
 package com.delivery.order.service;
 
+import com.delivery.order.config.RestaurantClientConfig;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "restaurant-service", url = "${app.services.restaurant}")
+@FeignClient(name = "restaurant-service", configuration = RestaurantClientConfig.class)
 public interface RestaurantServiceClient {
 
-    @GetMapping("/restaurants/{id}")
+    @GetMapping(value = "/internal/restaurants/{id}", produces = RestaurantClientConfig.APPLICATION_SMILE)
     RestaurantDto getRestaurantById(@PathVariable Long id);
+
+    @PostMapping("/internal/inventory/reservations")
+    void reserve(@RequestBody ReservationRequestDto reservationRequest);
+
+    @PostMapping("/internal/inventory/reservations/release")
+    void release(@RequestBody ReservationRequestDto reservationRequest);
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package com.delivery.order.service;
+
+public record TokenRevocationDto(Long userId, long revokedBefore) {
+}
@@ -0,0 +1,6 @@
+package com.delivery.order.service;
+
+import java.util.List;
+
+public record TokenRevocationsDto(String asOf, List<TokenRevocationDto> revocations) {
+}
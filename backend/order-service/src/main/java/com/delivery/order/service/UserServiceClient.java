@@ -0,0 +1,12 @@
+package com.delivery.order.service;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@FeignClient(name = "user-service")
+public interface UserServiceClient {
+
+    @GetMapping("/internal/token-revocations")
+    TokenRevocationsDto getTokenRevocations(@RequestParam(required = false) String since);
+}
@@ -0,0 +1,33 @@
+package com.delivery.order.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard the current thread reads and writes. {@link ShardRoutingDataSource} picks the pool from it when a
+ * connection is opened, so it has to be set before the transaction starts.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.delivery.order.shard;
+
+import com.delivery.common.shard.ShardedIds;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One connection pool per order database. Deliberately not a DataSource bean itself: JPA goes through
+ * {@link ShardRoutingDataSource}, only resharding, migrations and exports use the pools directly.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    public ShardDataSources(List<Connection> shards, int poolSize, long connectionTimeoutMs,
+                            MeterRegistry meterRegistry) {
+        if (shards.isEmpty() || shards.size() > ShardedIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + ShardedIds.MAX_SHARDS + " shards are supported, got "
+                    + shards.size());
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Connection connection = shards.get(shard);
+            HikariDataSource pool = new HikariDataSource();
+            // Pool metrics are tagged with the name, e.g. hikaricp.connections.active{pool="order-shard-1"}
+            pool.setPoolName("order-shard-" + shard);
+            pool.setJdbcUrl(connection.url());
+            pool.setUsername(connection.username());
+            pool.setPassword(connection.password());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setConnectionTimeout(connectionTimeoutMs);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+    }
+
+    public int count() {
+        return pools.size();
+    }
+
+    public DataSource get(int shard) {
+        return pools.get(shard);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    public record Connection(String url, String username, String password) {
+    }
+}
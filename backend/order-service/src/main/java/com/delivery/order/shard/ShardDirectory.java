@@ -0,0 +1,192 @@
+package com.delivery.order.shard;
+
+import com.delivery.common.shard.ShardedIds;
+import com.delivery.order.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Maps each of the {@link ShardedIds#BUCKETS} buckets to the shard holding its orders. The table lives on shard 0;
+ * every instance keeps a copy and re-reads it on a fixed delay, so a change is seen everywhere within one interval.
+ * A bucket is marked moving while {@link ShardRebalancer} copies it, and takes no writes until the move is done.
+ * Writes lock the bucket's row for their whole transaction, see {@link #lockForWrite}, so they never depend on a
+ * stale copy.
+ */
+@Slf4j
+@Component
+public class ShardDirectory implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int shardCount;
+    private volatile Snapshot snapshot;
+
+    public ShardDirectory(ShardDataSources dataSources) {
+        this.jdbcTemplate = new JdbcTemplate(dataSources.get(0));
+        this.shardCount = dataSources.count();
+    }
+
+    // Runs after Flyway has created the table, and before the web server takes requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer assigned = jdbcTemplate.queryForObject("SELECT count(*) FROM shard_bucket", Integer.class);
+        if (assigned != null && assigned < ShardedIds.BUCKETS) {
+            boolean existingOrders = Boolean.TRUE.equals(
+                    jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM orders)", Boolean.class));
+            int spread = ShardedIds.initialSpread(existingOrders, shardCount);
+            jdbcTemplate.update(ShardedIds.ASSIGN_BUCKETS, spread, ShardedIds.BUCKETS - 1);
+            log.info("Assigned buckets to {} of {} shards", spread, shardCount);
+        }
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.sharding.directory-refresh-ms}",
+            initialDelayString = "${app.sharding.directory-refresh-ms}")
+    public void refresh() {
+        int[] shards = new int[ShardedIds.BUCKETS];
+        boolean[] moving = new boolean[ShardedIds.BUCKETS];
+        jdbcTemplate.query("SELECT bucket, shard, moving FROM shard_bucket", resultSet -> {
+            int bucket = resultSet.getInt("bucket");
+            shards[bucket] = resultSet.getInt("shard");
+            moving[bucket] = resultSet.getBoolean("moving");
+        });
+        for (int bucket = 0; bucket < ShardedIds.BUCKETS; bucket++) {
+            if (shards[bucket] >= shardCount) {
+                throw new IllegalStateException("Bucket " + bucket + " is on shard " + shards[bucket]
+                        + ", but only " + shardCount + " shards are configured");
+            }
+        }
+        snapshot = new Snapshot(shards, moving);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOfBucket(int bucket) {
+        return snapshot.shards()[bucket];
+    }
+
+    /**
+     * The shard of every bucket, indexed by bucket. Reads spanning all shards keep only the rows of the buckets each
+     * shard is assigned here, and take one view for the whole read.
+     */
+    public int[] bucketShards() {
+        return snapshot.shards().clone();
+    }
+
+    public boolean isMoving(int bucket) {
+        return snapshot.moving()[bucket];
+    }
+
+    public int shardForRead(long userId) {
+        return shardOfBucket(ShardedIds.bucketOfUser(userId));
+    }
+
+    public int writableShardOfBucket(int bucket) {
+        if (isMoving(bucket)) {
+            throw bucketMoving();
+        }
+        return shardOfBucket(bucket);
+    }
+
+    /**
+     * Share-locks the bucket's row on shard 0 until the transaction of {@code connection} ends, and checks that the
+     * bucket is still on {@code shard} and not moving. Marking a bucket moving updates the row, so it waits for every
+     * write holding the lock, and no write passes this check afterwards.
+     */
+    void lockForWrite(Connection connection, int bucket, int shard) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT shard, moving FROM shard_bucket WHERE bucket = ? FOR SHARE")) {
+            statement.setInt(1, bucket);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                // Moved since the last refresh of this instance
+                if (!resultSet.next() || resultSet.getBoolean("moving") || resultSet.getInt("shard") != shard) {
+                    throw bucketMoving();
+                }
+            }
+        }
+    }
+
+    /**
+     * Empty for ids from before sharding, which carry no bucket.
+     */
+    public OptionalInt shardOfOrder(long orderId) {
+        if (!ShardedIds.isSharded(orderId)) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(shardOfBucket(ShardedIds.bucketOf(orderId)));
+    }
+
+    void assign(int bucket, int shard, boolean moving) {
+        jdbcTemplate.update("UPDATE shard_bucket SET shard = ?, moving = ? WHERE bucket = ?", shard, moving, bucket);
+        refresh();
+    }
+
+    /**
+     * Points a moving bucket at {@code target}, and records in the same update that {@code source} still holds its
+     * old rows until {@link #clearStaleShard} is called.
+     */
+    void switchShard(int bucket, int source, int target) {
+        jdbcTemplate.update("UPDATE shard_bucket SET shard = ?, moving = FALSE, stale_shard = ?, stale_since = now() "
+                + "WHERE bucket = ?", target, source, bucket);
+        refresh();
+    }
+
+    /**
+     * Buckets not moving whose old rows have been on the shard they were moved away from for at least
+     * {@code minAgeMs}, mapped to that shard.
+     */
+    Map<Integer, Integer> staleShards(long minAgeMs) {
+        Map<Integer, Integer> staleShards = new LinkedHashMap<>();
+        // The shard a bucket is on is never stale, whatever the row says
+        jdbcTemplate.query("SELECT bucket, stale_shard FROM shard_bucket "
+                + "WHERE stale_shard <> shard AND NOT moving AND stale_since <= now() - ? * INTERVAL '1 millisecond'",
+                resultSet -> {
+                    staleShards.put(resultSet.getInt("bucket"), resultSet.getInt("stale_shard"));
+                }, minAgeMs);
+        return staleShards;
+    }
+
+    void clearStaleShard(int bucket) {
+        jdbcTemplate.update("UPDATE shard_bucket SET stale_shard = NULL, stale_since = NULL WHERE bucket = ?", bucket);
+    }
+
+    public Map<String, Object> status() {
+        Snapshot current = snapshot;
+        int[] bucketsPerShard = new int[shardCount];
+        List<Integer> moving = new ArrayList<>();
+        for (int bucket = 0; bucket < ShardedIds.BUCKETS; bucket++) {
+            bucketsPerShard[current.shards()[bucket]]++;
+            if (current.moving()[bucket]) {
+                moving.add(bucket);
+            }
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("shards", shardCount);
+        status.put("bucketsPerShard", bucketsPerShard);
+        status.put("movingBuckets", moving);
+        return status;
+    }
+
+    private static ApiException bucketMoving() {
+        return new ApiException("Orders are being moved to another database, retry in a few seconds",
+                HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private record Snapshot(int[] shards, boolean[] moving) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.delivery.order.shard;
+
+/**
+ * Entity stored on the shard of its user. The key picks the bucket that {@link ShardedIdGenerator} puts into the id.
+ */
+public interface ShardKeyed {
+
+    long shardKey();
+}
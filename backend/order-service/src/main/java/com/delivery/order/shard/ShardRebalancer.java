@@ -0,0 +1,215 @@
+package com.delivery.order.shard;
+
+import com.delivery.common.shard.ShardedIds;
+import com.delivery.order.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves one bucket to another shard while the service keeps running:
+ * <ol>
+ *     <li>mark the bucket moving, so new orders and status changes for it get a 503; the update waits for the
+ *     writes still holding the bucket's lock, see {@link ShardDirectory#lockForWrite},</li>
+ *     <li>copy its orders, items and payments with their ids,</li>
+ *     <li>point the bucket at the target shard, which takes writes again,</li>
+ *     <li>once every instance reads from the target, delete the bucket from the source.</li>
+ * </ol>
+ * Each instance reads from the source until it sees the switch; reads across all shards skip the rows of buckets a
+ * shard is not assigned, so the copy and the old rows never both show up. The switch records the source in
+ * {@code stale_shard}, so a move that stops before the delete is finished by {@link #deleteStaleBuckets}, or when the
+ * bucket is moved again. The copy first deletes whatever the target holds of the bucket, in the same transaction, so
+ * leftovers of an earlier move never shadow the source's rows and a failed move can simply be started again.
+ */
+@Slf4j
+@Component
+public class ShardRebalancer {
+
+    private static final String BUCKET_OF_ORDER = "o.user_id % " + ShardedIds.BUCKETS + " = ?";
+    private static final int BATCH_SIZE = 1000;
+
+    private final ShardDataSources dataSources;
+    private final ShardDirectory directory;
+    private final long propagationMs;
+    private final ReentrantLock moveLock = new ReentrantLock();
+
+    public ShardRebalancer(ShardDataSources dataSources, ShardDirectory directory,
+                           @Value("${app.sharding.directory-refresh-ms}") long directoryRefreshMs) {
+        this.dataSources = dataSources;
+        this.directory = directory;
+        // Leaves room for one refresh that was already running when the change was written
+        this.propagationMs = 2 * directoryRefreshMs;
+    }
+
+    public MoveResult move(int bucket, int target) {
+        if (bucket < 0 || bucket >= ShardedIds.BUCKETS) {
+            throw new ApiException("Bucket must be between 0 and " + (ShardedIds.BUCKETS - 1), HttpStatus.BAD_REQUEST);
+        }
+        if (target < 0 || target >= directory.shardCount()) {
+            throw new ApiException("Unknown shard " + target, HttpStatus.BAD_REQUEST);
+        }
+        moveLock.lock();
+        try {
+            return moveLocked(bucket, target);
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the old rows of moves that stopped after their switch, e.g. when the process ended while waiting or
+     * the delete failed. Skipped while this instance moves a bucket; the next run picks them up.
+     */
+    @Scheduled(fixedDelayString = "${app.sharding.directory-refresh-ms}",
+            initialDelayString = "${app.sharding.directory-refresh-ms}")
+    public void deleteStaleBuckets() {
+        if (!moveLock.tryLock()) {
+            return;
+        }
+        try {
+            directory.staleShards(propagationMs).forEach((bucket, shard) -> {
+                long deleted = deleteStale(bucket, shard);
+                log.info("Deleted {} orders of bucket {} left on shard {} by an earlier move", deleted, bucket, shard);
+            });
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    private MoveResult moveLocked(int bucket, int target) {
+        int source = directory.shardOfBucket(bucket);
+        // A move that stopped after its switch left the old rows behind; repeating it, or moving the bucket on,
+        // deletes them first
+        Integer staleShard = directory.staleShards(0).get(bucket);
+        if (staleShard != null) {
+            awaitPropagation();
+            long deleted = deleteStale(bucket, staleShard);
+            if (source == target) {
+                log.info("Finished moving bucket {} from shard {} to shard {}: {} deleted",
+                        bucket, staleShard, target, deleted);
+                return new MoveResult(bucket, staleShard, target, 0, deleted);
+            }
+        }
+        if (source == target) {
+            throw new ApiException("Bucket " + bucket + " is already on shard " + target, HttpStatus.BAD_REQUEST);
+        }
+
+        log.info("Moving bucket {} from shard {} to shard {}", bucket, source, target);
+        directory.assign(bucket, source, true);
+        long copied;
+        try {
+            copied = copy(bucket, source, target);
+        } catch (RuntimeException e) {
+            log.error("Moving bucket {} failed, it stays on shard {}", bucket, source, e);
+            directory.assign(bucket, source, false);
+            throw e;
+        }
+        directory.switchShard(bucket, source, target);
+        awaitPropagation();
+
+        long deleted = deleteStale(bucket, source);
+        log.info("Moved bucket {} from shard {} to shard {}: {} orders copied, {} deleted",
+                bucket, source, target, copied, deleted);
+        return new MoveResult(bucket, source, target, copied, deleted);
+    }
+
+    private long copy(int bucket, int source, int target) {
+        try (Connection from = dataSources.get(source).getConnection();
+             Connection to = dataSources.get(target).getConnection()) {
+            // A cursor instead of the whole bucket in memory; PostgreSQL only streams inside a transaction
+            from.setAutoCommit(false);
+            from.setReadOnly(true);
+            to.setAutoCommit(false);
+            try {
+                // Items and payments go with their orders through ON DELETE CASCADE
+                try (PreparedStatement clear = to.prepareStatement("DELETE FROM orders o WHERE " + BUCKET_OF_ORDER)) {
+                    clear.setInt(1, bucket);
+                    clear.executeUpdate();
+                }
+                long orders = copyRows(from, to, bucket,
+                        "SELECT o.id, o.status, o.order_date, o.user_id, o.restaurant_id, o.total_price "
+                                + "FROM orders o WHERE " + BUCKET_OF_ORDER,
+                        "INSERT INTO orders (id, status, order_date, user_id, restaurant_id, total_price) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)");
+                copyRows(from, to, bucket,
+                        "SELECT i.id, i.order_id, i.dish_id, i.quantity, i.price "
+                                + "FROM order_item i JOIN orders o ON o.id = i.order_id WHERE " + BUCKET_OF_ORDER,
+                        "INSERT INTO order_item (id, order_id, dish_id, quantity, price) "
+                                + "VALUES (?, ?, ?, ?, ?)");
+                copyRows(from, to, bucket,
+                        "SELECT p.id, p.order_id, p.method, p.amount, p.status "
+                                + "FROM payment p JOIN orders o ON o.id = p.order_id WHERE " + BUCKET_OF_ORDER,
+                        "INSERT INTO payment (id, order_id, method, amount, status) "
+                                + "VALUES (?, ?, ?, ?, ?)");
+                to.commit();
+                return orders;
+            } catch (SQLException e) {
+                to.rollback();
+                throw e;
+            } finally {
+                from.rollback();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Copying bucket " + bucket + " to shard " + target + " failed", e);
+        }
+    }
+
+    private long copyRows(Connection from, Connection to, int bucket, String select, String insert)
+            throws SQLException {
+        long rows = 0;
+        try (PreparedStatement query = from.prepareStatement(select);
+             PreparedStatement batch = to.prepareStatement(insert)) {
+            query.setFetchSize(BATCH_SIZE);
+            query.setInt(1, bucket);
+            try (ResultSet resultSet = query.executeQuery()) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        batch.setObject(column, resultSet.getObject(column));
+                    }
+                    batch.addBatch();
+                    if (++rows % BATCH_SIZE == 0) {
+                        batch.executeBatch();
+                    }
+                }
+            }
+            batch.executeBatch();
+        }
+        return rows;
+    }
+
+    // Items and payments go with their orders through ON DELETE CASCADE
+    private long deleteStale(int bucket, int shard) {
+        long deleted;
+        try (Connection connection = dataSources.get(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM orders o WHERE " + BUCKET_OF_ORDER)) {
+            statement.setInt(1, bucket);
+            deleted = statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Deleting bucket " + bucket + " from shard " + shard + " failed", e);
+        }
+        directory.clearStaleShard(bucket);
+        return deleted;
+    }
+
+    private void awaitPropagation() {
+        try {
+            Thread.sleep(propagationMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shard directory to propagate", e);
+        }
+    }
+
+    public record MoveResult(int bucket, int source, int target, long ordersCopied, long ordersDeleted) {
+    }
+}
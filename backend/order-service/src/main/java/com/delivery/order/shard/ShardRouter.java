@@ -0,0 +1,118 @@
+package com.delivery.order.shard;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs repository calls on a given shard. Transactions are bound to one shard: the connection is taken when the
+ * transaction starts, so work for another shard needs its own transaction.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardDataSources dataSources;
+    private final DataSource routingDataSource;
+    private final ShardDirectory directory;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor shardQueryExecutor;
+
+    public ShardRouter(ShardDataSources dataSources, DataSource routingDataSource, ShardDirectory directory,
+                       TransactionTemplate transactionTemplate, ThreadPoolTaskExecutor shardQueryExecutor) {
+        this.dataSources = dataSources;
+        this.routingDataSource = routingDataSource;
+        this.directory = directory;
+        this.transactionTemplate = transactionTemplate;
+        this.shardQueryExecutor = shardQueryExecutor;
+    }
+
+    public int shardCount() {
+        return dataSources.count();
+    }
+
+    /**
+     * For calls that open their own transaction, such as Spring Data repository methods.
+     */
+    public <T> T on(int shard, Supplier<T> action) {
+        checkNoTransactionOnOtherShard(shard);
+        return ShardContext.callOn(shard, action);
+    }
+
+    public <T> T inTransaction(int shard, Supplier<T> action) {
+        checkNoTransactionOnOtherShard(shard);
+        return ShardContext.callOn(shard, () -> transactionTemplate.execute(status -> action.get()));
+    }
+
+    /**
+     * Runs a write to the orders of one bucket in a transaction on its shard, holding the bucket's directory lock
+     * until it commits, so a move cannot copy the bucket while the write is still open. Fails with a 503 while the
+     * bucket is moving. The lock holds a connection of shard 0 throughout, so calls to other services belong before.
+     */
+    public <T> T inBucketTransaction(int bucket, Supplier<T> action) {
+        int shard = directory.writableShardOfBucket(bucket);
+        if (shard == 0) {
+            // The directory is on shard 0 too; a second connection of the same pool could starve it under load
+            return inTransaction(0, () -> {
+                Connection connection = DataSourceUtils.getConnection(routingDataSource);
+                try {
+                    directory.lockForWrite(connection, bucket, 0);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Locking bucket " + bucket + " failed", e);
+                } finally {
+                    DataSourceUtils.releaseConnection(connection, routingDataSource);
+                }
+                return action.get();
+            });
+        }
+
+        try (Connection lock = dataSources.get(0).getConnection()) {
+            lock.setAutoCommit(false);
+            try {
+                directory.lockForWrite(lock, bucket, shard);
+                return inTransaction(shard, action);
+            } finally {
+                // Nothing was written; ending the transaction releases the lock
+                lock.rollback();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Locking bucket " + bucket + " failed", e);
+        }
+    }
+
+    /**
+     * Runs the query on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> scatter(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = IntStream.range(0, shardCount())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(
+                        () -> ShardContext.callOn(shard, () -> query.apply(shard)), shardQueryExecutor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void checkNoTransactionOnOtherShard(int shard) {
+        Integer current = ShardContext.current();
+        if (current != null && current != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Transaction on shard " + current + " cannot be used for shard " + shard);
+        }
+    }
+}
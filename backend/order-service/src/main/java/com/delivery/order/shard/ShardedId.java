@@ -0,0 +1,25 @@
+package com.delivery.order.shard;
+
+import com.delivery.common.shard.ShardedIds;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id built by {@link ShardedIds} from a sequence of the shard the entity is saved on.
+ */
+@IdGeneratorType(ShardedIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardedId {
+
+    String sequence();
+
+    /**
+     * Must match the INCREMENT BY of the sequence.
+     */
+    int allocationSize() default ShardedIds.SEQUENCE_BLOCK;
+}
@@ -0,0 +1,86 @@
+package com.delivery.order.shard;
+
+import com.delivery.common.shard.ShardedIds;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Takes sequence values in blocks of {@link ShardedId#allocationSize()} per shard, so most inserts need no extra
+ * round trip. The block is read over the connection of the current transaction, which is already on the right shard.
+ */
+public class ShardedIdGenerator implements BeforeExecutionGenerator {
+
+    private final String nextValueSql;
+    private final int allocationSize;
+    private final Map<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+    public ShardedIdGenerator(ShardedId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.nextValueSql = "select nextval('" + config.sequence() + "')";
+        this.allocationSize = config.allocationSize();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            throw new IllegalStateException("Sharded entities must be saved through ShardRouter");
+        }
+        if (!(owner instanceof ShardKeyed keyed)) {
+            throw new IllegalStateException(owner.getClass().getSimpleName() + " does not implement ShardKeyed");
+        }
+        long sequenceValue = blocks.computeIfAbsent(shard, key -> new Block()).next(session);
+        return ShardedIds.compose(sequenceValue, shard, ShardedIds.bucketOfUser(keyed.shardKey()));
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private final class Block {
+
+        private long next;
+        private long end;
+
+        synchronized long next(SharedSessionContractImplementor session) {
+            if (next == end) {
+                next = nextValue(session);
+                end = next + allocationSize;
+            }
+            return next++;
+        }
+    }
+
+    private long nextValue(SharedSessionContractImplementor session) {
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(nextValueSql);
+        try {
+            ResultSet resultSet = jdbc.getResultSetReturn().extract(statement, nextValueSql);
+            try {
+                resultSet.next();
+                return resultSet.getLong(1);
+            } finally {
+                jdbc.getLogicalConnection().getResourceRegistry().release(resultSet, statement);
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "Could not read " + nextValueSql, nextValueSql);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+    }
+}
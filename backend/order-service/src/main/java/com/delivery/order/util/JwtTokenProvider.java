@@ -21,34 +21,41 @@ public class JwtTokenProvider {
         return Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
+    public Claims getClaimsFromToken(String token) {
+        return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
-        return Long.parseLong(claims.getSubject());
     }
 
-    public List<String> getRolesFromToken(String token) {
+    public Long getUserIdFromToken(String token) {
         Claims claims = Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    public List<String> getRolesFromToken(String token) {
+        return getRolesFromClaims(getClaimsFromToken(token));
+    }
 
+    public List<String> getRolesFromClaims(Claims claims) {
         @SuppressWarnings("unchecked")
         List<String> roles = (List<String>) claims.get("roles");
         return roles != null ? roles : List.of();
     }
 
+    // Refresh tokens are only accepted by user-service /auth/refresh
+    public boolean isRefreshToken(Claims claims) {
+        return "refresh".equals(claims.get("type"));
+    }
+
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return !isRefreshToken(getClaimsFromToken(token));
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -0,0 +1,64 @@
+package com.delivery.order.util;
+
+import com.delivery.order.service.TokenRevocationDto;
+import com.delivery.order.service.TokenRevocationsDto;
+import com.delivery.order.service.UserServiceClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local copy of the user token epochs published by user-service, polled in the background and swapped as an
+ * immutable map so the JWT filter checks it without locks or network calls.
+ */
+@Slf4j
+@Component
+public class TokenRevocationCache {
+
+    private final UserServiceClient userServiceClient;
+    private final Duration retention;
+
+    private volatile Map<Long, Long> revokedBefore = Map.of();
+    private String lastPoll;
+
+    public TokenRevocationCache(UserServiceClient userServiceClient,
+                                @Value("${app.security.token-revocation.retention}") Duration retention) {
+        this.userServiceClient = userServiceClient;
+        this.retention = retention;
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long epoch = revokedBefore.get(userId);
+        return epoch != null && (issuedAt == null || issuedAt.getTime() / 1000 < epoch);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.poll-interval-ms}")
+    public void refresh() {
+        TokenRevocationsDto response;
+        try {
+            response = userServiceClient.getTokenRevocations(lastPoll);
+        } catch (RuntimeException e) {
+            // Keep the last known revocations; they only expire by retention
+            log.warn("Failed to poll token revocations: {}", e.getMessage());
+            return;
+        }
+
+        long oldest = Instant.now().minus(retention).getEpochSecond();
+        Map<Long, Long> next = new HashMap<>(revokedBefore);
+        next.values().removeIf(epoch -> epoch < oldest);
+        for (TokenRevocationDto revocation : response.revocations()) {
+            if (revocation.revokedBefore() >= oldest) {
+                next.merge(revocation.userId(), revocation.revokedBefore(), Math::max);
+            }
+        }
+        revokedBefore = Map.copyOf(next);
+        lastPoll = response.asOf();
+    }
+}
@@ -0,0 +1,4 @@
+-- User order lists are read newest first; the composite index serves both the filter and the order
+CREATE INDEX idx_orders_user_id_order_date ON orders(user_id, order_date DESC);
+
+DROP INDEX idx_orders_user_id;
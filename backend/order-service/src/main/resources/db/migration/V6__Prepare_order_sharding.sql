@@ -0,0 +1,19 @@
+-- Ids of new rows come from these sequences and are combined with the shard and bucket, see ShardedIds
+CREATE SEQUENCE orders_sharded_id_seq INCREMENT BY 50;
+CREATE SEQUENCE order_item_sharded_id_seq INCREMENT BY 50;
+CREATE SEQUENCE payment_sharded_id_seq INCREMENT BY 50;
+
+-- Bucket to shard directory; only the copy on shard 0 is read
+CREATE TABLE shard_bucket (
+                              bucket INTEGER PRIMARY KEY,
+                              shard INTEGER NOT NULL,
+                              moving BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+-- Moving a bucket between shards selects its orders by this expression
+CREATE INDEX idx_orders_bucket ON orders ((user_id % 1024));
+
+-- Admin order pages are read newest first from every shard and merged
+CREATE INDEX idx_orders_order_date_id ON orders(order_date DESC, id DESC);
+
+DROP INDEX idx_orders_date;
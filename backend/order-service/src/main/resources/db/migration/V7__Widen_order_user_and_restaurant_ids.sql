@@ -0,0 +1,5 @@
+-- User and restaurant ids are BIGINT in their own services and Long in Order; schema validation rejects INTEGER.
+-- Rewrites the table and its indexes once.
+ALTER TABLE orders
+    ALTER COLUMN user_id TYPE BIGINT,
+    ALTER COLUMN restaurant_id TYPE BIGINT;
@@ -0,0 +1,5 @@
+-- Shard still holding the old rows of a moved bucket, and since when. Set by the update that switches the bucket and
+-- cleared once the rows are deleted, so a move that stopped in between is finished later
+ALTER TABLE shard_bucket
+    ADD COLUMN stale_shard INTEGER,
+    ADD COLUMN stale_since TIMESTAMP;
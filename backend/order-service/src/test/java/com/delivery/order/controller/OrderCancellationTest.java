@@ -0,0 +1,159 @@
+package com.delivery.order.controller;
+
+import com.delivery.order.service.DishDto;
+import com.delivery.order.service.RestaurantDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cancelling an order gives its portions back to a stub restaurant-service, once: cancelling it again, or moving it
+ * to any other status, releases nothing.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=" + OrderCancellationTest.JWT_SECRET,
+        "app.security.internal-token=test-internal-token",
+        "app.services.user=http://localhost:1"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class OrderCancellationTest {
+
+    static final String JWT_SECRET = "cancellation-test-secret-of-at-least-256-bits";
+
+    private static final long USER_ID = 42;
+    private static final long RESTAURANT_ID = 3;
+    private static final long DISH_ID = 30;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    // Body of every release restaurant-service received
+    private static final Queue<String> RELEASES = new ConcurrentLinkedQueue<>();
+    private static final HttpServer RESTAURANT_SERVICE = restaurantService();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("app.services.restaurant",
+                () -> "http://localhost:" + RESTAURANT_SERVICE.getAddress().getPort());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void cancellingReleasesThePortionsOnce() throws Exception {
+        String created = mockMvc.perform(post("/orders")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"restaurantId": %d, "paymentMethod": "CARD",
+                                 "orderItems": [{"dishId": %d, "quantity": 2, "price": 450}]}
+                                """.formatted(RESTAURANT_ID, DISH_ID)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+
+        for (String status : List.of("COOKING", "CANCELLED", "CANCELLED")) {
+            mockMvc.perform(patch("/orders/{orderId}/status", orderId)
+                            .param("status", status)
+                            .header(HttpHeaders.AUTHORIZATION, bearer("ADMIN")))
+                    .andExpect(status().isNoContent());
+        }
+
+        assertThat(RELEASES).singleElement().satisfies(release -> assertThat(objectMapper.readTree(release))
+                .isEqualTo(objectMapper.readTree("""
+                        {"items": [{"dishId": %d, "quantity": 2}]}
+                        """.formatted(DISH_ID))));
+    }
+
+    @AfterAll
+    static void stopRestaurantService() {
+        RESTAURANT_SERVICE.stop(0);
+    }
+
+    /**
+     * Serves the restaurant with one dish, accepts every reservation and records every release.
+     */
+    private static HttpServer restaurantService() {
+        DishDto dish = new DishDto();
+        dish.setId(DISH_ID);
+        dish.setName("Dumplings");
+        dish.setPrice(450);
+        RestaurantDto restaurant = new RestaurantDto();
+        restaurant.setId(RESTAURANT_ID);
+        restaurant.setName("Cancelled Kitchen");
+        restaurant.setDishes(Set.of(dish));
+        try {
+            byte[] restaurantBody = new SmileMapper().writeValueAsBytes(restaurant);
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/internal/restaurants/" + RESTAURANT_ID, exchange -> {
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/x-jackson-smile");
+                exchange.sendResponseHeaders(200, restaurantBody.length);
+                exchange.getResponseBody().write(restaurantBody);
+                exchange.close();
+            });
+            server.createContext("/internal/inventory/reservations", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+            });
+            server.createContext("/internal/inventory/reservations/release", exchange -> {
+                RELEASES.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String bearer(String role) {
+        return "Bearer " + Jwts.builder()
+                .setSubject(String.valueOf(USER_ID))
+                .claim("roles", List.of(role))
+                .claim("type", "access")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
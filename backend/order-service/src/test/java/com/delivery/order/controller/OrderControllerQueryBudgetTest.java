@@ -0,0 +1,107 @@
+package com.delivery.order.controller;
+
+import com.delivery.common.sql.QueryBudgetAssertions;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static com.delivery.common.sql.QueryBudgetAssertions.withinQueryBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every endpoint with a {@link com.delivery.common.sql.QueryBudget} against the real schema, with orders that have
+ * several items each, so a lazy load per order or item shows up as extra statements.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=" + OrderControllerQueryBudgetTest.JWT_SECRET,
+        "app.security.internal-token=test-internal-token",
+        "app.services.user=http://localhost:1",
+        "app.services.restaurant=http://localhost:1",
+        // Over-budget requests are reported by the assertion with their statement count instead of failing
+        "app.sql.query-budget.strict=false"
+})
+@AutoConfigureMockMvc
+@Import(QueryBudgetAssertions.Capture.class)
+@Sql("/query-budget/orders.sql")
+@Testcontainers(disabledWithoutDocker = true)
+class OrderControllerQueryBudgetTest {
+
+    static final String JWT_SECRET = "query-budget-test-secret-of-at-least-256-bits";
+
+    private static final long USER_ID = 7;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void ownOrders() throws Exception {
+        mockMvc.perform(get("/orders").header(HttpHeaders.AUTHORIZATION, bearer(USER_ID, "USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void orderById() throws Exception {
+        mockMvc.perform(get("/orders/1001").header(HttpHeaders.AUTHORIZATION, bearer(USER_ID, "USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems.length()").value(3))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void ordersOfUser() throws Exception {
+        mockMvc.perform(get("/orders/user/" + USER_ID).header(HttpHeaders.AUTHORIZATION, bearer(1, "USER", "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(withinQueryBudget());
+    }
+
+    @AfterAll
+    static void everyBudgetIsTested(
+            @Autowired @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        QueryBudgetAssertions.assertEveryBudgetChecked(handlerMapping);
+    }
+
+    private static String bearer(long userId, String... roles) {
+        return "Bearer " + Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .claim("roles", List.of(roles))
+                .claim("type", "access")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
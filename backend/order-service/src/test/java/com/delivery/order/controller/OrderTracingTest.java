@@ -0,0 +1,190 @@
+package com.delivery.order.controller;
+
+import com.delivery.order.service.DishDto;
+import com.delivery.order.service.RestaurantDto;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * One {@code POST /orders} against a stub restaurant-service, with every span kept in memory: the JWT check, the
+ * Feign calls and the repository calls must all be part of the request's trace, and restaurant-service must receive
+ * that trace in the {@code traceparent} header.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=" + OrderTracingTest.JWT_SECRET,
+        "app.security.internal-token=test-internal-token",
+        "app.services.user=http://localhost:1",
+        "management.tracing.sampling.probability=1.0"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Testcontainers(disabledWithoutDocker = true)
+class OrderTracingTest {
+
+    static final String JWT_SECRET = "tracing-test-secret-of-at-least-256-bits-long";
+
+    private static final long USER_ID = 42;
+    private static final long RESTAURANT_ID = 3;
+    private static final long DISH_ID = 30;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    // traceparent header of every request restaurant-service received
+    private static final Queue<String> TRACE_PARENTS = new ConcurrentLinkedQueue<>();
+    private static final HttpServer RESTAURANT_SERVICE = restaurantService();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("app.services.restaurant",
+                () -> "http://localhost:" + RESTAURANT_SERVICE.getAddress().getPort());
+    }
+
+    @TestConfiguration
+    static class InMemoryExport {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+
+        // Exports each span as it ends, so the spans are there as soon as MockMvc returns
+        @Bean
+        SpanProcessor inMemorySpanProcessor(InMemorySpanExporter exporter) {
+            return SimpleSpanProcessor.create(exporter);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Test
+    void placingAnOrderIsOneTrace() throws Exception {
+        mockMvc.perform(post("/orders")
+                        .header(HttpHeaders.AUTHORIZATION, bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"restaurantId": %d, "paymentMethod": "CARD",
+                                 "orderItems": [{"dishId": %d, "quantity": 2, "price": 450}]}
+                                """.formatted(RESTAURANT_ID, DISH_ID)))
+                .andExpect(status().isCreated());
+
+        SpanData server = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("http post /orders"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No server span in " + names(exporter.getFinishedSpanItems())));
+        List<SpanData> trace = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(server.getTraceId()))
+                .toList();
+
+        // The OpenTelemetry bridge turns contextual names like OrderRepository.save into kebab case
+        assertThat(names(trace)).contains(
+                "jwt.verification",
+                "HTTP GET",
+                "HTTP POST",
+                "order-repository.save",
+                "order-item-repository.save-all",
+                "payment-repository.save");
+        assertThat(TRACE_PARENTS)
+                .hasSize(2)
+                .allSatisfy(traceParent -> assertThat(traceParent).contains(server.getTraceId()));
+    }
+
+    @AfterAll
+    static void stopRestaurantService() {
+        RESTAURANT_SERVICE.stop(0);
+    }
+
+    private static Set<String> names(List<SpanData> spans) {
+        return spans.stream().map(SpanData::getName).collect(Collectors.toSet());
+    }
+
+    /**
+     * Serves the restaurant with one dish, as Smile like the real internal endpoint, and accepts every reservation.
+     */
+    private static HttpServer restaurantService() {
+        DishDto dish = new DishDto();
+        dish.setId(DISH_ID);
+        dish.setName("Dumplings");
+        dish.setPrice(450);
+        RestaurantDto restaurant = new RestaurantDto();
+        restaurant.setId(RESTAURANT_ID);
+        restaurant.setName("Traced Kitchen");
+        restaurant.setDishes(Set.of(dish));
+        try {
+            byte[] restaurantBody = new SmileMapper().writeValueAsBytes(restaurant);
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/internal/restaurants/" + RESTAURANT_ID, exchange -> {
+                TRACE_PARENTS.add(String.valueOf(exchange.getRequestHeaders().getFirst("traceparent")));
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/x-jackson-smile");
+                exchange.sendResponseHeaders(200, restaurantBody.length);
+                exchange.getResponseBody().write(restaurantBody);
+                exchange.close();
+            });
+            server.createContext("/internal/inventory/reservations", exchange -> {
+                TRACE_PARENTS.add(String.valueOf(exchange.getRequestHeaders().getFirst("traceparent")));
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String bearer() {
+        return "Bearer " + Jwts.builder()
+                .setSubject(String.valueOf(USER_ID))
+                .claim("roles", List.of("USER"))
+                .claim("type", "access")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
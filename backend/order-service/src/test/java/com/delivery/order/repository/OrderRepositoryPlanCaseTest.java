@@ -0,0 +1,103 @@
+package com.delivery.order.repository;
+
+import com.delivery.common.sql.PlanCaseStatements;
+import com.delivery.order.shard.ShardRouter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Runs every repository method once and fails when it sends other SQL than its plan cases in perf-tools'
+ * {@code plans/order.json}, so the query plan check explains the statements order-service really runs.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=plan-case-test-secret-of-at-least-256-bits",
+        "app.security.internal-token=test-internal-token",
+        "app.services.user=http://localhost:1",
+        "app.services.restaurant=http://localhost:1"
+})
+@Sql("/query-budget/orders.sql")
+@Testcontainers(disabledWithoutDocker = true)
+class OrderRepositoryPlanCaseTest {
+
+    private static final long USER_ID = 7;
+    private static final long ORDER_ID = 1001;
+    private static final int LIMIT = 200;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    private static PlanCaseStatements planCases;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void recordStatements(@Autowired DataSource dataSource) throws IOException {
+        planCases = PlanCaseStatements.of("order");
+        planCases.attach(dataSource);
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Test
+    void findById() {
+        planCases.assertRuns("OrderRepository.findById",
+                () -> shardRouter.on(0, () -> orderRepository.findById(ORDER_ID)));
+    }
+
+    @Test
+    void findByIdForUpdate() {
+        planCases.assertRuns("OrderRepository.findByIdForUpdate",
+                () -> shardRouter.inTransaction(0, () -> orderRepository.findByIdForUpdate(ORDER_ID)));
+    }
+
+    @Test
+    void findByUserIdOrderByOrderDateDesc() {
+        planCases.assertRuns("OrderRepository.findByUserIdOrderByOrderDateDesc",
+                () -> shardRouter.on(0, () -> orderRepository.findByUserIdOrderByOrderDateDesc(USER_ID)));
+    }
+
+    @Test
+    void getOrdersByUserIdOrderByOrderDateDesc() {
+        planCases.assertRuns("OrderRepository.getOrdersByUserIdOrderByOrderDateDesc",
+                () -> shardRouter.on(0, () -> orderRepository.getOrdersByUserIdOrderByOrderDateDesc(USER_ID)));
+    }
+
+    @Test
+    void findLatest() {
+        planCases.assertRuns("OrderRepository.findLatest",
+                () -> shardRouter.on(0, () -> orderRepository.findLatest(LIMIT)));
+    }
+
+    @Test
+    void findLatestBefore() {
+        planCases.assertRuns("OrderRepository.findLatestBefore", () -> shardRouter.on(0,
+                () -> orderRepository.findLatestBefore(LocalDateTime.of(2024, 5, 3, 12, 0), ORDER_ID, LIMIT)));
+    }
+
+    @AfterAll
+    static void everyPlanCaseIsTested() {
+        planCases.assertEveryPlanCaseChecked();
+    }
+}
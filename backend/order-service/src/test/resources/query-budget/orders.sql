@@ -0,0 +1,17 @@
+-- Three orders of user 7 and one of user 8, each with three items and a payment
+DELETE FROM orders;
+
+INSERT INTO orders (id, status, order_date, user_id, restaurant_id, total_price)
+VALUES (1001, 'DELIVERED', '2024-05-01 12:00:00', 7, 1, 1200),
+       (1002, 'DELIVERED', '2024-05-02 12:00:00', 7, 2, 1200),
+       (1003, 'PLACED', '2024-05-03 12:00:00', 7, 1, 1200),
+       (1004, 'PLACED', '2024-05-03 13:00:00', 8, 1, 1200);
+
+INSERT INTO order_item (id, order_id, dish_id, quantity, price)
+SELECT o.id * 10 + d, o.id, d, 1, 400
+FROM orders o
+CROSS JOIN generate_series(1, 3) d;
+
+INSERT INTO payment (id, order_id, method, amount, status)
+SELECT o.id, o.id, 'CARD', o.total_price, 'PAID'
+FROM orders o;
@@ -0,0 +1,203 @@
+package com.delivery.perf;
+
+import com.delivery.perf.load.LatencyHistogram;
+import com.delivery.perf.load.LoadReport;
+import com.delivery.perf.load.PrometheusSampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of the public catalog: every connection sends its next request as soon as the previous
+ * response is read, cycling through {@code --paths}. Reports throughput, status codes, latency percentiles and, with
+ * {@code --metrics}, the heap, live data, thread count and direct buffer use the service reported before the load
+ * and at its peak during the run. The growth between the two is what the stack under load took on; it leaves out
+ * whatever else the process holds, such as the idle servlet stack next to the reactive catalog.
+ * <p>
+ * Usage: {@code java -cp target/perf-tools.jar com.delivery.perf.CatalogBenchmark --url http://localhost:8082
+ * [--label servlet] [--connections 10000] [--duration 60] [--warmup 15] [--ramp 10]
+ * [--paths /restaurants?page=0,/restaurants/1] [--accept application/json]
+ * [--metrics http://localhost:8082/actuator/prometheus] [--results results]}
+ * <p>
+ * Each connection is a socket of this process, so {@code ulimit -n} has to be above {@code --connections}.
+ */
+public class CatalogBenchmark {
+
+    private static final DateTimeFormatter RESULT_FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String DEFAULT_PATHS =
+            "/restaurants?page=0,/restaurants?page=1,/restaurants?cuisine=ital&page=0,/restaurants/1,"
+                    + "/restaurants/2/dishes";
+
+    private final HttpClient httpClient;
+    private final List<HttpRequest> requests;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    private CatalogBenchmark(HttpClient httpClient, List<HttpRequest> requests) {
+        this.httpClient = httpClient;
+        this.requests = requests;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        String baseUrl = Options.required(options, "url");
+        String label = options.getOrDefault("label", URI.create(baseUrl).getPort() + "");
+        int connections = Integer.parseInt(options.getOrDefault("connections", "10000"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int ramp = Integer.parseInt(options.getOrDefault("ramp", "10"));
+        List<String> paths = List.of(options.getOrDefault("paths", DEFAULT_PATHS).split(","));
+        String accept = options.getOrDefault("accept", "application/json");
+        Path resultsDir = Path.of(options.getOrDefault("results", "results"));
+
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Accept", accept)
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build())
+                .toList();
+        // HTTP/1.1 keeps one request per connection in flight, so the pool grows to --connections sockets
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+
+        PrometheusSampler sampler = options.containsKey("metrics")
+                ? new PrometheusSampler(options.get("metrics"))
+                : null;
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        Map<String, Double> idle = sampler != null ? sampler.idle() : Map.of();
+
+        CatalogBenchmark benchmark = new CatalogBenchmark(httpClient, requests);
+        System.out.printf("%s: %d connections against %s, %d s ramp, %d s warmup, %d s measured%n",
+                label, connections, baseUrl, ramp, warmup, duration);
+        // Opening every connection at once overflows the server's accept queue; spread them over the ramp
+        long rampNanos = TimeUnit.SECONDS.toNanos(ramp);
+        for (int i = 0; i < connections; i++) {
+            long delay = rampNanos * i / connections;
+            int first = i;
+            scheduler.schedule(() -> benchmark.next(first), delay, TimeUnit.NANOSECONDS);
+        }
+
+        TimeUnit.SECONDS.sleep(ramp + warmup);
+        if (sampler != null) {
+            scheduler.scheduleAtFixedRate(sampler::sample, 0, 1, TimeUnit.SECONDS);
+        }
+        benchmark.measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(duration);
+        benchmark.measuring = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        benchmark.stopped = true;
+        scheduler.shutdownNow();
+
+        Map<String, Double> peaks = sampler != null ? sampler.peaks() : Map.of();
+        long requestsDone = benchmark.latencies.count();
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        benchmark.statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        Map<String, Long> errorCounts = new TreeMap<>();
+        benchmark.errors.forEach((error, count) -> errorCounts.put(error, count.sum()));
+        LoadReport report = new LoadReport(label, baseUrl, paths, Instant.now(), connections, duration,
+                requestsDone, requestsDone / elapsedSeconds, statusCounts, errorCounts,
+                benchmark.latencies.percentile(50), benchmark.latencies.percentile(99),
+                benchmark.latencies.percentile(99.9), idle, peaks, growth(idle, peaks));
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve("catalog-" + label + "-" + RESULT_FILE_TIME.format(report.createdAt())
+                + ".json");
+        objectMapper.writeValue(resultFile.toFile(), report);
+
+        print(report);
+        System.out.println("Results written to " + resultFile);
+        // In-flight requests are abandoned rather than awaited; their sockets close with the process
+        System.exit(0);
+    }
+
+    private void next(int index) {
+        if (stopped) {
+            return;
+        }
+        HttpRequest request = requests.get(Math.floorMod(index, requests.size()));
+        long start = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    if (measuring) {
+                        if (failure != null) {
+                            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                            errors.computeIfAbsent(cause.getClass().getSimpleName(), key -> new LongAdder())
+                                    .increment();
+                        } else {
+                            latencies.record(System.nanoTime() - start);
+                            statuses.computeIfAbsent(response.statusCode(), key -> new LongAdder()).increment();
+                        }
+                    }
+                    if (failure != null) {
+                        // A refused or reset connection fails at once; retrying in a tight loop only burns the client
+                        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> next(index + 1));
+                    } else {
+                        next(index + 1);
+                    }
+                });
+    }
+
+    private static void print(LoadReport report) {
+        System.out.printf("%-10s %10s %10s %8s %8s %8s%n", "run", "requests", "req/s", "p50 ms", "p99 ms",
+                "p99.9 ms");
+        System.out.printf("%-10s %10d %10.0f %8d %8d %8d%n", report.label(), report.requests(),
+                report.requestsPerSecond(), report.p50Ms(), report.p99Ms(), report.p999Ms());
+        System.out.println("statuses " + report.statuses());
+        if (!report.errors().isEmpty()) {
+            System.out.println("errors   " + report.errors());
+        }
+        if (!report.serverPeaks().isEmpty()) {
+            System.out.printf("%-18s %18s %18s %18s%n", "server", "idle", "peak", "growth");
+        }
+        report.serverPeaks().forEach((name, peak) -> System.out.printf("%-18s %,18.2f %,18.2f %,18.2f%n", name,
+                report.serverIdle().getOrDefault(name, Double.NaN), peak,
+                report.serverGrowth().getOrDefault(name, Double.NaN)));
+    }
+
+    private static Map<String, Double> growth(Map<String, Double> idle, Map<String, Double> peaks) {
+        Map<String, Double> growth = new LinkedHashMap<>();
+        peaks.forEach((name, peak) -> {
+            if (idle.containsKey(name)) {
+                growth.put(name, peak - idle.get(name));
+            }
+        });
+        return growth;
+    }
+}
@@ -0,0 +1,200 @@
+package com.delivery.perf;
+
+import com.delivery.perf.data.DishCatalog;
+import com.delivery.perf.data.OrderDataGenerator;
+import com.delivery.perf.data.OrderShards;
+import com.delivery.perf.data.RestaurantDataGenerator;
+import com.delivery.perf.data.UserDataGenerator;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads production-sized synthetic data into the user, restaurant and order databases through COPY. The same
+ * {@code --seed}, sizes and {@code --end} date produce the same rows; each database draws from its own random
+ * stream, so loading one of them does not change what the others would get.
+ * <p>
+ * Usage: {@code java -cp target/perf-tools.jar com.delivery.perf.DataGenerator
+ * [--user-db jdbc:postgresql://localhost:5432/user_db] [--restaurant-db jdbc:postgresql://localhost:5433/restaurant_db]
+ * [--order-db jdbc:postgresql://localhost:5434/order_db] [--order-db-1 ...] [--user app] [--password secret] [--migrate]
+ * [--seed 42] [--scale 1.0] [--users 2000000] [--restaurants 20000] [--dishes 400000] [--orders 20000000]
+ * [--days 365] [--end 2024-06-01] [--user-zipf 0.6] [--restaurant-zipf 0.9] [--load user,restaurant,order]}
+ * <p>
+ * Every database passed is loaded unless {@code --load} narrows it down. Orders reference the users and dishes
+ * already in the user and restaurant databases, so {@code --order-db} needs the other two as well; with
+ * {@code --load order} they are only read. A sharded order-service takes its first database as {@code --order-db}
+ * and the others as {@code --order-db-1}, {@code --order-db-2}, ... in the order of its shards.
+ */
+public class DataGenerator {
+
+    private static final long DEFAULT_USERS = 2_000_000;
+    private static final long DEFAULT_RESTAURANTS = 20_000;
+    private static final long DEFAULT_DISHES = 400_000;
+    private static final long DEFAULT_ORDERS = 20_000_000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        // Without --user the credentials come from the URLs, e.g. ?user=app&password=secret
+        String user = options.get("user");
+        String password = options.get("password");
+        double scale = Double.parseDouble(options.getOrDefault("scale", "1"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        long users = size(options, "users", DEFAULT_USERS, scale);
+        int restaurants = (int) size(options, "restaurants", DEFAULT_RESTAURANTS, scale);
+        long dishes = size(options, "dishes", DEFAULT_DISHES, scale);
+        long orders = size(options, "orders", DEFAULT_ORDERS, scale);
+        int days = Integer.parseInt(options.getOrDefault("days", "365"));
+        // Midnight, so reruns on another day can still reproduce a dataset with an explicit --end
+        LocalDateTime end = (options.containsKey("end") ? LocalDate.parse(options.get("end")) : LocalDate.now())
+                .atStartOfDay();
+        double userExponent = Double.parseDouble(options.getOrDefault("user-zipf", "0.6"));
+        double restaurantExponent = Double.parseDouble(options.getOrDefault("restaurant-zipf", "0.9"));
+
+        String userDb = options.get("user-db");
+        String restaurantDb = options.get("restaurant-db");
+        String orderDb = options.get("order-db");
+        List<String> orderDbs = new ArrayList<>();
+        if (orderDb != null) {
+            orderDbs.add(orderDb);
+            while (options.containsKey("order-db-" + orderDbs.size())) {
+                orderDbs.add(options.get("order-db-" + orderDbs.size()));
+            }
+        }
+        if (userDb == null && restaurantDb == null && orderDb == null) {
+            throw new IllegalArgumentException("Pass at least one of --user-db, --restaurant-db, --order-db");
+        }
+        if (orderDb != null && (userDb == null || restaurantDb == null)) {
+            throw new IllegalArgumentException("--order-db needs --user-db and --restaurant-db to reference their ids");
+        }
+        Set<String> load = options.containsKey("load")
+                ? Set.of(options.get("load").split(","))
+                : Set.of("user", "restaurant", "order");
+
+        // Split in a fixed order, so every database gets the same stream whatever else is generated
+        SplittableRandom random = new SplittableRandom(seed);
+        SplittableRandom userRandom = random.split();
+        SplittableRandom restaurantRandom = random.split();
+        SplittableRandom orderRandom = random.split();
+
+        if (userDb != null && load.contains("user")) {
+            migrate(options, userDb, user, password, "user-service");
+            timed("users", () -> {
+                try (Connection connection = connect(userDb, user, password)) {
+                    inTransaction(connection, () -> new UserDataGenerator(users, end).generate(connection, userRandom));
+                    analyze(connection);
+                }
+            });
+        }
+
+        if (restaurantDb != null && load.contains("restaurant")) {
+            migrate(options, restaurantDb, user, password, "restaurant-service");
+            timed("restaurants", () -> {
+                try (Connection connection = connect(restaurantDb, user, password)) {
+                    inTransaction(connection, () -> new RestaurantDataGenerator(restaurants, dishes)
+                            .generate(connection, restaurantRandom));
+                    analyze(connection);
+                }
+            });
+        }
+
+        if (orderDb != null && load.contains("order")) {
+            for (String url : orderDbs) {
+                migrate(options, url, user, password, "order-service");
+            }
+            timed("orders", () -> {
+                long[] userIds;
+                try (Connection connection = connect(userDb, user, password)) {
+                    userIds = OrderDataGenerator.loadUserIds(connection);
+                }
+                DishCatalog catalog;
+                try (Connection connection = connect(restaurantDb, user, password)) {
+                    catalog = DishCatalog.load(connection);
+                }
+                List<Connection> shards = new ArrayList<>();
+                try {
+                    for (String url : orderDbs) {
+                        shards.add(connect(url, user, password));
+                    }
+                    new OrderDataGenerator(orders, days, end, userExponent, restaurantExponent)
+                            .generate(OrderShards.load(shards), orderRandom, userIds, catalog);
+                    for (Connection connection : shards) {
+                        analyze(connection);
+                    }
+                } finally {
+                    for (Connection connection : shards) {
+                        connection.close();
+                    }
+                }
+            });
+        }
+    }
+
+    private static long size(Map<String, String> options, String name, long defaultValue, double scale) {
+        if (options.containsKey(name)) {
+            return Long.parseLong(options.get(name));
+        }
+        return Math.max(1, Math.round(defaultValue * scale));
+    }
+
+    private static void migrate(Map<String, String> options, String url, String user, String password,
+                                String service) {
+        if (options.containsKey("migrate")) {
+            Flyway.configure()
+                    .dataSource(url, user, password)
+                    .locations("filesystem:../" + service + "/src/main/resources/db/migration")
+                    .load()
+                    .migrate();
+        }
+    }
+
+    private static Connection connect(String url, String user, String password) throws SQLException {
+        Connection connection = user == null
+                ? DriverManager.getConnection(url)
+                : DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            // A crash only loses generated rows, which a rerun recreates
+            statement.execute("SET synchronous_commit = off");
+        }
+        return connection;
+    }
+
+    private static void inTransaction(Connection connection, Step step) throws Exception {
+        connection.setAutoCommit(false);
+        try {
+            step.run();
+            connection.commit();
+        } catch (Exception e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static void analyze(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+
+    private static void timed(String name, Step step) throws Exception {
+        long start = System.nanoTime();
+        step.run();
+        System.out.printf("%s loaded in %.1f s%n", name, (System.nanoTime() - start) / 1e9);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+}
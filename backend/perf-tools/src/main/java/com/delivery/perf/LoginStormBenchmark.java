@@ -0,0 +1,184 @@
+package com.delivery.perf;
+
+import com.delivery.perf.load.ClosedLoop;
+import com.delivery.perf.load.LoginStormReport;
+import com.delivery.perf.load.PhaseReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of user-service during a login storm: first {@code --probe} alone, then the same probes while
+ * {@code --login-connections} connections log in as fast as they are answered. With password hashing on its own
+ * bounded pool, the probes should keep their latency and the logins beyond its capacity fail fast with 503.
+ * <p>
+ * Usage: {@code java -cp target/perf-tools.jar com.delivery.perf.LoginStormBenchmark --url http://localhost:8081
+ * [--label storm] [--users 500] [--login-connections 200] [--probe-connections 10] [--probe /users/me]
+ * [--warmup 10] [--duration 60] [--results results]}
+ * <p>
+ * The run registers {@code --users} accounts of its own first and logs in as them in turn. Every login comes from
+ * this machine and each account logs in many times, so start user-service with login limits above the storm, e.g.
+ * {@code APP_SECURITY_LOGINRATELIMIT_IP_TOKENSPERSECOND=100000} and
+ * {@code APP_SECURITY_LOGINRATELIMIT_EMAIL_TOKENSPERSECOND=100000}; otherwise most logins are answered 429 before
+ * any hashing.
+ */
+public class LoginStormBenchmark {
+
+    private static final DateTimeFormatter RESULT_FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String PASSWORD = "storm-password";
+    private static final int REGISTER_THREADS = 8;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        String baseUrl = Options.required(options, "url");
+        String label = options.getOrDefault("label", "storm");
+        int users = Integer.parseInt(options.getOrDefault("users", "500"));
+        int loginConnections = Integer.parseInt(options.getOrDefault("login-connections", "200"));
+        int probeConnections = Integer.parseInt(options.getOrDefault("probe-connections", "10"));
+        String probePath = options.getOrDefault("probe", "/users/me");
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        Path resultsDir = Path.of(options.getOrDefault("results", "results"));
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        // Unique per run, so reruns against the same database register new accounts
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<String> emails = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            emails.add("storm-" + run + "-" + i + "@example.com");
+        }
+        System.out.printf("%s: registering %d accounts on %s%n", label, users, baseUrl);
+        register(httpClient, baseUrl, emails);
+        String accessToken = objectMapper.readTree(
+                        send(httpClient, loginRequest(baseUrl, emails.get(0)), 200).body())
+                .path("accessToken").asText();
+
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + probePath))
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        ClosedLoop probes = new ClosedLoop(httpClient, sequence -> probe);
+        ClosedLoop logins = new ClosedLoop(httpClient,
+                sequence -> loginRequest(baseUrl, emails.get((int) (sequence % users))));
+
+        System.out.printf("%s: %d probe connections on %s, %d s warmup, %d s measured%n",
+                label, probeConnections, probePath, warmup, duration);
+        probes.start(probeConnections);
+        TimeUnit.SECONDS.sleep(warmup);
+        ClosedLoop.Window probesBefore = probes.measure(duration);
+
+        System.out.printf("%s: adding %d login connections, %d s warmup, %d s measured%n",
+                label, loginConnections, warmup, duration);
+        logins.start(loginConnections);
+        TimeUnit.SECONDS.sleep(warmup);
+        ClosedLoop.Window loginWindow = logins.begin();
+        ClosedLoop.Window probesDuringStorm = probes.measure(duration);
+        logins.end(loginWindow);
+        logins.stop();
+        probes.stop();
+
+        LoginStormReport report = new LoginStormReport(label, baseUrl, probePath, Instant.now(), users,
+                loginConnections, probeConnections, PhaseReport.of(probesBefore), PhaseReport.of(probesDuringStorm),
+                PhaseReport.of(loginWindow));
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve("login-storm-" + label + "-"
+                + RESULT_FILE_TIME.format(report.createdAt()) + ".json");
+        objectMapper.writeValue(resultFile.toFile(), report);
+
+        System.out.printf("%-16s %10s %10s %8s %8s %8s%n", "", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        print("probes alone", report.probesBefore());
+        print("probes in storm", report.probesDuringStorm());
+        print("logins", report.logins());
+        System.out.println("Results written to " + resultFile);
+        // In-flight requests are abandoned rather than awaited; their sockets close with the process
+        System.exit(0);
+    }
+
+    private static void register(HttpClient httpClient, String baseUrl, List<String> emails) throws Exception {
+        ExecutorService registrations = Executors.newFixedThreadPool(REGISTER_THREADS);
+        try {
+            List<Future<?>> registered = new ArrayList<>();
+            for (String email : emails) {
+                String body = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD
+                        + "\",\"fullName\":\"Storm User\"}";
+                registered.add(registrations.submit(() -> send(httpClient,
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/auth/register"))
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(),
+                        201)));
+            }
+            for (Future<?> future : registered) {
+                future.get();
+            }
+        } finally {
+            registrations.shutdownNow();
+        }
+    }
+
+    private static HttpRequest loginRequest(String baseUrl, String email) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    /**
+     * Sends a setup request, retrying while the service sheds it with 429 or 503.
+     */
+    private static HttpResponse<String> send(HttpClient httpClient, HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        while (true) {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == expectedStatus) {
+                return response;
+            }
+            if (response.statusCode() != 429 && response.statusCode() != 503) {
+                throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                        + response.statusCode() + ": " + response.body());
+            }
+            TimeUnit.SECONDS.sleep(1);
+        }
+    }
+
+    private static void print(String name, PhaseReport phase) {
+        System.out.printf("%-16s %10d %10.0f %8d %8d %8d   %s%s%n", name, phase.requests(), phase.requestsPerSecond(),
+                phase.p50Ms(), phase.p99Ms(), phase.p999Ms(), phase.statuses(),
+                phase.errors().isEmpty() ? "" : " errors " + phase.errors());
+    }
+}
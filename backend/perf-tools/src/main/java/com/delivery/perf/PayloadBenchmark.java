@@ -0,0 +1,107 @@
+package com.delivery.perf;
+
+import com.delivery.perf.codec.CodecReport;
+import com.delivery.perf.codec.Menus;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload size and decode cost of the menu order-service fetches from restaurant-service, as JSON and as Smile,
+ * for each menu size in {@code --dishes}. Each decode reads the full internal response into order-service's smaller
+ * DTO, ignoring the other properties like the client does, with one shared mapper per format.
+ * <p>
+ * Usage: {@code java -cp target/perf-tools.jar com.delivery.perf.PayloadBenchmark [--dishes 10,100,1000]
+ * [--warmup 20000] [--iterations 20000] [--results results]}
+ * <p>
+ * Times are the mean of {@code --iterations} decodes after {@code --warmup} unmeasured ones, in one thread; the
+ * allocation is what that thread allocated per decode. Run it on an otherwise idle machine.
+ */
+public class PayloadBenchmark {
+
+    private static final DateTimeFormatter RESULT_FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final long SEED = 42;
+
+    // Sum of decoded dish ids, printed at the end so no decode can be optimized away
+    private static long checksum;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        List<Integer> dishCounts = new ArrayList<>();
+        for (String dishes : options.getOrDefault("dishes", "10,100,1000").split(",")) {
+            dishCounts.add(Integer.parseInt(dishes.trim()));
+        }
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "20000"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "20000"));
+        Path resultsDir = Path.of(options.getOrDefault("results", "results"));
+
+        // Boot's builder disables failing on unknown properties, so both clients skip the fields they do not map
+        ObjectMapper json = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        ObjectMapper smile = new SmileMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        List<CodecReport.Size> sizes = new ArrayList<>();
+        for (int dishes : dishCounts) {
+            Menus.Served menu = Menus.served(dishes, SEED);
+            sizes.add(new CodecReport.Size(dishes, List.of(
+                    measure("json", json, json.writeValueAsBytes(menu), warmup, iterations),
+                    measure("smile", smile, smile.writeValueAsBytes(menu), warmup, iterations))));
+        }
+        CodecReport report = new CodecReport(Instant.now(), iterations, sizes);
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve("payload-" + RESULT_FILE_TIME.format(report.createdAt()) + ".json");
+        objectMapper.writeValue(resultFile.toFile(), report);
+
+        System.out.printf("%8s %-6s %10s %12s %14s%n", "dishes", "format", "bytes", "decode us", "alloc bytes");
+        for (CodecReport.Size size : report.sizes()) {
+            for (CodecReport.Format format : size.formats()) {
+                System.out.printf("%8d %-6s %10d %12.1f %14d%n", size.dishes(), format.name(), format.bytes(),
+                        format.decodeMicros(), format.allocatedBytesPerDecode());
+            }
+        }
+        System.out.println("checksum " + checksum);
+        System.out.println("Results written to " + resultFile);
+    }
+
+    private static CodecReport.Format measure(String name, ObjectMapper mapper, byte[] payload, int warmup,
+                                              int iterations) throws IOException {
+        for (int i = 0; i < warmup; i++) {
+            decode(mapper, payload);
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decode(mapper, payload);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new CodecReport.Format(name, payload.length, elapsed / 1e3 / iterations, allocated / iterations);
+    }
+
+    private static void decode(ObjectMapper mapper, byte[] payload) throws IOException {
+        Menus.Fetched menu = mapper.readValue(payload, Menus.Fetched.class);
+        for (Menus.FetchedDish dish : menu.dishes()) {
+            checksum += dish.id();
+        }
+    }
+}
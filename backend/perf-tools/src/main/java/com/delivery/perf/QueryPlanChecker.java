@@ -0,0 +1,166 @@
+package com.delivery.perf;
+
+import com.delivery.perf.plan.PlanAnalyzer;
+import com.delivery.perf.plan.PlanCase;
+import com.delivery.perf.plan.PlanReport;
+import com.delivery.perf.plan.PlanResult;
+import com.delivery.perf.plan.RepositoryMethods;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.flywaydb.core.Flyway;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Explains every repository query of one service against a seeded database and fails on plan regressions:
+ * sequential scans of large tables, buffer budgets and buffer growth against the stored baseline. Fails
+ * before explaining anything if a query declared in the service's repository package has no plan case.
+ * <p>
+ * Usage: {@code java -cp target/perf-tools.jar com.delivery.perf.QueryPlanChecker --service restaurant
+ * --url jdbc:postgresql://localhost:5432/restaurant_db --user app --password secret
+ * [--migrations ../restaurant-service/src/main/resources/db/migration]
+ * [--repositories ../restaurant-service/src/main/java/com/delivery/restaurant/repository] [--seed] [--scale 1]
+ * [--seq-scan-min-rows 10000] [--regression-factor 2.0] [--baselines baselines] [--results results]
+ * [--write-baseline]}
+ */
+public class QueryPlanChecker {
+
+    private static final DateTimeFormatter RESULT_FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        String service = Options.required(options, "service");
+        String url = Options.required(options, "url");
+        String user = options.getOrDefault("user", "postgres");
+        String password = options.getOrDefault("password", "");
+        int scale = Integer.parseInt(options.getOrDefault("scale", "1"));
+        long seqScanMinRows = Long.parseLong(options.getOrDefault("seq-scan-min-rows", "10000"));
+        double regressionFactor = Double.parseDouble(options.getOrDefault("regression-factor", "2.0"));
+        Path baselineFile = Path.of(options.getOrDefault("baselines", "baselines"), service + ".json");
+        Path resultsDir = Path.of(options.getOrDefault("results", "results"));
+        Path repositories = Path.of(options.getOrDefault("repositories",
+                "../" + service + "-service/src/main/java/com/delivery/" + service + "/repository"));
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        List<PlanCase> planCases = readResource(objectMapper, "plans/" + service + ".json");
+        List<String> missing = RepositoryMethods.withoutPlanCase(RepositoryMethods.declaredIn(repositories), planCases);
+        if (!missing.isEmpty()) {
+            System.out.println("No plan case in plans/" + service + ".json for " + String.join(", ", missing));
+            System.exit(1);
+        }
+
+        if (options.containsKey("migrations")) {
+            Flyway.configure()
+                    .dataSource(url, user, password)
+                    .locations("filesystem:" + options.get("migrations"))
+                    .load()
+                    .migrate();
+        }
+
+        List<PlanResult> results = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            if (options.containsKey("seed")) {
+                seed(connection, service, scale);
+            }
+
+            PlanAnalyzer analyzer = new PlanAnalyzer(connection, objectMapper, seqScanMinRows);
+            Map<String, PlanResult> baseline = readBaseline(objectMapper, baselineFile);
+            for (PlanCase planCase : planCases) {
+                PlanResult result = analyzer.analyze(planCase);
+                PlanResult previous = baseline.get(planCase.name());
+                // Small plans jitter by a few pages, only growth past the factor on real reads counts
+                if (previous != null && result.buffers() > 100
+                        && result.buffers() > previous.buffers() * regressionFactor) {
+                    result = result.withViolation("buffers grew from " + previous.buffers()
+                            + " to " + result.buffers());
+                }
+                results.add(result);
+            }
+        }
+
+        PlanReport report = new PlanReport(service, Instant.now(), scale, seqScanMinRows, results);
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve(service + "-" + RESULT_FILE_TIME.format(report.createdAt()) + ".json");
+        objectMapper.writeValue(resultFile.toFile(), report);
+        if (options.containsKey("write-baseline")) {
+            Files.createDirectories(baselineFile.getParent());
+            objectMapper.writeValue(baselineFile.toFile(), report);
+        }
+
+        print(results);
+        System.out.println("Results written to " + resultFile);
+
+        long failed = results.stream().filter(result -> !result.violations().isEmpty()).count();
+        if (failed > 0) {
+            System.out.println(failed + " of " + results.size() + " queries regressed");
+            System.exit(1);
+        }
+    }
+
+    private static void seed(Connection connection, String service, int scale) throws Exception {
+        String script;
+        try (InputStream in = resource("seed/" + service + ".sql")) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("${scale}", String.valueOf(scale));
+        }
+        System.out.println("Seeding " + service + " at scale " + scale);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(script);
+            // Leave the tables as autovacuum would: fresh statistics and an up-to-date visibility map
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+
+    private static List<PlanCase> readResource(ObjectMapper objectMapper, String name) throws IOException {
+        try (InputStream in = resource(name)) {
+            return objectMapper.readValue(in, new TypeReference<>() {
+            });
+        }
+    }
+
+    private static Map<String, PlanResult> readBaseline(ObjectMapper objectMapper, Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        return objectMapper.readValue(file.toFile(), PlanReport.class).results().stream()
+                .collect(Collectors.toMap(PlanResult::name, result -> result));
+    }
+
+    private static InputStream resource(String name) {
+        InputStream in = QueryPlanChecker.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) {
+            throw new IllegalArgumentException("Unknown resource " + name);
+        }
+        return in;
+    }
+
+    private static void print(List<PlanResult> results) {
+        System.out.printf("%-40s %-22s %10s %12s  %s%n", "query", "root node", "buffers", "time ms", "violations");
+        for (PlanResult result : results) {
+            System.out.printf("%-40s %-22s %10d %12.2f  %s%n",
+                    result.name(), result.rootNode(), result.buffers(), result.executionTimeMs(),
+                    result.violations().isEmpty() ? "-" : String.join("; ", result.violations()));
+        }
+    }
+}
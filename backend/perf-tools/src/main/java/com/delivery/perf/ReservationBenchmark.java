@@ -0,0 +1,230 @@
+package com.delivery.perf;
+
+import com.delivery.perf.load.LatencyHistogram;
+import com.delivery.perf.load.ReservationReport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention benchmark of daily portion reservations: {@code --concurrency} requests at a time reserve one portion
+ * each of the same hot dish until {@code --requests} have been sent, spread round-robin over every instance in
+ * {@code --url}, so the instances also compete for the dish's pool in the database. Reports throughput, status
+ * codes and latency percentiles, fails if more portions were reserved than the dish's daily limit, and releases
+ * every reserved portion again at the end.
+ * <p>
+ * Usage: {@code java -cp target/perf-tools.jar com.delivery.perf.ReservationBenchmark --url http://localhost:8082
+ * --token $INTERNAL_API_TOKEN --restaurant 1 --dish 1 [--label hot-dish] [--requests 20000]
+ * [--concurrency 2000] [--keep] [--results results]}
+ * <p>
+ * The dish needs a daily limit, set with {@code PUT /admin/restaurants/dishes/{id}/daily-limit}; with fewer
+ * portions than {@code --requests} the rest are answered 409, which is part of what is measured. Portions already
+ * sold today count against the limit too. {@code --keep} leaves the reserved portions sold. A request that times
+ * out is counted under {@code errors}; the service may still have reserved its portion, which then stays sold.
+ */
+public class ReservationBenchmark {
+
+    private static final DateTimeFormatter RESULT_FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final HttpClient httpClient;
+    private final List<String> baseUrls;
+    private final String token;
+    private final long dishId;
+    private final long requests;
+    private final AtomicLong sent = new AtomicLong();
+    private final CountDownLatch done;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    // Portions reserved through each instance, released through the same one
+    private final AtomicLongArray reserved;
+
+    private ReservationBenchmark(HttpClient httpClient, List<String> baseUrls, String token, long dishId,
+                                 long requests, int concurrency) {
+        this.httpClient = httpClient;
+        this.baseUrls = baseUrls;
+        this.token = token;
+        this.dishId = dishId;
+        this.requests = requests;
+        this.done = new CountDownLatch(concurrency);
+        this.reserved = new AtomicLongArray(baseUrls.size());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        List<String> baseUrls = List.of(Options.required(options, "url").split(","));
+        String token = Options.required(options, "token");
+        long restaurantId = Long.parseLong(Options.required(options, "restaurant"));
+        long dishId = Long.parseLong(Options.required(options, "dish"));
+        String label = options.getOrDefault("label", "dish-" + dishId);
+        long requests = Long.parseLong(options.getOrDefault("requests", "20000"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "2000"));
+        Path resultsDir = Path.of(options.getOrDefault("results", "results"));
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        int dailyLimit = dailyLimit(httpClient, objectMapper, baseUrls.get(0), restaurantId, dishId);
+
+        ReservationBenchmark benchmark = new ReservationBenchmark(httpClient, baseUrls, token, dishId, requests,
+                concurrency);
+        System.out.printf("%s: %d reservations of dish %d (daily limit %d), %d at a time, against %s%n",
+                label, requests, dishId, dailyLimit, concurrency, baseUrls);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            benchmark.next();
+        }
+        benchmark.done.await();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        benchmark.statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        Map<String, Long> errorCounts = new TreeMap<>();
+        benchmark.errors.forEach((error, count) -> errorCounts.put(error, count.sum()));
+        long reservedTotal = 0;
+        for (int i = 0; i < baseUrls.size(); i++) {
+            reservedTotal += benchmark.reserved.get(i);
+        }
+        ReservationReport report = new ReservationReport(label, baseUrls, Instant.now(), dishId, dailyLimit,
+                concurrency, requests, requests / elapsedSeconds, reservedTotal, statusCounts, errorCounts,
+                benchmark.latencies.percentile(50), benchmark.latencies.percentile(99),
+                benchmark.latencies.percentile(99.9));
+
+        if (!options.containsKey("keep")) {
+            benchmark.releaseAll();
+        }
+
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve("reservations-" + label + "-"
+                + RESULT_FILE_TIME.format(report.createdAt()) + ".json");
+        objectMapper.writeValue(resultFile.toFile(), report);
+
+        print(report);
+        System.out.println("Results written to " + resultFile);
+        if (reservedTotal > dailyLimit) {
+            System.out.printf("OVERSOLD: %d portions reserved, daily limit %d%n", reservedTotal, dailyLimit);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static int dailyLimit(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                                  long restaurantId, long dishId) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/restaurants/" + restaurantId + "/dishes"))
+                        .header("Accept", "application/json")
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Reading the menu of restaurant " + restaurantId + " returned "
+                    + response.statusCode());
+        }
+        for (JsonNode dish : objectMapper.readTree(response.body())) {
+            if (dish.path("id").asLong() == dishId) {
+                if (!dish.path("dailyLimit").isInt()) {
+                    throw new IllegalStateException("Dish " + dishId + " has no daily limit, set one with "
+                            + "PUT /admin/restaurants/dishes/" + dishId + "/daily-limit");
+                }
+                return dish.path("dailyLimit").asInt();
+            }
+        }
+        throw new IllegalStateException("Restaurant " + restaurantId + " has no dish " + dishId);
+    }
+
+    private void next() {
+        long index = sent.getAndIncrement();
+        if (index >= requests) {
+            done.countDown();
+            return;
+        }
+        int instance = (int) (index % baseUrls.size());
+        long start = System.nanoTime();
+        httpClient.sendAsync(request(instance, "/internal/inventory/reservations", 1),
+                        HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        errors.computeIfAbsent(cause.getClass().getSimpleName(), key -> new LongAdder())
+                                .increment();
+                    } else {
+                        latencies.record(System.nanoTime() - start);
+                        statuses.computeIfAbsent(response.statusCode(), key -> new LongAdder()).increment();
+                        if (response.statusCode() == 204) {
+                            reserved.incrementAndGet(instance);
+                        }
+                    }
+                    next();
+                });
+    }
+
+    private void releaseAll() throws IOException, InterruptedException {
+        for (int instance = 0; instance < baseUrls.size(); instance++) {
+            int quantity = (int) reserved.get(instance);
+            if (quantity == 0) {
+                continue;
+            }
+            HttpResponse<Void> response = httpClient.send(
+                    request(instance, "/internal/inventory/reservations/release", quantity),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 204) {
+                System.out.printf("Releasing %d portions on %s returned %d%n", quantity, baseUrls.get(instance),
+                        response.statusCode());
+            }
+        }
+    }
+
+    private HttpRequest request(int instance, String path, int quantity) {
+        String body = "{\"items\":[{\"dishId\":" + dishId + ",\"quantity\":" + quantity + "}]}";
+        return HttpRequest.newBuilder(URI.create(baseUrls.get(instance) + path))
+                .header("Content-Type", "application/json")
+                .header(TOKEN_HEADER, token)
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void print(ReservationReport report) {
+        System.out.printf("%-12s %10s %10s %10s %8s %8s %8s%n", "run", "requests", "req/s", "reserved", "p50 ms",
+                "p99 ms", "p99.9 ms");
+        System.out.printf("%-12s %10d %10.0f %10d %8d %8d %8d%n", report.label(), report.requests(),
+                report.requestsPerSecond(), report.reserved(), report.p50Ms(), report.p99Ms(), report.p999Ms());
+        System.out.println("statuses " + report.statuses());
+        if (!report.errors().isEmpty()) {
+            System.out.println("errors   " + report.errors());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.delivery.perf;
+
+import com.delivery.perf.load.ClosedLoop;
+import com.delivery.perf.load.PhaseReport;
+import com.delivery.perf.load.SignupReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of a signup spike: {@code --connections} connections register new accounts as fast as they are
+ * answered, each with {@code --addresses} addresses. {@code --duplicates} percent of the signups reuse an email that
+ * is already registered and should be answered 409. Reports signups per second, status codes and latency
+ * percentiles.
+ * <p>
+ * Usage: {@code java -cp target/perf-tools.jar com.delivery.perf.SignupBenchmark --url http://localhost:8081
+ * [--label spike] [--connections 200] [--addresses 2] [--duplicates 0] [--warmup 10] [--duration 60]
+ * [--results results]}
+ * <p>
+ * Every signup hashes a password, so the run is bounded by the hashing pool; signups beyond it and beyond the
+ * {@code auth} concurrency limit are answered 503. Emails are unique per run, so reruns against the same database
+ * keep adding accounts.
+ */
+public class SignupBenchmark {
+
+    private static final DateTimeFormatter RESULT_FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String PASSWORD = "spike-password";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        String baseUrl = Options.required(options, "url");
+        String label = options.getOrDefault("label", "spike");
+        int connections = Integer.parseInt(options.getOrDefault("connections", "200"));
+        int addresses = Integer.parseInt(options.getOrDefault("addresses", "2"));
+        int duplicates = Integer.parseInt(options.getOrDefault("duplicates", "0"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        Path resultsDir = Path.of(options.getOrDefault("results", "results"));
+        if (duplicates < 0 || duplicates > 100) {
+            throw new IllegalArgumentException("--duplicates is a percentage, got " + duplicates);
+        }
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        // Unique per run, so reruns against the same database register new accounts
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        String duplicateEmail = "spike-" + run + "-taken@example.com";
+        HttpResponse<String> taken = httpClient.send(registerRequest(baseUrl, duplicateEmail, addresses),
+                HttpResponse.BodyHandlers.ofString());
+        if (taken.statusCode() != 201) {
+            throw new IllegalStateException("Registering " + duplicateEmail + " returned " + taken.statusCode()
+                    + ": " + taken.body());
+        }
+
+        ClosedLoop signups = new ClosedLoop(httpClient, sequence -> registerRequest(baseUrl,
+                sequence % 100 < duplicates ? duplicateEmail : "spike-" + run + "-" + sequence + "@example.com",
+                addresses));
+        System.out.printf("%s: %d connections registering on %s with %d addresses, %d%% duplicates, "
+                + "%d s warmup, %d s measured%n", label, connections, baseUrl, addresses, duplicates, warmup, duration);
+        signups.start(connections);
+        TimeUnit.SECONDS.sleep(warmup);
+        ClosedLoop.Window window = signups.measure(duration);
+        signups.stop();
+
+        PhaseReport registrations = PhaseReport.of(window);
+        double signupsPerSecond = registrations.statuses().getOrDefault(201, 0L) / (double) duration;
+        SignupReport report = new SignupReport(label, baseUrl, Instant.now(), connections, addresses, duplicates,
+                signupsPerSecond, registrations);
+        Files.createDirectories(resultsDir);
+        Path resultFile = resultsDir.resolve("signups-" + label + "-"
+                + RESULT_FILE_TIME.format(report.createdAt()) + ".json");
+        objectMapper.writeValue(resultFile.toFile(), report);
+
+        System.out.printf("%-12s %10s %10s %10s %8s %8s %8s%n", "run", "requests", "req/s", "signups/s", "p50 ms",
+                "p99 ms", "p99.9 ms");
+        System.out.printf("%-12s %10d %10.0f %10.0f %8d %8d %8d%n", label, registrations.requests(),
+                registrations.requestsPerSecond(), signupsPerSecond, registrations.p50Ms(), registrations.p99Ms(),
+                registrations.p999Ms());
+        System.out.println("statuses " + registrations.statuses());
+        if (!registrations.errors().isEmpty()) {
+            System.out.println("errors   " + registrations.errors());
+        }
+        System.out.println("Results written to " + resultFile);
+        // In-flight requests are abandoned rather than awaited; their sockets close with the process
+        System.exit(0);
+    }
+
+    private static HttpRequest registerRequest(String baseUrl, String email, int addresses) {
+        StringBuilder body = new StringBuilder("{\"email\":\"").append(email)
+                .append("\",\"password\":\"").append(PASSWORD)
+                .append("\",\"fullName\":\"Spike User\",\"addresses\":[");
+        for (int i = 0; i < addresses; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"street\":\"").append(i + 1).append(" Main Street\",\"city\":\"Springfield\",")
+                    .append("\"zip\":\"12345\",\"state\":\"IL\",\"country\":\"USA\"}");
+        }
+        body.append("]}");
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/register"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+}
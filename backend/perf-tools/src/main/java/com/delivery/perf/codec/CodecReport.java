@@ -0,0 +1,22 @@
+package com.delivery.perf.codec;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One run of the menu payload benchmark: per menu size, the encoded bytes and the mean time and allocation of one
+ * decode in each format.
+ */
+public record CodecReport(Instant createdAt,
+                          int iterations,
+                          List<Size> sizes) {
+
+    public record Size(int dishes, List<Format> formats) {
+    }
+
+    public record Format(String name,
+                         int bytes,
+                         double decodeMicros,
+                         long allocatedBytesPerDecode) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.delivery.perf.codec;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Restaurant menus in the two shapes they have on the wire: {@link Served} is what restaurant-service's
+ * {@code /internal/restaurants/{id}} writes, {@link Fetched} is the subset order-service's
+ * {@code RestaurantServiceClient} decodes, ignoring the other properties.
+ */
+public final class Menus {
+
+    private static final List<String> WORDS = List.of("spicy", "crispy", "garlic", "smoked", "braised", "lemon",
+            "chicken", "beef", "tofu", "noodles", "rice", "dumplings", "soup", "salad", "with", "and", "fresh");
+
+    private Menus() {
+    }
+
+    public record Served(Long id, String name, String cuisine, String address, Long menuVersion,
+                         Set<ServedDish> dishes) {
+    }
+
+    public record ServedDish(Long id, String name, String description, Integer price, String imageUrl,
+                             String thumbnailUrl, Integer dailyLimit) {
+    }
+
+    public record Fetched(Long id, String name, String cuisine, String address, Set<FetchedDish> dishes) {
+    }
+
+    public record FetchedDish(Long id, String name, String description, Integer price, String imageUrl) {
+    }
+
+    /**
+     * A menu of {@code dishes} dishes with names, descriptions and URLs about as long as the generated catalog's.
+     */
+    public static Served served(int dishes, long seed) {
+        Random random = new Random(seed);
+        Set<ServedDish> menu = new LinkedHashSet<>();
+        for (long id = 1; id <= dishes; id++) {
+            String image = "/images/dishes/" + id + "-" + Long.toHexString(random.nextLong());
+            menu.add(new ServedDish(id, words(random, 3), words(random, 12), 200 + random.nextInt(4800),
+                    image + ".jpg", image + "-thumb.jpg", random.nextInt(4) == 0 ? 50 + random.nextInt(200) : null));
+        }
+        return new Served(1L, "Restaurant " + words(random, 2), "Asian", random.nextInt(999) + " " + words(random, 2)
+                + " Street, Springfield", 1L, menu);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS.get(random.nextInt(WORDS.size())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.delivery.perf.data;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Streams rows into one table with {@code COPY ... FROM STDIN} in text format. Values are written with
+ * {@link String#valueOf(Object)}, {@code null} becomes {@code \N}.
+ */
+public final class CopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+    private boolean rowStarted;
+    private long rows;
+
+    public CopyWriter(Connection connection, String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public CopyWriter value(Object value) throws IOException {
+        if (rowStarted) {
+            writer.write('\t');
+        }
+        rowStarted = true;
+        if (value == null) {
+            writer.write("\\N");
+        } else if (value instanceof String text) {
+            writeEscaped(text);
+        } else {
+            writer.write(String.valueOf(value));
+        }
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        writer.write('\n');
+        rowStarted = false;
+        rows++;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Closing the copy stream ends the COPY and surfaces any server-side error
+        writer.close();
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+}
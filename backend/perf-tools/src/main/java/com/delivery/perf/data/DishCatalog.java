@@ -0,0 +1,105 @@
+package com.delivery.perf.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Every dish id and price of the restaurant database grouped by restaurant, so orders reference dishes that exist.
+ * Dishes of restaurant {@code r} are {@code dishIds[menuStart[r]]} up to {@code dishIds[menuStart[r + 1] - 1]}.
+ */
+public final class DishCatalog {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final long[] restaurantIds;
+    private final int[] menuStart;
+    private final long[] dishIds;
+    private final int[] prices;
+    private final int restaurantCount;
+
+    private DishCatalog(long[] restaurantIds, int[] menuStart, long[] dishIds, int[] prices, int restaurantCount) {
+        this.restaurantIds = restaurantIds;
+        this.menuStart = menuStart;
+        this.dishIds = dishIds;
+        this.prices = prices;
+        this.restaurantCount = restaurantCount;
+    }
+
+    public static DishCatalog load(Connection connection) throws SQLException {
+        int dishCount = (int) count(connection, "SELECT count(*) FROM dish");
+        long[] restaurantIds = new long[dishCount];
+        int[] menuStart = new int[dishCount + 1];
+        long[] dishIds = new long[dishCount];
+        int[] prices = new int[dishCount];
+
+        int restaurants = 0;
+        int dishes = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        // The driver only streams with a fetch size inside a transaction
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT restaurant_id, id, price FROM dish ORDER BY restaurant_id, id")) {
+                while (resultSet.next() && dishes < dishCount) {
+                    long restaurantId = resultSet.getLong(1);
+                    if (restaurants == 0 || restaurantIds[restaurants - 1] != restaurantId) {
+                        restaurantIds[restaurants] = restaurantId;
+                        menuStart[restaurants] = dishes;
+                        restaurants++;
+                    }
+                    dishIds[dishes] = resultSet.getLong(2);
+                    prices[dishes] = resultSet.getInt(3);
+                    dishes++;
+                }
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        menuStart[restaurants] = dishes;
+
+        if (restaurants == 0) {
+            throw new IllegalStateException("The restaurant database has no dishes to order");
+        }
+        return new DishCatalog(restaurantIds, menuStart, dishIds, prices, restaurants);
+    }
+
+    int restaurantCount() {
+        return restaurantCount;
+    }
+
+    int maxMenuSize() {
+        int max = 0;
+        for (int r = 0; r < restaurantCount; r++) {
+            max = Math.max(max, menuSize(r));
+        }
+        return max;
+    }
+
+    long restaurantId(int restaurant) {
+        return restaurantIds[restaurant];
+    }
+
+    int menuSize(int restaurant) {
+        return menuStart[restaurant + 1] - menuStart[restaurant];
+    }
+
+    long dishId(int restaurant, int dish) {
+        return dishIds[menuStart[restaurant] + dish];
+    }
+
+    int price(int restaurant, int dish) {
+        return prices[menuStart[restaurant] + dish];
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.delivery.perf.data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * When orders happen: lunch and dinner peaks within a day, busier Fridays and weekends, and a business that
+ * grows over the generated period.
+ */
+final class OrderCalendar {
+
+    // Relative order volume per hour of the day, 00:00 to 23:00
+    private static final double[] HOURLY_WEIGHTS = {
+            0.6, 0.3, 0.2, 0.1, 0.1, 0.1, 0.3, 1.0, 1.8, 1.6, 1.8, 4.5,
+            7.5, 6.5, 3.5, 2.5, 3.0, 5.0, 8.5, 9.0, 7.0, 4.5, 2.5, 1.2
+    };
+    // Monday to Sunday
+    private static final double[] WEEKDAY_WEIGHTS = {0.90, 0.90, 0.95, 1.00, 1.20, 1.30, 1.15};
+    // Daily volume at the start of the period relative to its end
+    private static final double START_VOLUME = 0.6;
+
+    private final double[] hourlyCumulative = new double[HOURLY_WEIGHTS.length];
+
+    OrderCalendar() {
+        double sum = 0;
+        for (int hour = 0; hour < HOURLY_WEIGHTS.length; hour++) {
+            sum += HOURLY_WEIGHTS[hour];
+            hourlyCumulative[hour] = sum;
+        }
+    }
+
+    /**
+     * Splits {@code orders} over {@code days} days starting at {@code firstDay}; the counts add up exactly.
+     */
+    long[] ordersPerDay(long orders, LocalDate firstDay, int days) {
+        double[] weights = new double[days];
+        double total = 0;
+        for (int day = 0; day < days; day++) {
+            DayOfWeek dayOfWeek = firstDay.plusDays(day).getDayOfWeek();
+            double growth = days == 1 ? 1 : START_VOLUME + (1 - START_VOLUME) * day / (days - 1);
+            weights[day] = WEEKDAY_WEIGHTS[dayOfWeek.getValue() - 1] * growth;
+            total += weights[day];
+        }
+
+        long[] counts = new long[days];
+        double cumulative = 0;
+        long assigned = 0;
+        for (int day = 0; day < days; day++) {
+            cumulative += weights[day];
+            long upTo = Math.round(orders * cumulative / total);
+            counts[day] = upTo - assigned;
+            assigned = upTo;
+        }
+        return counts;
+    }
+
+    int secondOfDay(SplittableRandom random) {
+        double target = random.nextDouble() * hourlyCumulative[hourlyCumulative.length - 1];
+        int hour = 0;
+        while (hourlyCumulative[hour] <= target) {
+            hour++;
+        }
+        return hour * 3600 + random.nextInt(3600);
+    }
+}
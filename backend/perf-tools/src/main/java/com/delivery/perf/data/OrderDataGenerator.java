@@ -0,0 +1,267 @@
+package com.delivery.perf.data;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Orders with items and payments over the last {@code days} days. Users and restaurants are picked by Zipf
+ * popularity, dishes by Zipf popularity within the menu, and order times follow {@link OrderCalendar}. Each order
+ * goes to the shard of its user, see {@link OrderShards}; the rows do not depend on the number of shards, only
+ * their ids do. Rows are written in time order, one transaction per day and shard, so ids grow with order dates
+ * like they do in production.
+ */
+public final class OrderDataGenerator {
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final int MAX_ITEMS = 6;
+    private static final double ANOTHER_ITEM_PROBABILITY = 0.45;
+    private static final double CANCELLED_SHARE = 0.06;
+    // Orders younger than this are still in progress
+    private static final long OPEN_ORDER_SECONDS = 3600;
+
+    private final long orders;
+    private final int days;
+    private final LocalDateTime end;
+    private final double userExponent;
+    private final double restaurantExponent;
+    private final OrderCalendar calendar = new OrderCalendar();
+
+    public OrderDataGenerator(long orders, int days, LocalDateTime end, double userExponent,
+                              double restaurantExponent) {
+        this.orders = orders;
+        this.days = days;
+        this.end = end;
+        this.userExponent = userExponent;
+        this.restaurantExponent = restaurantExponent;
+    }
+
+    /**
+     * All user ids of the user database in id order.
+     */
+    public static long[] loadUserIds(Connection connection) throws SQLException {
+        long[] ids = new long[16_384];
+        int loaded = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            // The driver only streams with a fetch size inside a transaction
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery("SELECT id FROM users ORDER BY id")) {
+                while (resultSet.next()) {
+                    if (loaded == ids.length) {
+                        ids = Arrays.copyOf(ids, ids.length * 2);
+                    }
+                    ids[loaded++] = resultSet.getLong(1);
+                }
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        if (loaded == 0) {
+            throw new IllegalStateException("The user database has no users to place orders");
+        }
+        return Arrays.copyOf(ids, loaded);
+    }
+
+    public void generate(OrderShards shards, SplittableRandom random, long[] userIds, DishCatalog catalog)
+            throws SQLException, IOException {
+        ZipfSampler users = new ZipfSampler(userIds.length, userExponent);
+        ZipfSampler restaurants = new ZipfSampler(catalog.restaurantCount(), restaurantExponent);
+        ZipfSampler dishes = new ZipfSampler(catalog.maxMenuSize(), 1.0);
+        // Popularity ranks map to shuffled ids, so the busiest users and restaurants are not simply the oldest
+        int[] userByRank = shuffledIndexes(userIds.length, random);
+        int[] restaurantByRank = shuffledIndexes(catalog.restaurantCount(), random);
+
+        long[] ordersPerShard = new long[shards.count()];
+        long items = 0;
+        LocalDate firstDay = end.toLocalDate().minusDays(days);
+        long[] perDay = calendar.ordersPerDay(orders, firstDay, days);
+        for (int shard = 0; shard < shards.count(); shard++) {
+            shards.connection(shard).setAutoCommit(false);
+        }
+        try {
+            for (int day = 0; day < days; day++) {
+                LocalDateTime midnight = firstDay.plusDays(day).atStartOfDay();
+                int count = (int) perDay[day];
+                int[] seconds = new int[count];
+                for (int i = 0; i < count; i++) {
+                    seconds[i] = calendar.secondOfDay(random);
+                }
+                Arrays.sort(seconds);
+                List<List<Order>> dayOrders = new ArrayList<>();
+                for (int shard = 0; shard < shards.count(); shard++) {
+                    dayOrders.add(new ArrayList<>());
+                }
+                for (int i = 0; i < count; i++) {
+                    Order order = order(random, midnight.plusSeconds(seconds[i]),
+                            users, restaurants, dishes, userIds, userByRank, restaurantByRank, catalog);
+                    dayOrders.get(shards.shardOfUser(order.userId)).add(order);
+                }
+
+                for (int shard = 0; shard < shards.count(); shard++) {
+                    List<Order> shardOrders = dayOrders.get(shard);
+                    if (!shardOrders.isEmpty()) {
+                        items += writeOrders(shards, shard, shardOrders, catalog);
+                        ordersPerShard[shard] += shardOrders.size();
+                    }
+                }
+            }
+        } finally {
+            for (int shard = 0; shard < shards.count(); shard++) {
+                shards.connection(shard).setAutoCommit(true);
+            }
+        }
+
+        System.out.printf("orders: %d orders, %d items over %d days, per shard %s%n",
+                Arrays.stream(ordersPerShard).sum(), items, days, Arrays.toString(ordersPerShard));
+    }
+
+    /**
+     * Writes one day of a shard in a single transaction, so the items and payments see their orders. One
+     * connection runs one COPY at a time, so the ids are taken before.
+     */
+    private long writeOrders(OrderShards shards, int shard, List<Order> dayOrders, DishCatalog catalog)
+            throws SQLException, IOException {
+        int itemCount = 0;
+        for (Order order : dayOrders) {
+            itemCount += order.itemCount;
+        }
+        long[] orderIds = shards.takeSequenceValues(shard, "orders", dayOrders.size());
+        long[] itemIds = shards.takeSequenceValues(shard, "order_item", itemCount);
+        long[] paymentIds = shards.takeSequenceValues(shard, "payment", dayOrders.size());
+        Connection connection = shards.connection(shard);
+
+        try (CopyWriter orderRows = new CopyWriter(connection, "orders",
+                "id", "status", "order_date", "user_id", "restaurant_id", "total_price")) {
+            for (int i = 0; i < dayOrders.size(); i++) {
+                Order order = dayOrders.get(i);
+                order.id = OrderShards.id(orderIds[i], shard, order.userId);
+                orderRows.value(order.id)
+                        .value(order.status)
+                        .value(order.orderDate)
+                        .value(order.userId)
+                        .value(catalog.restaurantId(order.restaurant))
+                        .value(order.totalPrice);
+                orderRows.endRow();
+            }
+        }
+
+        try (CopyWriter itemRows = new CopyWriter(connection, "order_item",
+                "id", "order_id", "dish_id", "quantity", "price")) {
+            int itemIndex = 0;
+            for (Order order : dayOrders) {
+                for (int item = 0; item < order.itemCount; item++) {
+                    itemRows.value(OrderShards.id(itemIds[itemIndex++], shard, order.userId))
+                            .value(order.id)
+                            .value(catalog.dishId(order.restaurant, order.dishes[item]))
+                            .value(order.quantities[item])
+                            .value(catalog.price(order.restaurant, order.dishes[item]));
+                    itemRows.endRow();
+                }
+            }
+        }
+
+        try (CopyWriter paymentRows = new CopyWriter(connection, "payment",
+                "id", "order_id", "method", "amount", "status")) {
+            for (int i = 0; i < dayOrders.size(); i++) {
+                Order order = dayOrders.get(i);
+                paymentRows.value(OrderShards.id(paymentIds[i], shard, order.userId))
+                        .value(order.id)
+                        .value(order.paymentMethod)
+                        .value(order.totalPrice)
+                        .value("CANCELLED".equals(order.status) ? "REFUNDED" : "PAID");
+                paymentRows.endRow();
+            }
+        }
+
+        connection.commit();
+        return itemCount;
+    }
+
+    private Order order(SplittableRandom random, LocalDateTime orderDate, ZipfSampler users,
+                        ZipfSampler restaurants, ZipfSampler dishes, long[] userIds, int[] userByRank,
+                        int[] restaurantByRank, DishCatalog catalog) {
+        Order order = new Order();
+        order.orderDate = orderDate;
+        order.userId = userIds[userByRank[users.sample(random)]];
+        order.restaurant = restaurantByRank[restaurants.sample(random)];
+
+        int menuSize = catalog.menuSize(order.restaurant);
+        int wanted = 1;
+        while (wanted < MAX_ITEMS && random.nextDouble() < ANOTHER_ITEM_PROBABILITY) {
+            wanted++;
+        }
+        order.dishes = new int[wanted];
+        order.quantities = new int[wanted];
+        for (int attempt = 0; attempt < wanted * 2 && order.itemCount < wanted; attempt++) {
+            int dish = dishes.sample(random, menuSize);
+            if (!contains(order.dishes, order.itemCount, dish)) {
+                int quantity = random.nextInt(10) < 8 ? 1 : 2 + random.nextInt(2);
+                order.dishes[order.itemCount] = dish;
+                order.quantities[order.itemCount] = quantity;
+                order.totalPrice += quantity * catalog.price(order.restaurant, dish);
+                order.itemCount++;
+            }
+        }
+
+        long ageSeconds = Duration.between(orderDate, end).getSeconds();
+        if (ageSeconds < OPEN_ORDER_SECONDS) {
+            // Open orders move through the kitchen as they age
+            order.status = ageSeconds < OPEN_ORDER_SECONDS / 4 ? "PLACED"
+                    : ageSeconds < OPEN_ORDER_SECONDS * 2 / 3 ? "COOKING" : "READY";
+        } else {
+            order.status = random.nextDouble() < CANCELLED_SHARE ? "CANCELLED" : "DELIVERED";
+        }
+        double method = random.nextDouble();
+        order.paymentMethod = method < 0.7 ? "CARD" : method < 0.9 ? "CASH" : "PAYPAL";
+        return order;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] shuffledIndexes(int size, SplittableRandom random) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static final class Order {
+        private long id;
+        private LocalDateTime orderDate;
+        private long userId;
+        private int restaurant;
+        private int[] dishes;
+        private int[] quantities;
+        private int itemCount;
+        private int totalPrice;
+        private String status;
+        private String paymentMethod;
+    }
+}
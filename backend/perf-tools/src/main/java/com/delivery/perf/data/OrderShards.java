@@ -0,0 +1,110 @@
+package com.delivery.perf.data;
+
+import com.delivery.common.shard.ShardedIds;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * The order databases the way order-service shards them: orders go to the shard of their user's bucket in the
+ * {@code shard_bucket} directory on shard 0, and ids follow the {@link ShardedIds} layout the service uses, with
+ * sequence values from the same sequences the service draws from. Generated orders are found and moved like
+ * placed ones, and the service never issues their ids again.
+ */
+public final class OrderShards {
+
+    private final List<Connection> connections;
+    private final int[] shardOfBucket;
+
+    private OrderShards(List<Connection> connections, int[] shardOfBucket) {
+        this.connections = connections;
+        this.shardOfBucket = shardOfBucket;
+    }
+
+    /**
+     * Reads the bucket directory, assigning the buckets first if the service has not started on these databases
+     * yet: spread over all shards when they hold no orders, otherwise all on shard 0, like the service does.
+     * {@code connections} are the shards in the service's order.
+     */
+    public static OrderShards load(List<Connection> connections) throws SQLException {
+        if (connections.isEmpty() || connections.size() > ShardedIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("Pass between 1 and " + ShardedIds.MAX_SHARDS + " order databases");
+        }
+        Connection directory = connections.get(0);
+        try (Statement statement = directory.createStatement()) {
+            boolean existingOrders;
+            try (ResultSet resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM orders)")) {
+                resultSet.next();
+                existingOrders = resultSet.getBoolean(1);
+            }
+            try (PreparedStatement assign = directory.prepareStatement(ShardedIds.ASSIGN_BUCKETS)) {
+                assign.setInt(1, ShardedIds.initialSpread(existingOrders, connections.size()));
+                assign.setInt(2, ShardedIds.BUCKETS - 1);
+                assign.executeUpdate();
+            }
+
+            int[] shardOfBucket = new int[ShardedIds.BUCKETS];
+            try (ResultSet resultSet = statement.executeQuery("SELECT bucket, shard, moving FROM shard_bucket")) {
+                while (resultSet.next()) {
+                    int bucket = resultSet.getInt(1);
+                    int shard = resultSet.getInt(2);
+                    if (resultSet.getBoolean(3)) {
+                        throw new IllegalStateException("Bucket " + bucket + " is being moved, retry once it is done");
+                    }
+                    if (shard >= connections.size()) {
+                        throw new IllegalArgumentException("Bucket " + bucket + " is on shard " + shard
+                                + ", pass every order database as --order-db-<shard>");
+                    }
+                    shardOfBucket[bucket] = shard;
+                }
+            }
+            return new OrderShards(connections, shardOfBucket);
+        }
+    }
+
+    public int count() {
+        return connections.size();
+    }
+
+    public Connection connection(int shard) {
+        return connections.get(shard);
+    }
+
+    int shardOfUser(long userId) {
+        return shardOfBucket[ShardedIds.bucketOfUser(userId)];
+    }
+
+    /**
+     * {@code count} unused sequence values of {@code table} on {@code shard}, to be turned into ids by {@link #id}.
+     * Whole blocks are reserved, so the values are unique even while the service takes ids from the same sequence.
+     */
+    long[] takeSequenceValues(int shard, String table, int count) throws SQLException {
+        long[] values = new long[count];
+        if (count == 0) {
+            return values;
+        }
+        int blocks = (count + ShardedIds.SEQUENCE_BLOCK - 1) / ShardedIds.SEQUENCE_BLOCK;
+        try (PreparedStatement statement = connections.get(shard).prepareStatement(
+                "SELECT nextval('" + table + "_sharded_id_seq') FROM generate_series(1, ?)")) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int taken = 0;
+                while (resultSet.next()) {
+                    long blockStart = resultSet.getLong(1);
+                    for (int i = 0; i < ShardedIds.SEQUENCE_BLOCK && taken < count; i++) {
+                        values[taken++] = blockStart + i;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    static long id(long sequenceValue, int shard, long userId) {
+        return ShardedIds.compose(sequenceValue, shard, ShardedIds.bucketOfUser(userId));
+    }
+}
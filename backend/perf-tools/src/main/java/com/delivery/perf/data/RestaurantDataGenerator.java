@@ -0,0 +1,103 @@
+package com.delivery.perf.data;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.SplittableRandom;
+
+/**
+ * Restaurants with Zipf-distributed cuisines and a log-normal menu size around the requested average.
+ */
+public final class RestaurantDataGenerator {
+
+    private static final String[] CUISINES = {
+            "Italian", "Japanese", "American", "Georgian", "Chinese", "Indian", "Mexican", "Thai", "French",
+            "Korean", "Vietnamese", "Greek", "Turkish", "Lebanese", "Spanish"
+    };
+    private static final String[] NAME_PREFIXES = {
+            "Golden", "Little", "Urban", "Royal", "Happy", "Corner", "Green", "Silver", "Old Town", "Sunny"
+    };
+    private static final String[] NAME_SUFFIXES = {"Kitchen", "House", "Bistro", "Grill", "Cafe", "Express", "Diner"};
+    private static final String[] STREETS = {
+            "Main Street", "Central Avenue", "Lenina Street", "Garden Ring", "Sakura Lane", "Spice Road", "Park Lane"
+    };
+    private static final String[] CITIES = {"Moscow", "Saint Petersburg", "Kazan", "Novosibirsk", "Yekaterinburg"};
+    private static final String[] DISH_STYLES = {
+            "Classic", "Spicy", "House", "Grilled", "Crispy", "Smoked", "Garden", "Signature", "Double", "Mini"
+    };
+    private static final String[] DISHES = {
+            "Burger", "Pizza", "Ramen", "Salad", "Soup", "Curry", "Tacos", "Pasta", "Sushi Set", "Wrap", "Bowl",
+            "Steak", "Dumplings", "Noodles", "Pie", "Sandwich"
+    };
+    private static final int DISH_NAMES = DISH_STYLES.length * DISHES.length;
+    // Coprime with DISH_NAMES, so stepping through the names never repeats within a menu
+    private static final int DISH_NAME_STEP = 37;
+    private static final double MENU_SIZE_SIGMA = 0.5;
+
+    private final int restaurants;
+    private final long dishes;
+
+    public RestaurantDataGenerator(int restaurants, long dishes) {
+        this.restaurants = restaurants;
+        this.dishes = dishes;
+    }
+
+    public void generate(Connection connection, SplittableRandom random) throws SQLException, IOException {
+        long restaurantBase = Sequences.lastId(connection, "restaurant");
+        long dishBase = Sequences.lastId(connection, "dish");
+        ZipfSampler cuisines = new ZipfSampler(CUISINES.length, 1.0);
+        double averageMenu = (double) dishes / restaurants;
+
+        int[] menuSizes = new int[restaurants];
+        String[] restaurantCuisines = new String[restaurants];
+        try (CopyWriter restaurantRows = new CopyWriter(connection, "restaurant",
+                "id", "name", "cuisine", "address", "menu_version")) {
+            for (int i = 0; i < restaurants; i++) {
+                long id = restaurantBase + i + 1;
+                // Log-normal with the requested mean
+                double factor = Math.exp(random.nextGaussian() * MENU_SIZE_SIGMA
+                        - MENU_SIZE_SIGMA * MENU_SIZE_SIGMA / 2);
+                menuSizes[i] = (int) Math.max(3, Math.min(DISH_NAMES, Math.round(averageMenu * factor)));
+
+                String cuisine = CUISINES[cuisines.sample(random)];
+                restaurantCuisines[i] = cuisine;
+                restaurantRows.value(id)
+                        .value(NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + " " + cuisine + " "
+                                + NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)] + " " + id)
+                        .value(cuisine)
+                        .value((1 + random.nextInt(500)) + " " + STREETS[random.nextInt(STREETS.length)] + ", "
+                                + CITIES[random.nextInt(CITIES.length)])
+                        .value(0);
+                restaurantRows.endRow();
+            }
+        }
+
+        long dishId = dishBase;
+        try (CopyWriter dishRows = new CopyWriter(connection, "dish",
+                "id", "name", "description", "price", "image_url", "restaurant_id", "daily_limit")) {
+            for (int i = 0; i < restaurants; i++) {
+                int firstName = random.nextInt(DISH_NAMES);
+                for (int d = 0; d < menuSizes[i]; d++) {
+                    int name = (firstName + d * DISH_NAME_STEP) % DISH_NAMES;
+                    String style = DISH_STYLES[name / DISHES.length];
+                    String dish = DISHES[name % DISHES.length];
+                    // Prices in rubles rounded to 10, like the seeded menus
+                    int price = 150 + 10 * random.nextInt(86);
+                    dishRows.value(++dishId)
+                            .value(style + " " + dish)
+                            .value(style + " " + dish.toLowerCase() + ", " + restaurantCuisines[i] + " style")
+                            .value(price)
+                            .value(null)
+                            .value(restaurantBase + i + 1)
+                            // A few dishes are made in limited daily batches
+                            .value(random.nextInt(20) == 0 ? 20 + random.nextInt(80) : null);
+                    dishRows.endRow();
+                }
+            }
+        }
+
+        Sequences.moveSequencePastIds(connection, "restaurant");
+        Sequences.moveSequencePastIds(connection, "dish");
+        System.out.printf("restaurants: %d restaurants, %d dishes%n", restaurants, dishId - dishBase);
+    }
+}
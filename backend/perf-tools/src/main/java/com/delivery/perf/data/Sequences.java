@@ -0,0 +1,52 @@
+package com.delivery.perf.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Generated rows carry explicit ids so rows in other tables and databases can reference them without a
+ * round trip. These helpers keep the ids clear of existing rows and move the id sequences past them afterwards.
+ */
+final class Sequences {
+
+    private Sequences() {
+    }
+
+    /**
+     * Highest id already taken in {@code table}, including ids the application has reserved from the sequence
+     * but not inserted yet.
+     */
+    static long lastId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+            String sequence = sequence(statement, table);
+            long lastValue = queryLong(statement,
+                    "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM " + sequence);
+            return Math.max(maxId, lastValue);
+        }
+    }
+
+    static void moveSequencePastIds(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            String sequence = sequence(statement, table);
+            statement.execute("SELECT setval('" + sequence + "', (SELECT GREATEST(MAX(id), (SELECT last_value FROM "
+                    + sequence + ")) FROM " + table + "))");
+        }
+    }
+
+    private static String sequence(Statement statement, String table) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT pg_get_serial_sequence('" + table + "', 'id')")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
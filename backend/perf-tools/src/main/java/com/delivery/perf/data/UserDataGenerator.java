@@ -0,0 +1,132 @@
+package com.delivery.perf.data;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Users with the USER role and zero to three addresses each. Registrations speed up over the history, so newer
+ * ids are denser in time, and cities follow a Zipf distribution.
+ */
+public final class UserDataGenerator {
+
+    // All generated users log in with "password"
+    private static final String PASSWORD_HASH = "$2a$10$b9Gb.gcFrYUU/wEjELYKlu7sdE0iXwX/TjlYLU6.e6Db1mZQqZeqe";
+    private static final int HISTORY_DAYS = 3 * 365;
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Boris", "Irina", "Dmitry", "Olga", "Sergey", "Maria", "Pavel", "Elena", "Alexey",
+            "Natalia", "Ivan", "Tatiana", "Mikhail", "Yulia", "Andrey", "Ekaterina", "Nikolai", "Svetlana", "Oleg"
+    };
+    private static final String[] LAST_NAMES = {
+            "Ivanov", "Petrov", "Smirnov", "Kuznetsov", "Popov", "Volkov", "Sokolov", "Lebedev", "Kozlov", "Novikov",
+            "Morozov", "Pavlov", "Fedorov", "Orlov", "Egorov", "Nikitin", "Zakharov", "Belov", "Gusev", "Titov"
+    };
+    private static final String[] CITIES = {
+            "Moscow", "Saint Petersburg", "Novosibirsk", "Yekaterinburg", "Kazan", "Nizhny Novgorod", "Chelyabinsk",
+            "Samara", "Omsk", "Rostov-on-Don", "Ufa", "Krasnoyarsk", "Voronezh", "Perm", "Volgograd", "Krasnodar"
+    };
+    private static final String[] STREETS = {
+            "Main Street", "Central Avenue", "Lenina Street", "Garden Ring", "Sakura Lane", "Spice Road",
+            "River Embankment", "Park Lane", "Mira Avenue", "Sadovaya Street", "Pushkin Street", "Station Square"
+    };
+    // Share of users with 0, 1, 2 and 3 saved addresses
+    private static final double[] ADDRESS_COUNT_SHARES = {0.10, 0.55, 0.25, 0.10};
+
+    private final long users;
+    private final LocalDateTime end;
+
+    public UserDataGenerator(long users, LocalDateTime end) {
+        this.users = users;
+        this.end = end;
+    }
+
+    public void generate(Connection connection, SplittableRandom random) throws SQLException, IOException {
+        long userBase = Sequences.lastId(connection, "users");
+        long addressBase = Sequences.lastId(connection, "addresses");
+        long roleId = roleId(connection, "USER");
+        ZipfSampler cities = new ZipfSampler(CITIES.length, 1.0);
+        LocalDateTime start = end.minusDays(HISTORY_DAYS);
+        long historySeconds = HISTORY_DAYS * 86_400L;
+
+        long addressId = addressBase;
+        try (CopyWriter userRows = new CopyWriter(connection, "users",
+                "id", "email", "password_hash", "full_name", "created_at", "updated_at", "version")) {
+            for (long i = 0; i < users; i++) {
+                long id = userBase + i + 1;
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                // Sign-ups grow linearly, so the cumulative count is quadratic in time
+                double position = Math.sqrt((i + random.nextDouble()) / users);
+                LocalDateTime createdAt = start.plusSeconds((long) (position * historySeconds));
+                long secondsSinceCreated = Duration.between(createdAt, end).getSeconds();
+                LocalDateTime updatedAt = createdAt.plusSeconds((long) (random.nextDouble() * secondsSinceCreated));
+
+                userRows.value(id)
+                        .value(firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id + "@example.com")
+                        .value(PASSWORD_HASH)
+                        .value(firstName + " " + lastName)
+                        .value(createdAt)
+                        .value(updatedAt)
+                        .value(0);
+                userRows.endRow();
+            }
+        }
+
+        try (CopyWriter roleRows = new CopyWriter(connection, "user_role", "user_id", "role_id")) {
+            for (long i = 0; i < users; i++) {
+                roleRows.value(userBase + i + 1).value(roleId);
+                roleRows.endRow();
+            }
+        }
+
+        try (CopyWriter addressRows = new CopyWriter(connection, "addresses",
+                "id", "street", "city", "zip", "state", "country", "user_id")) {
+            for (long i = 0; i < users; i++) {
+                int count = addressCount(random);
+                for (int a = 0; a < count; a++) {
+                    addressRows.value(++addressId)
+                            .value((1 + random.nextInt(250)) + " " + STREETS[random.nextInt(STREETS.length)])
+                            .value(CITIES[cities.sample(random)])
+                            .value(String.valueOf(100_000 + random.nextInt(900_000)))
+                            .value(null)
+                            .value("Russia")
+                            .value(userBase + i + 1);
+                    addressRows.endRow();
+                }
+            }
+        }
+
+        Sequences.moveSequencePastIds(connection, "users");
+        Sequences.moveSequencePastIds(connection, "addresses");
+        System.out.printf("users: %d users, %d addresses%n", users, addressId - addressBase);
+    }
+
+    private static int addressCount(SplittableRandom random) {
+        double target = random.nextDouble();
+        for (int count = 0; count < ADDRESS_COUNT_SHARES.length - 1; count++) {
+            target -= ADDRESS_COUNT_SHARES[count];
+            if (target < 0) {
+                return count;
+            }
+        }
+        return ADDRESS_COUNT_SHARES.length - 1;
+    }
+
+    private static long roleId(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM roles WHERE name = ?")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new IllegalStateException("Role " + name + " is missing, run the user-service migrations");
+                }
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
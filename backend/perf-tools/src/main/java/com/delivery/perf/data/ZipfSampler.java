@@ -0,0 +1,42 @@
+package com.delivery.perf.data;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent}. The cumulative
+ * weights are unnormalized, so a prefix of them samples the same distribution over fewer items.
+ */
+public final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Zipf sampler needs at least one item");
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    public int sample(SplittableRandom random) {
+        return sample(random, cumulative.length);
+    }
+
+    /**
+     * Samples among the first {@code size} ranks only.
+     */
+    public int sample(SplittableRandom random, int size) {
+        double target = random.nextDouble() * cumulative[size - 1];
+        int index = Arrays.binarySearch(cumulative, 0, size, target);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
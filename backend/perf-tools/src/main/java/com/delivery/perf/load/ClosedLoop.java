@@ -0,0 +1,136 @@
+package com.delivery.perf.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * A fixed number of connections that each send their next request as soon as the previous response is read.
+ * Requests are numbered across all connections, so {@code requests} can hand each one a different user or email.
+ * Responses are only recorded inside a measured window, which lets one loop run through several phases.
+ */
+public class ClosedLoop {
+
+    private final HttpClient httpClient;
+    private final LongFunction<HttpRequest> requests;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile Window window;
+    private volatile boolean stopped;
+
+    public ClosedLoop(HttpClient httpClient, LongFunction<HttpRequest> requests) {
+        this.httpClient = httpClient;
+        this.requests = requests;
+    }
+
+    public void start(int connections) {
+        for (int i = 0; i < connections; i++) {
+            next();
+        }
+    }
+
+    /**
+     * Records every response that arrives in the next {@code seconds}.
+     */
+    public Window measure(int seconds) throws InterruptedException {
+        Window measured = begin();
+        TimeUnit.SECONDS.sleep(seconds);
+        end(measured);
+        return measured;
+    }
+
+    /**
+     * Records every response from now on, until {@link #end}; for windows that run alongside another loop's.
+     */
+    public Window begin() {
+        Window measured = new Window();
+        window = measured;
+        return measured;
+    }
+
+    public void end(Window measured) {
+        window = null;
+        measured.elapsedNanos = System.nanoTime() - measured.startNanos;
+    }
+
+    /**
+     * Sends no further requests; those in flight are abandoned.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void next() {
+        if (stopped) {
+            return;
+        }
+        HttpRequest request = requests.apply(sequence.getAndIncrement());
+        long start = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    Window current = window;
+                    if (current != null) {
+                        if (failure != null) {
+                            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                            current.errors.computeIfAbsent(cause.getClass().getSimpleName(), key -> new LongAdder())
+                                    .increment();
+                        } else {
+                            current.latencies.record(System.nanoTime() - start);
+                            current.statuses.computeIfAbsent(response.statusCode(), key -> new LongAdder())
+                                    .increment();
+                        }
+                    }
+                    if (failure != null) {
+                        // A refused or reset connection fails at once; retrying in a tight loop only burns the client
+                        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(this::next);
+                    } else {
+                        next();
+                    }
+                });
+    }
+
+    /**
+     * The responses of one measured window. {@code errors} counts requests that got no response at all,
+     * by exception type.
+     */
+    public static class Window {
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final long startNanos = System.nanoTime();
+        private volatile long elapsedNanos;
+
+        public long responses() {
+            return latencies.count();
+        }
+
+        public double responsesPerSecond() {
+            return responses() / (elapsedNanos / 1e9);
+        }
+
+        public long percentileMs(double percentile) {
+            return latencies.percentile(percentile);
+        }
+
+        public Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+
+        public Map<String, Long> errors() {
+            Map<String, Long> counts = new TreeMap<>();
+            errors.forEach((error, count) -> counts.put(error, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.delivery.perf.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Response times in whole milliseconds up to one minute; slower responses land in the last bucket.
+ * Lock-free, so the client threads completing requests can record without contending.
+ */
+public class LatencyHistogram {
+
+    private static final int MAX_MS = 60_000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAX_MS + 1);
+
+    public void record(long nanos) {
+        counts.incrementAndGet((int) Math.min(nanos / 1_000_000, MAX_MS));
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Smallest millisecond value that at least {@code percentile} percent of the responses did not exceed.
+     */
+    public long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return i;
+            }
+        }
+        return MAX_MS;
+    }
+}
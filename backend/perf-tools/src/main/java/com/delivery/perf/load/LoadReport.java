@@ -0,0 +1,28 @@
+package com.delivery.perf.load;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One benchmark run, written as JSON so the servlet and reactive runs can be put side by side.
+ * {@code errors} counts requests that got no response at all, by exception type. {@code serverGrowth} is
+ * {@code serverPeaks} minus {@code serverIdle}, what the service took on for the load.
+ */
+public record LoadReport(String label,
+                         String baseUrl,
+                         List<String> paths,
+                         Instant createdAt,
+                         int connections,
+                         int durationSeconds,
+                         long requests,
+                         double requestsPerSecond,
+                         Map<Integer, Long> statuses,
+                         Map<String, Long> errors,
+                         long p50Ms,
+                         long p99Ms,
+                         long p999Ms,
+                         Map<String, Double> serverIdle,
+                         Map<String, Double> serverPeaks,
+                         Map<String, Double> serverGrowth) {
+}
@@ -0,0 +1,18 @@
+package com.delivery.perf.load;
+
+import java.time.Instant;
+
+/**
+ * One login storm run: the probe endpoint alone, then the same probes and the logins while the storm runs.
+ */
+public record LoginStormReport(String label,
+                               String baseUrl,
+                               String probePath,
+                               Instant createdAt,
+                               int users,
+                               int loginConnections,
+                               int probeConnections,
+                               PhaseReport probesBefore,
+                               PhaseReport probesDuringStorm,
+                               PhaseReport logins) {
+}
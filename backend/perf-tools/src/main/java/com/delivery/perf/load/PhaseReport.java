@@ -0,0 +1,20 @@
+package com.delivery.perf.load;
+
+import java.util.Map;
+
+/**
+ * The responses of one kind of request during one phase of a benchmark, see {@link ClosedLoop.Window}.
+ */
+public record PhaseReport(long requests,
+                          double requestsPerSecond,
+                          Map<Integer, Long> statuses,
+                          Map<String, Long> errors,
+                          long p50Ms,
+                          long p99Ms,
+                          long p999Ms) {
+
+    public static PhaseReport of(ClosedLoop.Window window) {
+        return new PhaseReport(window.responses(), window.responsesPerSecond(), window.statuses(), window.errors(),
+                window.percentileMs(50), window.percentileMs(99), window.percentileMs(99.9));
+    }
+}
@@ -0,0 +1,88 @@
+package com.delivery.perf.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Polls a service's {@code /actuator/prometheus} and keeps the peak of a few JVM gauges. Every series of a metric is
+ * summed, e.g. all heap and non-heap pools of {@code jvm_memory_used_bytes}; a label filter narrows it down.
+ * An {@link #idle} scrape before the load starts gives what the process holds without it.
+ */
+public class PrometheusSampler {
+
+    /**
+     * Reported name, then the metric and an optional label that must appear in the series.
+     */
+    private static final Map<String, String[]> GAUGES = Map.of(
+            "heapUsedBytes", new String[]{"jvm_memory_used_bytes", "area=\"heap\""},
+            // Old generation after the last collection, i.e. what the load keeps alive rather than churns through
+            "liveDataBytes", new String[]{"jvm_gc_live_data_size_bytes", null},
+            "memoryUsedBytes", new String[]{"jvm_memory_used_bytes", null},
+            "directBufferBytes", new String[]{"jvm_buffer_memory_used_bytes", "id=\"direct\""},
+            "liveThreads", new String[]{"jvm_threads_live_threads", null},
+            "processCpuUsage", new String[]{"process_cpu_usage", null});
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI uri;
+    private final Map<String, Double> peaks = new LinkedHashMap<>();
+
+    public PrometheusSampler(String url) {
+        this.uri = URI.create(url);
+    }
+
+    /**
+     * Failed scrapes are skipped: under overload the actuator competes with the benchmark for the same server.
+     */
+    public synchronized void sample() {
+        scrape().forEach((name, value) -> peaks.merge(name, value, Math::max));
+    }
+
+    /**
+     * The gauges right now, e.g. before the load starts; empty if the scrape fails.
+     */
+    public Map<String, Double> idle() {
+        return scrape();
+    }
+
+    public synchronized Map<String, Double> peaks() {
+        return new LinkedHashMap<>(peaks);
+    }
+
+    private Map<String, Double> scrape() {
+        String body;
+        try {
+            body = httpClient.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+        } catch (IOException e) {
+            return Map.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        }
+        Map<String, Double> values = new LinkedHashMap<>();
+        GAUGES.forEach((name, gauge) -> values.put(name, sum(body, gauge[0], gauge[1])));
+        return values;
+    }
+
+    private static double sum(String body, String metric, String label) {
+        double total = 0;
+        for (String line : body.split("\n")) {
+            if (!line.startsWith(metric + "{") && !line.startsWith(metric + " ")) {
+                continue;
+            }
+            if (label != null && !line.contains(label)) {
+                continue;
+            }
+            total += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+        }
+        return total;
+    }
+}
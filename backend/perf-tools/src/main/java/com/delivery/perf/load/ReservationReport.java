@@ -0,0 +1,25 @@
+package com.delivery.perf.load;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One run of the hot-dish reservation benchmark. {@code reserved} is the number of portions the run got, which may
+ * never exceed {@code dailyLimit}; {@code errors} counts requests that got no response at all, by exception type.
+ */
+public record ReservationReport(String label,
+                                List<String> baseUrls,
+                                Instant createdAt,
+                                long dishId,
+                                int dailyLimit,
+                                int concurrency,
+                                long requests,
+                                double requestsPerSecond,
+                                long reserved,
+                                Map<Integer, Long> statuses,
+                                Map<String, Long> errors,
+                                long p50Ms,
+                                long p99Ms,
+                                long p999Ms) {
+}
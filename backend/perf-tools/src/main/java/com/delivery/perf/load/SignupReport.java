@@ -0,0 +1,17 @@
+package com.delivery.perf.load;
+
+import java.time.Instant;
+
+/**
+ * One signup spike run. {@code signupsPerSecond} counts only the 201 responses; duplicates answered 409 and shed
+ * requests are in {@code registrations.statuses}.
+ */
+public record SignupReport(String label,
+                           String baseUrl,
+                           Instant createdAt,
+                           int connections,
+                           int addresses,
+                           int duplicatePercent,
+                           double signupsPerSecond,
+                           PhaseReport registrations) {
+}
@@ -0,0 +1,119 @@
+package com.delivery.perf.plan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@code EXPLAIN (ANALYZE, BUFFERS)} for a {@link PlanCase} and checks the plan. Every statement runs in
+ * a transaction that is rolled back, so modifying queries can be explained against the seeded data too.
+ */
+public class PlanAnalyzer {
+
+    private final Connection connection;
+    private final ObjectMapper objectMapper;
+    private final long seqScanMinRows;
+    private final Map<String, Long> tableRows = new HashMap<>();
+
+    public PlanAnalyzer(Connection connection, ObjectMapper objectMapper, long seqScanMinRows) throws SQLException {
+        this.connection = connection;
+        this.objectMapper = objectMapper;
+        this.seqScanMinRows = seqScanMinRows;
+        this.connection.setAutoCommit(false);
+    }
+
+    public PlanResult analyze(PlanCase planCase) throws Exception {
+        try {
+            Object[] parameters = parameters(planCase);
+            JsonNode explain = explain(planCase, parameters).get(0);
+            JsonNode plan = explain.get("Plan");
+
+            List<String> seqScans = new ArrayList<>();
+            collectSeqScans(plan, seqScans);
+
+            List<String> violations = new ArrayList<>();
+            for (String relation : seqScans) {
+                if (!planCase.allowSeqScan().contains(relation) && rows(relation) >= seqScanMinRows) {
+                    violations.add("Seq Scan on " + relation + " (" + rows(relation) + " rows)");
+                }
+            }
+
+            long hit = plan.path("Shared Hit Blocks").asLong();
+            long read = plan.path("Shared Read Blocks").asLong();
+            if (hit + read > planCase.maxBuffers()) {
+                violations.add("read " + (hit + read) + " buffers, budget " + planCase.maxBuffers());
+            }
+
+            return new PlanResult(planCase.name(), planCase.repositoryMethod(), plan.path("Node Type").asText(),
+                    List.copyOf(seqScans), hit, read,
+                    explain.path("Planning Time").asDouble(), explain.path("Execution Time").asDouble(),
+                    List.copyOf(violations));
+        } finally {
+            connection.rollback();
+        }
+    }
+
+    private Object[] parameters(PlanCase planCase) throws SQLException {
+        if (planCase.parameters() == null) {
+            return new Object[0];
+        }
+        try (PreparedStatement statement = connection.prepareStatement(planCase.parameters());
+             ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new IllegalStateException(planCase.name() + ": parameter query returned no rows, seed first");
+            }
+            Object[] values = new Object[resultSet.getMetaData().getColumnCount()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = resultSet.getObject(i + 1);
+            }
+            return values;
+        }
+    }
+
+    private JsonNode explain(PlanCase planCase, Object[] parameters) throws Exception {
+        String sql = "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + planCase.sql();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1));
+            }
+        }
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    private long rows(String relation) throws SQLException {
+        Long cached = tableRows.get(relation);
+        if (cached != null) {
+            return cached;
+        }
+        // Planner statistics, so run ANALYZE after seeding
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = ?::regclass")) {
+            statement.setString(1, relation);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                long rows = resultSet.next() ? Math.max(0, resultSet.getLong(1)) : 0;
+                tableRows.put(relation, rows);
+                return rows;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.delivery.perf.plan;
+
+import java.util.List;
+
+/**
+ * One repository query to explain. {@code sql} is the statement as Hibernate renders it, which each service's
+ * {@code *RepositoryPlanCaseTest} checks; {@code parameters} a query returning one row whose columns are bound to its
+ * placeholders in order, picked to be a realistic worst case (the busiest user, the largest menu).
+ */
+public record PlanCase(String name,
+                       String repositoryMethod,
+                       String sql,
+                       String parameters,
+                       List<String> allowSeqScan,
+                       long maxBuffers) {
+
+    public PlanCase {
+        allowSeqScan = allowSeqScan != null ? allowSeqScan : List.of();
+    }
+}
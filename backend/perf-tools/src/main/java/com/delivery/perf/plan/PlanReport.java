@@ -0,0 +1,14 @@
+package com.delivery.perf.plan;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Results of one run, written as JSON so runs of different releases can be compared.
+ */
+public record PlanReport(String service,
+                         Instant createdAt,
+                         int scale,
+                         long seqScanMinRows,
+                         List<PlanResult> results) {
+}
@@ -0,0 +1,25 @@
+package com.delivery.perf.plan;
+
+import java.util.List;
+
+public record PlanResult(String name,
+                         String repositoryMethod,
+                         String rootNode,
+                         List<String> seqScans,
+                         long sharedHitBlocks,
+                         long sharedReadBlocks,
+                         double planningTimeMs,
+                         double executionTimeMs,
+                         List<String> violations) {
+
+    public long buffers() {
+        return sharedHitBlocks + sharedReadBlocks;
+    }
+
+    public PlanResult withViolation(String violation) {
+        List<String> all = new java.util.ArrayList<>(violations);
+        all.add(violation);
+        return new PlanResult(name, repositoryMethod, rootNode, seqScans, sharedHitBlocks, sharedReadBlocks,
+                planningTimeMs, executionTimeMs, List.copyOf(all));
+    }
+}
@@ -0,0 +1,83 @@
+package com.delivery.perf.plan;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The queries a service declares in its repository package, read from the sources: every method declared on a
+ * {@code *Repository} interface as {@code Repository.method}, and every {@code Specification} factory of a
+ * {@code *Specifications} class as {@code Repository.findBy(factory)}. Inherited methods such as
+ * {@code findAll} are left to the plan cases that need them.
+ */
+public final class RepositoryMethods {
+
+    // Comments, text blocks and string literals, which may contain anything that looks like a declaration
+    private static final Pattern NOISE = Pattern.compile(
+            "/\\*.*?\\*/|//[^\\n]*|\"\"\".*?\"\"\"|\"(?:\\\\.|[^\"\\\\])*\"", Pattern.DOTALL);
+    // Annotations whose arguments could be taken for a method, such as @EntityGraph(attributePaths = {...})
+    private static final Pattern ANNOTATION = Pattern.compile("@\\w+(?:\\s*\\([^()]*\\))?");
+    private static final Pattern REPOSITORY = Pattern.compile("\\binterface\\s+(\\w+Repository)\\b");
+    private static final Pattern ABSTRACT_METHOD = Pattern.compile("\\b(\\w+)\\s*\\([^(){};]*\\)\\s*;");
+    private static final Pattern SPECIFICATIONS = Pattern.compile("\\bclass\\s+(\\w+)Specifications\\b");
+    private static final Pattern SPECIFICATION_FACTORY =
+            Pattern.compile("\\bpublic\\s+static\\s+Specification\\s*<[^>]*>\\s+(\\w+)\\s*\\(");
+
+    private RepositoryMethods() {
+    }
+
+    public static Set<String> declaredIn(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("No repository sources in " + directory + ", pass --repositories");
+        }
+        Set<String> methods = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).toList()) {
+                String source = ANNOTATION.matcher(NOISE.matcher(Files.readString(file)).replaceAll(""))
+                        .replaceAll("");
+                Matcher repository = REPOSITORY.matcher(source);
+                if (repository.find()) {
+                    Matcher method = ABSTRACT_METHOD.matcher(source.substring(source.indexOf('{')));
+                    while (method.find()) {
+                        methods.add(repository.group(1) + "." + method.group(1));
+                    }
+                }
+                Matcher specifications = SPECIFICATIONS.matcher(source);
+                if (specifications.find()) {
+                    Matcher factory = SPECIFICATION_FACTORY.matcher(source);
+                    while (factory.find()) {
+                        methods.add(specifications.group(1) + "Repository.findBy(" + factory.group(1) + ")");
+                    }
+                }
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * The methods of {@code declared} that no plan case explains. A case covers a method by naming it in
+     * {@code repositoryMethod}, optionally followed by a note such as {@code " (count)"}.
+     */
+    public static List<String> withoutPlanCase(Set<String> declared, Collection<PlanCase> planCases) {
+        Set<String> covered = planCases.stream()
+                .map(PlanCase::repositoryMethod)
+                .map(method -> method.contains(" (") ? method.substring(0, method.indexOf(" (")) : method)
+                .collect(Collectors.toSet());
+        List<String> missing = new ArrayList<>();
+        for (String method : declared) {
+            if (!covered.contains(method)) {
+                missing.add(method);
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,23 @@
+-- Synthetic orders for query plan checks; ${scale} = 1 is about the size of a large city
+-- Orders of today are still open, older ones were delivered or cancelled, with the statuses OrderService uses
+INSERT INTO orders (status, order_date, user_id, restaurant_id, total_price)
+SELECT CASE
+           WHEN g % 365 = 0 THEN (ARRAY ['PLACED', 'COOKING', 'READY'])[(1 + g % 3)::int]
+           WHEN g % 6 = 5 THEN 'CANCELLED'
+           ELSE 'DELIVERED'
+           END,
+       now() - (g % 365) * interval '1 day' - (g % 86400) * interval '1 second',
+       1 + (g * 7919) % (200000 * ${scale}),
+       1 + (g * 104729) % (20000 * ${scale}),
+       1000 + g % 5000
+FROM generate_series(1::bigint, 1000000 * ${scale}) g;
+
+INSERT INTO order_item (order_id, dish_id, quantity, price)
+SELECT o.id, 1 + (o.id * 31 + i) % (400000 * ${scale}), 1 + i % 3, 300 + (o.id + i) % 2000
+FROM orders o
+         CROSS JOIN generate_series(1, 3) i;
+
+INSERT INTO payment (order_id, method, amount, status)
+SELECT o.id, CASE WHEN o.id % 3 = 0 THEN 'CASH' ELSE 'CARD' END, o.total_price,
+       CASE WHEN o.status = 'CANCELLED' THEN 'REFUNDED' ELSE 'PAID' END
+FROM orders o;
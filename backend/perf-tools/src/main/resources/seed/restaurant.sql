@@ -0,0 +1,29 @@
+-- Synthetic catalog for query plan checks; ${scale} = 1 is about the size of a large city
+INSERT INTO restaurant (name, cuisine, address, menu_version)
+SELECT 'Seed restaurant ' || g,
+       (ARRAY ['italian', 'japanese', 'georgian', 'mexican', 'indian', 'thai', 'french', 'chinese',
+               'american', 'greek', 'turkish', 'korean', 'vietnamese', 'spanish', 'lebanese'])[1 + g % 15],
+       g || ' Seed street',
+       0
+FROM generate_series(1, 20000 * ${scale}) g;
+
+INSERT INTO dish (name, description, price, image_url, restaurant_id, daily_limit)
+SELECT 'Dish ' || r.id || '-' || d,
+       'Seeded dish',
+       300 + (r.id * 37 + d * 11) % 2000,
+       NULL,
+       r.id,
+       CASE WHEN d % 10 = 0 THEN 50 END
+FROM restaurant r
+         CROSS JOIN generate_series(1, 20) d
+WHERE r.name LIKE 'Seed restaurant %';
+
+-- Published over the last 25 hours: the retention window plus one hourly cleanup
+INSERT INTO outbox_event (topic, event_key, payload, created_at, published_at)
+SELECT 'menu-changed', (g % 20000)::text, '{}',
+       now() - g * interval '450 milliseconds' / ${scale}, now() - g * interval '450 milliseconds' / ${scale}
+FROM generate_series(1, 200000 * ${scale}) g;
+
+INSERT INTO outbox_event (topic, event_key, payload, created_at, published_at)
+SELECT 'menu-changed', g::text, '{}', now(), NULL
+FROM generate_series(1, 100) g;
@@ -0,0 +1,28 @@
+-- Synthetic users for query plan checks; ${scale} = 1 is about the size of a large city
+INSERT INTO users (email, password_hash, full_name, created_at, updated_at, version)
+SELECT 'seed.user' || g || '@example.com',
+       '$2a$10$seedseedseedseedseedseedseedseedseedseedseedseedseed',
+       (ARRAY ['Anna', 'Boris', 'Irina', 'Dmitry', 'Olga', 'Sergey', 'Maria', 'Pavel'])[1 + g % 8] || ' ' ||
+       (ARRAY ['Ivanova', 'Petrov', 'Smirnova', 'Kuznetsov', 'Popova', 'Volkov', 'Sokolova'])[1 + g % 7] || ' ' || g,
+       now() - (g % 1000) * interval '1 day',
+       now() - (g % 100) * interval '1 day',
+       0
+FROM generate_series(1, 500000 * ${scale}) g;
+
+INSERT INTO user_role (user_id, role_id)
+SELECT u.id, r.id
+FROM users u
+         JOIN roles r ON r.name = CASE WHEN u.id % 5000 = 0 THEN 'ADMIN' ELSE 'USER' END
+WHERE u.email LIKE 'seed.user%';
+
+INSERT INTO refresh_token_family (id, user_id, current_jti, revoked, expires_at, created_at)
+SELECT md5('family' || u.id), u.id, md5('jti' || u.id), u.id % 20 = 0,
+       now() + (u.id % 40 - 10) * interval '1 day', now() - (u.id % 30) * interval '1 day'
+FROM users u
+WHERE u.email LIKE 'seed.user%' AND u.id % 2 = 0;
+
+-- Updated over the last 30 minutes: the retention window plus one cleanup interval
+INSERT INTO token_revocation (user_id, revoked_before, updated_at)
+SELECT u.id, extract(epoch FROM now())::bigint - u.id % 1800, now() - (u.id % 1800) * interval '1 second'
+FROM users u
+WHERE u.email LIKE 'seed.user%' AND u.id % 10 = 0;
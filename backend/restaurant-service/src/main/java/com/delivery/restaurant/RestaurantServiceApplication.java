@@ -1,9 +1,15 @@
 package com.delivery.restaurant;
 
+import com.delivery.common.sql.SqlStatisticsConfig;
+import com.delivery.common.tracing.TracingConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import({SqlStatisticsConfig.class, TracingConfig.class})
+@EnableScheduling
 public class RestaurantServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(RestaurantServiceApplication.class, args);
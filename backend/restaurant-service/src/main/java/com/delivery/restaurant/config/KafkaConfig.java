@@ -0,0 +1,24 @@
+package com.delivery.restaurant.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${app.events.topics.partitions}")
+    private int partitions;
+
+    @Bean
+    public NewTopic menuChangedTopic(@Value("${app.events.topics.menu}") String topic) {
+        return TopicBuilder.name(topic).partitions(partitions).build();
+    }
+
+    @Bean
+    public NewTopic restaurantChangedTopic(@Value("${app.events.topics.restaurant}") String topic) {
+        return TopicBuilder.name(topic).partitions(partitions).build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.delivery.restaurant.config;
+
+import com.delivery.restaurant.mapper.DishMapper;
+import com.delivery.restaurant.mapper.RestaurantMapper;
+import com.delivery.restaurant.reactive.ReactiveCatalogHandler;
+import com.delivery.restaurant.reactive.ReactiveCatalogRepository;
+import com.delivery.restaurant.reactive.ReactiveCatalogServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.time.Duration;
+
+/**
+ * Public catalog reads on WebFlux and R2DBC, served next to the servlet stack on app.catalog.reactive.port.
+ * Only built with the reactive-catalog profile; Boot's own R2DBC auto-configuration stays excluded, so JPA
+ * keeps the only transaction manager.
+ */
+@Configuration
+@Profile("reactive-catalog")
+public class ReactiveCatalogConfig {
+
+    @Bean
+    public ReactiveCatalogRepository reactiveCatalogRepository(
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.catalog.reactive.pool-size}") int poolSize,
+            @Value("${spring.datasource.hikari.connection-timeout}") long connectionTimeoutMs,
+            RestaurantMapper restaurantMapper,
+            DishMapper dishMapper,
+            MeterRegistry meterRegistry) {
+        // The database JPA uses: jdbc:postgresql://host:port/db becomes r2dbc:postgresql://host:port/db
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(jdbcUrl.replaceFirst("^jdbc:", "r2dbc:"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .name("catalog-r2dbc")
+                .maxSize(poolSize)
+                .maxAcquireTime(Duration.ofMillis(connectionTimeoutMs))
+                .build());
+        // r2dbc.pool.* metrics, which Boot only binds for ConnectionFactory beans
+        new ConnectionPoolMetrics(connectionPool, "catalog-r2dbc", Tags.empty()).bindTo(meterRegistry);
+        return new ReactiveCatalogRepository(connectionPool, restaurantMapper, dishMapper);
+    }
+
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(ReactiveCatalogRepository reactiveCatalogRepository,
+                                                       ObjectMapper objectMapper,
+                                                       @Value("${app.catalog.reactive.port}") int port) {
+        ReactiveCatalogHandler handler = new ReactiveCatalogHandler(reactiveCatalogRepository);
+        // Boot's ObjectMapper, so both stacks write the same JSON
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveCatalogServer(RouterFunctions.toHttpHandler(RouterFunctions.route()
+                .GET("/restaurants", handler::getRestaurants)
+                .GET("/restaurants/{restaurantId}/dishes", handler::getRestaurantDishes)
+                .GET("/restaurants/{id}", handler::getRestaurant)
+                .build(), strategies), port);
+    }
+}
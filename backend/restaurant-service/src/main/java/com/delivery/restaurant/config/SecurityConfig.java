@@ -1,20 +1,27 @@
 package com.delivery.restaurant.config;
 
+import com.delivery.restaurant.filter.InternalTokenFilter;
 import com.delivery.restaurant.filter.JwtAuthenticationFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 
@@ -27,7 +34,27 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * Endpoints for other services. Matched before the chain below, so user tokens and anonymous calls never reach
+     * them; only the shared internal token does.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain internalFilterChain(HttpSecurity http,
+                                                   @Value("${app.security.internal-token}") String internalToken)
+            throws Exception {
+        http
+                .securityMatcher("/internal/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("SERVICE"))
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(this::unauthorized))
+                .addFilterBefore(new InternalTokenFilter(internalToken), UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -38,6 +65,9 @@ public class SecurityConfig {
                                 "/admin/**",
                                 "/error",
                                 "/restaurants/**",
+                                "/images/**",
+                                "/actuator/health/**",
+                                "/actuator/prometheus",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/v3/api-docs/**"
@@ -51,22 +81,25 @@ public class SecurityConfig {
                                     request.getRequestURI(), accessDeniedException.getMessage());
                             throw accessDeniedException;
                         })
-                        .authenticationEntryPoint((request, response, authException) -> {
-                            log.warn("Authentication required for: {}", request.getRequestURI());
-                            response.setStatus(HttpStatus.UNAUTHORIZED.value());
-                            response.setContentType("application/json");
-                            String body = String.format(
-                                    "{\"timestamp\":\"%s\",\"status\":401,\"error\":\"Unauthorized\",\"message\":\"Authentication required\"}",
-                                    LocalDateTime.now()
-                            );
-                            response.getWriter().write(body);
-                        })
+                        .authenticationEntryPoint(this::unauthorized)
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private void unauthorized(HttpServletRequest request, HttpServletResponse response,
+                              AuthenticationException authException) throws IOException {
+        log.warn("Authentication required for: {}", request.getRequestURI());
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType("application/json");
+        String body = String.format(
+                "{\"timestamp\":\"%s\",\"status\":401,\"error\":\"Unauthorized\",\"message\":\"Authentication required\"}",
+                LocalDateTime.now()
+        );
+        response.getWriter().write(body);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
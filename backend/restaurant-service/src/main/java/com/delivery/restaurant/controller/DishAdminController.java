@@ -1,5 +1,6 @@
 package com.delivery.restaurant.controller;
 
+import com.delivery.restaurant.dto.request.DailyLimitRequestDto;
 import com.delivery.restaurant.dto.request.DishRequestDto;
 import com.delivery.restaurant.dto.response.DishResponseDto;
 import com.delivery.restaurant.service.DishAdminService;
@@ -13,8 +14,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 
 
 @RestController
@@ -131,4 +136,76 @@ public class DishAdminController {
     public void deleteDish(@PathVariable Long id) {
         dishAdminService.deleteDish(id);
     }
+
+    @Operation(
+            summary = "Upload image",
+            description = "Upload dish image to the local image store",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Uploaded",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DishResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "File is empty or not a JPEG, PNG or GIF image",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Dish with this id not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping(value = "/dishes/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public DishResponseDto uploadImage(@PathVariable Long id,
+                                       @RequestParam("file") MultipartFile file) throws IOException {
+        return dishAdminService.uploadImage(id, file);
+    }
+
+    @Operation(
+            summary = "Daily limit",
+            description = "Set how many portions of the dish may be sold per day",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Updated",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DishResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data or validation error",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Dish with this id not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PutMapping("/dishes/{id}/daily-limit")
+    @ResponseStatus(HttpStatus.OK)
+    public DishResponseDto updateDailyLimit(@PathVariable Long id,
+                                            @Valid @RequestBody DailyLimitRequestDto dailyLimitRequest) {
+        return dishAdminService.updateDailyLimit(id, dailyLimitRequest.getDailyLimit());
+    }
 }
@@ -0,0 +1,57 @@
+package com.delivery.restaurant.controller;
+
+import com.delivery.common.sql.QueryBudget;
+import com.delivery.restaurant.config.SmileConfig;
+import com.delivery.restaurant.dto.response.RestaurantResponseDto;
+import com.delivery.restaurant.service.RestaurantPublicService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/restaurants")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SERVICE')")
+@Tag(name = "Internal restaurant controller", description = "Restaurant menus for other services")
+public class InternalRestaurantController {
+
+    private final RestaurantPublicService restaurantPublicService;
+
+    @Operation(
+            summary = "Get restaurant",
+            description = "Get restaurant with its menu as Smile or JSON, depending on the Accept header"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Restaurant found",
+                    content = {
+                            @Content(
+                                    mediaType = SmileConfig.APPLICATION_SMILE,
+                                    schema = @Schema(implementation = RestaurantResponseDto.class)),
+                            @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = RestaurantResponseDto.class))
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Restaurant with this id not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @QueryBudget(1)
+    @GetMapping(value = "/{id}", produces = {SmileConfig.APPLICATION_SMILE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public RestaurantResponseDto getRestaurant(@PathVariable Long id) {
+        return restaurantPublicService.getRestaurant(id);
+    }
+}
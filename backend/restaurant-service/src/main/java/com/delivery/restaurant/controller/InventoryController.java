@@ -0,0 +1,79 @@
+package com.delivery.restaurant.controller;
+
+import com.delivery.restaurant.dto.request.ReservationRequestDto;
+import com.delivery.restaurant.inventory.DishInventory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/inventory")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SERVICE')")
+@Tag(name = "Inventory controller", description = "Reserve daily dish portions for orders")
+public class InventoryController {
+
+    private final DishInventory dishInventory;
+
+    @Operation(
+            summary = "Reserve",
+            description = "Reserve portions for all order items or none of them"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Reserved",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data or validation error",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Dish with this id not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Dish is sold out for today",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping("/reservations")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void reserve(@Valid @RequestBody ReservationRequestDto reservationRequest) {
+        dishInventory.reserve(reservationRequest.getItems());
+    }
+
+    @Operation(
+            summary = "Release",
+            description = "Return reserved portions of a failed or cancelled order"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Released",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data or validation error",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping("/reservations/release")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void release(@Valid @RequestBody ReservationRequestDto reservationRequest) {
+        dishInventory.release(reservationRequest.getItems());
+    }
+}
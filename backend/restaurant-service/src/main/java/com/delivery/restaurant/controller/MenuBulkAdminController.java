@@ -0,0 +1,163 @@
+package com.delivery.restaurant.controller;
+
+import com.delivery.restaurant.dto.bulk.BulkFormat;
+import com.delivery.restaurant.dto.response.ImportResultDto;
+import com.delivery.restaurant.service.MenuBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/admin/restaurants")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Menu bulk admin controller", description = "Admin import and export whole menus")
+public class MenuBulkAdminController {
+
+    private final MenuBulkService menuBulkService;
+
+    @Operation(
+            summary = "Import restaurants",
+            description = "Create or update restaurants from a CSV or NDJSON upload",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Imported",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportResultDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "415",
+                    description = "Upload is neither CSV nor NDJSON",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseStatus(HttpStatus.OK)
+    public ImportResultDto importRestaurants(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                             InputStream body) throws IOException {
+        return menuBulkService.importRestaurants(body, BulkFormat.fromContentType(contentType));
+    }
+
+    @Operation(
+            summary = "Export restaurants",
+            description = "Stream all restaurants as CSV or NDJSON",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exported"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRestaurants(
+            @RequestParam(defaultValue = "csv") String format) {
+        BulkFormat bulkFormat = BulkFormat.fromName(format);
+        return attachment("restaurants", bulkFormat, menuBulkService.exportRestaurants(bulkFormat));
+    }
+
+    @Operation(
+            summary = "Import menu",
+            description = "Create or update restaurant dishes from a CSV or NDJSON upload",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Imported",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ImportResultDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Restaurant with this id not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "415",
+                    description = "Upload is neither CSV nor NDJSON",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping(value = "/{restaurantId}/dishes/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseStatus(HttpStatus.OK)
+    public ImportResultDto importDishes(@PathVariable Long restaurantId,
+                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                        InputStream body) throws IOException {
+        return menuBulkService.importDishes(restaurantId, body, BulkFormat.fromContentType(contentType));
+    }
+
+    @Operation(
+            summary = "Export menu",
+            description = "Stream restaurant dishes as CSV or NDJSON",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exported"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Restaurant with this id not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @GetMapping("/{restaurantId}/dishes/export")
+    public ResponseEntity<StreamingResponseBody> exportDishes(@PathVariable Long restaurantId,
+                                                              @RequestParam(defaultValue = "csv") String format) {
+        BulkFormat bulkFormat = BulkFormat.fromName(format);
+        return attachment("restaurant-" + restaurantId + "-dishes", bulkFormat,
+                menuBulkService.exportDishes(restaurantId, bulkFormat));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, BulkFormat format,
+                                                             StreamingResponseBody body) {
+        String filename = name + (format == BulkFormat.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -1,5 +1,6 @@
 package com.delivery.restaurant.controller;
 
+import com.delivery.common.sql.QueryBudget;
 import com.delivery.restaurant.dto.response.DishResponseDto;
 import com.delivery.restaurant.dto.response.RestaurantResponseDto;
 import com.delivery.restaurant.service.RestaurantPublicService;
@@ -36,6 +37,7 @@ public class RestaurantPublicController {
                             schema = @Schema(implementation = RestaurantResponseDto.class))
             )
     })
+    @QueryBudget(3)
     @GetMapping("")
     @ResponseStatus(HttpStatus.OK)
     public Page<RestaurantResponseDto> getRestaurants(
@@ -65,6 +67,7 @@ public class RestaurantPublicController {
                     content = @Content(schema = @Schema(hidden = true))
             ),
     })
+    @QueryBudget(1)
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public RestaurantResponseDto getRestaurant(@PathVariable Long id) {
@@ -89,6 +92,7 @@ public class RestaurantPublicController {
                     content = @Content(schema = @Schema(hidden = true))
             ),
     })
+    @QueryBudget(2)
     @GetMapping("/{restaurantId}/dishes")
     @ResponseStatus(HttpStatus.OK)
     public List<DishResponseDto> getRestaurantDishes(@PathVariable Long restaurantId) {
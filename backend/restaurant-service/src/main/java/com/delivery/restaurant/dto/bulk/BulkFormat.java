@@ -0,0 +1,41 @@
+package com.delivery.restaurant.dto.bulk;
+
+import com.delivery.restaurant.exception.ApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+public enum BulkFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    BulkFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return MediaType.parseMediaType(mediaType);
+    }
+
+    public static BulkFormat fromName(String name) {
+        for (BulkFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new ApiException("Unsupported format: " + name, HttpStatus.BAD_REQUEST);
+    }
+
+    public static BulkFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (BulkFormat format : values()) {
+                if (format.getMediaType().isCompatibleWith(type)) {
+                    return format;
+                }
+            }
+        }
+        throw new ApiException("Content type must be text/csv or application/x-ndjson", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+}
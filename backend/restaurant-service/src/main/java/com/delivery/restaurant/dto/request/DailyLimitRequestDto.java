@@ -0,0 +1,12 @@
+package com.delivery.restaurant.dto.request;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+@Data
+public class DailyLimitRequestDto {
+
+    // null removes the limit
+    @PositiveOrZero(message = "Daily limit must not be negative")
+    private Integer dailyLimit;
+}
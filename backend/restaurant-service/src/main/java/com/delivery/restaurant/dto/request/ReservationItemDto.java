@@ -0,0 +1,16 @@
+package com.delivery.restaurant.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class ReservationItemDto {
+
+    @NotNull(message = "Dish id is required")
+    private Long dishId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+}
@@ -0,0 +1,14 @@
+package com.delivery.restaurant.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReservationRequestDto {
+
+    @NotEmpty(message = "Items are required")
+    private List<@Valid ReservationItemDto> items;
+}
@@ -9,4 +9,6 @@ public class DishResponseDto {
     private String description;
     private Integer price;
     private String imageUrl;
+    private String thumbnailUrl;
+    private Integer dailyLimit;
 }
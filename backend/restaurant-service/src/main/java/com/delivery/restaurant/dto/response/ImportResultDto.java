@@ -0,0 +1,14 @@
+package com.delivery.restaurant.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResultDto {
+    private int created;
+    private int updated;
+    private int rejected;
+    private List<String> errors = new ArrayList<>();
+}
@@ -10,5 +10,6 @@ public class RestaurantResponseDto {
     private String name;
     private String cuisine;
     private String address;
+    private Long menuVersion;
     private Set<DishResponseDto> dishes;
 }
@@ -26,6 +26,9 @@ public class Dish {
     @Column(nullable = false)
     private String imageUrl;
 
+    @Column(name = "daily_limit")
+    private Integer dailyLimit;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurantId", nullable = false)
     @ToString.Exclude
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,7 +27,12 @@ public class Restaurant {
     @Column(nullable = false)
     private String address;
 
+    @Column(name = "menu_version", nullable = false, insertable = false, updatable = false)
+    private Long menuVersion;
+
+    // One query loads the menus of a whole restaurant page
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 20)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private List<Dish> dishes = new ArrayList<>();
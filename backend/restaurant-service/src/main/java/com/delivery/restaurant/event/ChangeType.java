@@ -0,0 +1,8 @@
+package com.delivery.restaurant.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    IMPORTED
+}
@@ -0,0 +1,12 @@
+package com.delivery.restaurant.event;
+
+import java.time.Instant;
+
+public record MenuChangedEvent(
+        Long restaurantId,
+        Long menuVersion,
+        Long dishId,
+        ChangeType changeType,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,71 @@
+package com.delivery.restaurant.event;
+
+import com.delivery.restaurant.entity.OutboxEvent;
+import com.delivery.restaurant.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class MenuEventPublisher {
+
+    private static final String BUMP_MENU_VERSION_SQL =
+            "UPDATE restaurant SET menu_version = menu_version + 1 WHERE id = ? RETURNING menu_version";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.events.topics.menu}")
+    private String menuTopic;
+
+    @Value("${app.events.topics.restaurant}")
+    private String restaurantTopic;
+
+    public long menuChanged(Long restaurantId, Long dishId, ChangeType changeType) {
+        long menuVersion = bumpMenuVersion(restaurantId);
+        enqueue(menuTopic, restaurantId,
+                new MenuChangedEvent(restaurantId, menuVersion, dishId, changeType, Instant.now()));
+        return menuVersion;
+    }
+
+    public long restaurantChanged(Long restaurantId, ChangeType changeType) {
+        long menuVersion = bumpMenuVersion(restaurantId);
+        restaurantChanged(restaurantId, menuVersion, changeType);
+        return menuVersion;
+    }
+
+    public void restaurantChanged(Long restaurantId, long menuVersion, ChangeType changeType) {
+        enqueue(restaurantTopic, restaurantId,
+                new RestaurantChangedEvent(restaurantId, menuVersion, changeType, Instant.now()));
+    }
+
+    private long bumpMenuVersion(Long restaurantId) {
+        Long menuVersion = jdbcTemplate.queryForObject(BUMP_MENU_VERSION_SQL, Long.class, restaurantId);
+        if (menuVersion == null) {
+            throw new IllegalStateException("Restaurant " + restaurantId + " does not exist");
+        }
+        return menuVersion;
+    }
+
+    private void enqueue(String topic, Long restaurantId, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTopic(topic);
+        outboxEvent.setEventKey(restaurantId.toString());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event, e);
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+}
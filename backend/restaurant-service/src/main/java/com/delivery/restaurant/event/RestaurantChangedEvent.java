@@ -0,0 +1,11 @@
+package com.delivery.restaurant.event;
+
+import java.time.Instant;
+
+public record RestaurantChangedEvent(
+        Long restaurantId,
+        Long menuVersion,
+        ChangeType changeType,
+        Instant occurredAt
+) {
+}
@@ -1,6 +1,11 @@
 package com.delivery.restaurant.filter;
 
 import com.delivery.restaurant.util.JwtRoleExtractor;
+import com.delivery.restaurant.util.TokenRevocationCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +29,8 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtRoleExtractor jwtRoleExtractor;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,21 +40,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
 
         try {
-            if (token != null && jwtRoleExtractor.isValidToken(token)) {
+            Claims claims = token != null ? verifyToken(token) : null;
+            if (claims != null) {
 
-                List<String> roles = jwtRoleExtractor.extractRoles(token);
+                Long userId = Long.parseLong(claims.getSubject());
 
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                        .collect(Collectors.toList());
+                if (tokenRevocationCache.isRevoked(userId, claims.getIssuedAt())) {
+                    log.debug("Restaurant Service - Revoked token for user ID: {}", userId);
+                } else {
+                    List<String> roles = jwtRoleExtractor.extractRoles(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken("restaurant-user", null, authorities);
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    List<SimpleGrantedAuthority> authorities = roles.stream()
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                            .collect(Collectors.toList());
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken("restaurant-user", null, authorities);
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                log.debug("Restaurant Service - Authenticated with roles: {}", roles);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    log.debug("Restaurant Service - Authenticated with roles: {}", roles);
+                }
             }
         } catch (Exception e) {
             SecurityContextHolder.clearContext();
@@ -57,6 +71,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Claims verifyToken(String token) {
+        // Timed as an observation, so verification shows up both as a metric and as a span
+        Observation observation = Observation.start("jwt.verification", observationRegistry);
+        String result = "invalid";
+        try (Observation.Scope scope = observation.openScope()) {
+            // One parse checks the signature and expiry and yields the claims the filter reads
+            Claims claims = jwtRoleExtractor.extractClaims(token);
+            if (jwtRoleExtractor.isRefreshToken(claims)) {
+                return null;
+            }
+            result = "valid";
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("result", result).stop();
+        }
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
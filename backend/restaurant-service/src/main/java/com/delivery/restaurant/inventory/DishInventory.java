@@ -0,0 +1,235 @@
+package com.delivery.restaurant.inventory;
+
+import com.delivery.restaurant.dto.request.ReservationItemDto;
+import com.delivery.restaurant.exception.ApiException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daily portion counters for dishes.
+ * <p>
+ * Reservations are a CAS on an in-memory counter, so a hot dish does not serialize orders on one database row.
+ * Each instance sells from portions it claimed from the day's pool: {@code leased} in the database is the total
+ * claimed by all instances, and a claim of about {@code app.inventory.lease-block} portions is a compare-and-set on
+ * it that never takes it past the daily limit. Instances therefore never sell the same portion twice. The sold
+ * count is written behind as deltas. A clean shutdown returns unsold claimed portions; a crash can undersell at
+ * most one block per instance but never oversells.
+ */
+@Slf4j
+@Component
+public class DishInventory {
+
+    private static final String CREATE_ROW_SQL = """
+            INSERT INTO dish_inventory (dish_id, business_date)
+            SELECT id, ? FROM dish WHERE id = ?
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String LOAD_SQL = """
+            SELECT d.daily_limit, i.leased
+            FROM dish d
+            JOIN dish_inventory i ON i.dish_id = d.id AND i.business_date = ?
+            WHERE d.id = ?
+            """;
+
+    // Only succeeds if no other instance claimed portions since leased was read
+    private static final String LEASE_SQL =
+            "UPDATE dish_inventory SET leased = ? WHERE dish_id = ? AND business_date = ? AND leased = ?";
+
+    private static final String FLUSH_SQL =
+            "UPDATE dish_inventory SET reserved = reserved + ? WHERE dish_id = ? AND business_date = ?";
+
+    // Returns portions to the pool: unsold claims on shutdown, or releases of portions sold by another instance
+    private static final String RETURN_SQL = """
+            UPDATE dish_inventory SET reserved = reserved + ?, leased = GREATEST(0, leased - ?)
+            WHERE dish_id = ? AND business_date = ?
+            """;
+
+    private final Map<Long, InventoryCounter> counters = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final int leaseBlock;
+
+    public DishInventory(JdbcTemplate jdbcTemplate,
+                         @Value("${app.inventory.lease-block}") int leaseBlock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseBlock = leaseBlock;
+    }
+
+    /**
+     * Reserves all items or none of them.
+     */
+    public void reserve(List<ReservationItemDto> items) {
+        List<ReservationItemDto> reserved = new ArrayList<>(items.size());
+        try {
+            for (ReservationItemDto item : items) {
+                if (!tryReserve(counter(item.getDishId()), item.getQuantity())) {
+                    throw new ApiException("Dish " + item.getDishId() + " is sold out for today",
+                            HttpStatus.CONFLICT);
+                }
+                reserved.add(item);
+            }
+        } catch (RuntimeException e) {
+            release(reserved);
+            throw e;
+        }
+    }
+
+    public void release(List<ReservationItemDto> items) {
+        for (ReservationItemDto item : items) {
+            InventoryCounter counter = counter(item.getDishId());
+            int quantity = item.getQuantity();
+            int before = counter.reserved.getAndUpdate(current -> Math.max(0, current - quantity));
+            int unmatched = quantity - Math.min(before, quantity);
+            if (unmatched > 0) {
+                // Sold by another instance, which still counts them; give them back to the pool instead
+                jdbcTemplate.update(RETURN_SQL, -unmatched, unmatched, counter.dishId, counter.businessDate);
+            }
+        }
+    }
+
+    public void updateLimit(Long dishId, Integer dailyLimit) {
+        InventoryCounter counter = counters.get(dishId);
+        if (counter != null) {
+            counter.limit = toLimit(dailyLimit);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.flush-interval-ms}")
+    public void flush() {
+        List<InventoryCounter> dirty = new ArrayList<>();
+        List<Object[]> args = new ArrayList<>();
+        List<Integer> flushed = new ArrayList<>();
+        for (InventoryCounter counter : counters.values()) {
+            int reserved = counter.reserved.get();
+            if (reserved != counter.flushedReserved) {
+                dirty.add(counter);
+                flushed.add(reserved);
+                args.add(new Object[]{reserved - counter.flushedReserved, counter.dishId, counter.businessDate});
+            }
+        }
+        if (args.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(FLUSH_SQL, args);
+        for (int i = 0; i < dirty.size(); i++) {
+            dirty.get(i).flushedReserved = flushed.get(i);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Returning the unsold part of the claims means a clean restart does not lose any portions
+        List<Object[]> args = counters.values().stream()
+                .map(counter -> {
+                    synchronized (counter) {
+                        int reserved = counter.reserved.get();
+                        return new Object[]{reserved - counter.flushedReserved, Math.max(0, counter.leased - reserved),
+                                counter.dishId, counter.businessDate};
+                    }
+                })
+                .toList();
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(RETURN_SQL, args);
+        }
+    }
+
+    private boolean tryReserve(InventoryCounter counter, int quantity) {
+        while (true) {
+            int current = counter.reserved.get();
+            int next = current + quantity;
+            if (next > counter.limit) {
+                return false;
+            }
+            if (next > counter.leased && !extendLease(counter, next)) {
+                return false;
+            }
+            if (counter.reserved.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Claims at least the portions missing up to {@code needed}, plus up to a block ahead.
+     * Returns false when the pool of the day cannot cover them.
+     */
+    private boolean extendLease(InventoryCounter counter, int needed) {
+        synchronized (counter) {
+            int missing = needed - counter.leased;
+            if (missing <= 0) {
+                return true;
+            }
+            while (true) {
+                List<int[]> rows = jdbcTemplate.query(LOAD_SQL,
+                        (rs, rowNum) -> new int[]{toLimit((Integer) rs.getObject(1)), rs.getInt(2)},
+                        counter.businessDate, counter.dishId);
+                if (rows.isEmpty()) {
+                    return false;
+                }
+                int limit = rows.get(0)[0];
+                int poolLeased = rows.get(0)[1];
+                counter.limit = limit;
+                long available = (long) limit - poolLeased;
+                if (available < missing) {
+                    return false;
+                }
+                int claim = (int) Math.min(available, (long) missing + leaseBlock);
+                if (jdbcTemplate.update(LEASE_SQL, poolLeased + claim, counter.dishId, counter.businessDate,
+                        poolLeased) == 1) {
+                    counter.leased += claim;
+                    return true;
+                }
+                // Another instance claimed portions in between; read the pool again
+            }
+        }
+    }
+
+    private InventoryCounter counter(Long dishId) {
+        LocalDate today = LocalDate.now();
+        InventoryCounter counter = counters.get(dishId);
+        if (counter != null && counter.businessDate.equals(today)) {
+            return counter;
+        }
+
+        return counters.compute(dishId, (id, existing) -> {
+            if (existing != null && existing.businessDate.equals(today)) {
+                return existing;
+            }
+            if (existing != null) {
+                jdbcTemplate.update(FLUSH_SQL, existing.reserved.get() - existing.flushedReserved, id,
+                        existing.businessDate);
+            }
+            return load(id, today);
+        });
+    }
+
+    private InventoryCounter load(Long dishId, LocalDate businessDate) {
+        jdbcTemplate.update(CREATE_ROW_SQL, businessDate, dishId);
+        // Portions claimed by other instances stay theirs; this one starts without a claim
+        List<InventoryCounter> rows = jdbcTemplate.query(LOAD_SQL,
+                (rs, rowNum) -> new InventoryCounter(dishId, businessDate, toLimit((Integer) rs.getObject(1))),
+                businessDate, dishId);
+        if (rows.isEmpty()) {
+            throw new ApiException("Dish not found", HttpStatus.NOT_FOUND);
+        }
+
+        log.debug("Loaded inventory for dish {} on {}", dishId, businessDate);
+        return rows.get(0);
+    }
+
+    private int toLimit(Integer dailyLimit) {
+        return dailyLimit != null ? dailyLimit : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,29 @@
+package com.delivery.restaurant.inventory;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Portions of one dish sold on one business date.
+ * <p>
+ * Counts of this instance only. {@code reserved} lives in memory and is written behind as deltas;
+ * {@code leased} is the number of portions this instance claimed from the pool in the database, which
+ * {@code reserved} may never pass.
+ */
+class InventoryCounter {
+
+    final Long dishId;
+    final LocalDate businessDate;
+    final AtomicInteger reserved;
+
+    volatile int limit;
+    volatile int leased;
+    volatile int flushedReserved;
+
+    InventoryCounter(Long dishId, LocalDate businessDate, int limit) {
+        this.dishId = dishId;
+        this.businessDate = businessDate;
+        this.limit = limit;
+        this.reserved = new AtomicInteger();
+    }
+}
@@ -0,0 +1,40 @@
+package com.delivery.restaurant.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groups endpoints that share a concurrency limit, so admin imports cannot starve catalog reads and
+ * inventory reservations made while placing orders.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EndpointClass {
+    CATALOG_READ("catalog-read"),
+    INVENTORY("inventory"),
+    ADMIN("admin");
+
+    private final String key;
+
+    /**
+     * Returns {@code null} for requests that are never shed: preflights, actuator and API docs.
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        if (path.startsWith("/internal/inventory")) {
+            return INVENTORY;
+        }
+        if (path.startsWith("/admin/")) {
+            return ADMIN;
+        }
+        if (path.equals("/restaurants") || path.startsWith("/restaurants/")
+                || path.startsWith("/internal/restaurants/") || path.startsWith("/images/")) {
+            return CATALOG_READ;
+        }
+        return null;
+    }
+}
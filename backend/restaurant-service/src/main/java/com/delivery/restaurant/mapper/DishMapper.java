@@ -3,14 +3,28 @@ package com.delivery.restaurant.mapper;
 import com.delivery.restaurant.dto.request.DishRequestDto;
 import com.delivery.restaurant.dto.response.DishResponseDto;
 import com.delivery.restaurant.entity.Dish;
+import com.delivery.restaurant.storage.DishImageStorage;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring")
 public interface DishMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "dailyLimit", ignore = true)
     Dish toEntity(DishRequestDto dto);
 
+    @Mapping(target = "thumbnailUrl", source = "imageUrl", qualifiedByName = "thumbnailUrl")
     DishResponseDto toDto(Dish dish);
+
+    @Named("thumbnailUrl")
+    default String thumbnailUrl(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        int slash = imageUrl.lastIndexOf('/');
+        String thumbnail = DishImageStorage.thumbnailFileName(imageUrl.substring(slash + 1));
+        return thumbnail != null ? imageUrl.substring(0, slash + 1) + thumbnail : imageUrl;
+    }
 }
\ No newline at end of file
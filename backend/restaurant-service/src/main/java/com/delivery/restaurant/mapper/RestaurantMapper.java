@@ -7,11 +7,12 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = DishMapper.class)
 public interface RestaurantMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "dishes", ignore = true)
+    @Mapping(target = "menuVersion", ignore = true)
     Restaurant toEntity(RestaurantRequestDto dto);
 
     @Mapping(target = "cuisine", source = "cuisine", qualifiedByName = "capitalize")
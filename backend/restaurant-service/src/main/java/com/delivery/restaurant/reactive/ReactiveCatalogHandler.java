@@ -0,0 +1,113 @@
+package com.delivery.restaurant.reactive;
+
+import com.delivery.restaurant.dto.response.DishResponseDto;
+import com.delivery.restaurant.dto.response.RestaurantResponseDto;
+import com.delivery.restaurant.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Same paths, parameters and JSON as RestaurantPublicController. Lists are also available as
+ * {@code application/x-ndjson}: one restaurant or dish per line, written as it is read from the database.
+ */
+@Slf4j
+public class ReactiveCatalogHandler {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final ReactiveCatalogRepository repository;
+
+    public ReactiveCatalogHandler(ReactiveCatalogRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * A page of 20 as JSON, or every matching restaurant as NDJSON, where {@code page} is ignored.
+     */
+    public Mono<ServerResponse> getRestaurants(ServerRequest request) {
+        String cuisine = request.queryParam("cuisine").filter(value -> !value.isBlank()).orElse(null);
+        if (acceptsNdjson(request)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(repository.streamAll(cuisine), RestaurantResponseDto.class);
+        }
+        return Mono.fromCallable(() -> parse(request.queryParam("page").orElse("0"), "page"))
+                .flatMap(page -> {
+                    if (page < 0) {
+                        return Mono.error(new ApiException("Page must not be negative", HttpStatus.BAD_REQUEST));
+                    }
+                    return repository.findPage(cuisine, page.intValue(), PAGE_SIZE);
+                })
+                .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(page))
+                .transform(this::handleErrors);
+    }
+
+    public Mono<ServerResponse> getRestaurant(ServerRequest request) {
+        return Mono.fromCallable(() -> parse(request.pathVariable("id"), "id"))
+                .flatMap(repository::findById)
+                .switchIfEmpty(Mono.error(new ApiException("Restaurant not found", HttpStatus.NOT_FOUND)))
+                .flatMap(restaurant -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(restaurant))
+                .transform(this::handleErrors);
+    }
+
+    // The status has to be known before the first dish is written, hence the separate existence check
+    public Mono<ServerResponse> getRestaurantDishes(ServerRequest request) {
+        MediaType contentType = acceptsNdjson(request) ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return Mono.fromCallable(() -> parse(request.pathVariable("restaurantId"), "restaurantId"))
+                .filterWhen(repository::exists)
+                .switchIfEmpty(Mono.error(new ApiException("Restaurant not found", HttpStatus.NOT_FOUND)))
+                .flatMap(restaurantId -> ServerResponse.ok()
+                        .contentType(contentType)
+                        .body(repository.findDishes(restaurantId), DishResponseDto.class))
+                .transform(this::handleErrors);
+    }
+
+    private boolean acceptsNdjson(ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON);
+    }
+
+    private long parse(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException("Invalid " + name + ": " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Same statuses and bodies as GlobalExceptionHandler. Only covers errors before the response is committed;
+     * a failure while a list streams aborts the connection instead.
+     */
+    private Mono<ServerResponse> handleErrors(Mono<ServerResponse> response) {
+        return response
+                .onErrorResume(ApiException.class, ex -> error(ex.getStatus(), ex.getMessage()))
+                // Pool timeouts are overload, not bugs
+                .onErrorResume(DataAccessResourceFailureException.class, ex -> {
+                    log.warn("Service unavailable: {}", ex.getMessage());
+                    return error(HttpStatus.SERVICE_UNAVAILABLE, "Service is temporarily unavailable, retry later");
+                })
+                .onErrorResume(ex -> {
+                    log.error("Unhandled exception: ", ex);
+                    return error(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+                });
+    }
+
+    private Mono<ServerResponse> error(HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
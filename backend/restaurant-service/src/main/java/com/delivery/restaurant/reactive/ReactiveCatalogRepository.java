@@ -0,0 +1,160 @@
+package com.delivery.restaurant.reactive;
+
+import com.delivery.restaurant.dto.response.DishResponseDto;
+import com.delivery.restaurant.dto.response.RestaurantResponseDto;
+import com.delivery.restaurant.mapper.DishMapper;
+import com.delivery.restaurant.mapper.RestaurantMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Catalog reads over R2DBC with the SQL the JPA repositories generate for RestaurantPublicService, except that a
+ * restaurant and its dishes come from one join instead of a batch fetch. Rows are read in blocks of
+ * {@link #FETCH_SIZE}, so a stream only pulls from the database as fast as the client takes the response.
+ * <p>
+ * Owns its connection pool. The pool is deliberately not a bean: Boot's JDBC DataSource, and with it JPA, backs off
+ * as soon as an R2DBC ConnectionFactory bean exists.
+ */
+public class ReactiveCatalogRepository implements AutoCloseable {
+
+    private static final int FETCH_SIZE = 100;
+
+    private static final String RESTAURANT_WITH_DISHES = "SELECT r.id, r.name, r.cuisine, r.address, r.menu_version, "
+            + "d.id AS dish_id, d.name AS dish_name, d.description, d.price, d.image_url, d.daily_limit FROM ";
+    private static final String DISHES_OF_RESTAURANT = " r LEFT JOIN dish d ON d.restaurant_id = r.id ";
+    private static final String CUISINE_FILTER = " WHERE upper(cuisine) LIKE upper(:cuisine) ESCAPE '\\' ";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final RestaurantMapper restaurantMapper;
+    private final DishMapper dishMapper;
+
+    public ReactiveCatalogRepository(ConnectionPool connectionPool, RestaurantMapper restaurantMapper,
+                                     DishMapper dishMapper) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+        this.restaurantMapper = restaurantMapper;
+        this.dishMapper = dishMapper;
+    }
+
+    @Override
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    public Mono<Page<RestaurantResponseDto>> findPage(String cuisine, int page, int size) {
+        String restaurants = "(SELECT * FROM restaurant" + (cuisine != null ? CUISINE_FILTER : " ")
+                + "ORDER BY name, id LIMIT :limit OFFSET :offset)";
+        DatabaseClient.GenericExecuteSpec content = bindCuisine(databaseClient.sql(
+                RESTAURANT_WITH_DISHES + restaurants + DISHES_OF_RESTAURANT + "ORDER BY r.name, r.id, d.id"), cuisine)
+                .bind("limit", size)
+                .bind("offset", (long) page * size);
+        DatabaseClient.GenericExecuteSpec count = bindCuisine(databaseClient.sql(
+                "SELECT count(*) FROM restaurant" + (cuisine != null ? CUISINE_FILTER : "")), cuisine);
+
+        return Mono.zip(
+                restaurants(content).collectList(),
+                count.map(row -> row.get(0, Long.class)).one(),
+                (rows, total) -> new PageImpl<>(rows, PageRequest.of(page, size, Sort.by("name")), total));
+    }
+
+    /**
+     * Every restaurant matching the filter, in page order.
+     */
+    public Flux<RestaurantResponseDto> streamAll(String cuisine) {
+        return restaurants(bindCuisine(databaseClient.sql(RESTAURANT_WITH_DISHES + "(SELECT * FROM restaurant"
+                + (cuisine != null ? CUISINE_FILTER : " ") + ")" + DISHES_OF_RESTAURANT
+                + "ORDER BY r.name, r.id, d.id"), cuisine));
+    }
+
+    public Mono<RestaurantResponseDto> findById(long id) {
+        return restaurants(databaseClient.sql(RESTAURANT_WITH_DISHES + "restaurant" + DISHES_OF_RESTAURANT
+                        + "WHERE r.id = :id ORDER BY d.id")
+                .bind("id", id))
+                .next();
+    }
+
+    public Mono<Boolean> exists(long id) {
+        return databaseClient.sql("SELECT 1 FROM restaurant WHERE id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Flux<DishResponseDto> findDishes(long restaurantId) {
+        return databaseClient.sql("SELECT d.id AS dish_id, d.name AS dish_name, d.description, d.price, "
+                        + "d.image_url, d.daily_limit FROM dish d WHERE d.restaurant_id = :restaurantId ORDER BY d.id")
+                .bind("restaurantId", restaurantId)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(this::toDish)
+                .all();
+    }
+
+    // Rows of one restaurant arrive together, ordered by restaurant; each run of them becomes one DTO
+    private Flux<RestaurantResponseDto> restaurants(DatabaseClient.GenericExecuteSpec query) {
+        return query
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(row -> new RestaurantRow(toRestaurant(row), row.get("dish_id") != null ? toDish(row) : null))
+                .all()
+                .bufferUntilChanged(row -> row.restaurant().getId())
+                .map(this::merge);
+    }
+
+    private RestaurantResponseDto merge(List<RestaurantRow> rows) {
+        RestaurantResponseDto restaurant = rows.get(0).restaurant();
+        Set<DishResponseDto> dishes = new LinkedHashSet<>();
+        for (RestaurantRow row : rows) {
+            if (row.dish() != null) {
+                dishes.add(row.dish());
+            }
+        }
+        restaurant.setDishes(dishes);
+        return restaurant;
+    }
+
+    private RestaurantResponseDto toRestaurant(Readable row) {
+        RestaurantResponseDto restaurant = new RestaurantResponseDto();
+        restaurant.setId(row.get("id", Long.class));
+        restaurant.setName(row.get("name", String.class));
+        restaurant.setCuisine(restaurantMapper.capitalize(row.get("cuisine", String.class)));
+        restaurant.setAddress(row.get("address", String.class));
+        restaurant.setMenuVersion(row.get("menu_version", Long.class));
+        return restaurant;
+    }
+
+    private DishResponseDto toDish(Readable row) {
+        DishResponseDto dish = new DishResponseDto();
+        dish.setId(row.get("dish_id", Long.class));
+        dish.setName(row.get("dish_name", String.class));
+        dish.setDescription(row.get("description", String.class));
+        dish.setPrice(row.get("price", Integer.class));
+        dish.setImageUrl(row.get("image_url", String.class));
+        dish.setThumbnailUrl(dishMapper.thumbnailUrl(dish.getImageUrl()));
+        dish.setDailyLimit(row.get("daily_limit", Integer.class));
+        return dish;
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindCuisine(DatabaseClient.GenericExecuteSpec query, String cuisine) {
+        if (cuisine == null) {
+            return query;
+        }
+        // Same match as findByCuisineContainingIgnoreCase: a substring, with LIKE wildcards taken literally
+        String escaped = cuisine.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return query.bind("cuisine", "%" + escaped + "%");
+    }
+
+    private record RestaurantRow(RestaurantResponseDto restaurant, DishResponseDto dish) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.delivery.restaurant.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reactor Netty server for the reactive catalog, on its own port next to Tomcat. A few event loop threads serve
+ * every connection; nothing in the request path blocks them.
+ */
+@Slf4j
+public class ReactiveCatalogServer implements SmartLifecycle {
+
+    private static final Pattern DISHES = Pattern.compile("^/restaurants/[^/]+/dishes$");
+    private static final Pattern RESTAURANT = Pattern.compile("^/restaurants/[^/]+$");
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private volatile DisposableServer server;
+
+    public ReactiveCatalogServer(HttpHandler httpHandler, int port) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                // reactor.netty.http.server.* metrics, tagged with the route rather than the raw path
+                .metrics(true, ReactiveCatalogServer::route)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive catalog listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        if (running != null) {
+            running.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    private static String route(String path) {
+        if (path.equals("/restaurants")) {
+            return path;
+        }
+        if (DISHES.matcher(path).matches()) {
+            return "/restaurants/{restaurantId}/dishes";
+        }
+        if (RESTAURANT.matcher(path).matches()) {
+            return "/restaurants/{id}";
+        }
+        return "UNKNOWN";
+    }
+}
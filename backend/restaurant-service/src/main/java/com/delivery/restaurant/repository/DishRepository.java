@@ -2,6 +2,7 @@ package com.delivery.restaurant.repository;
 
 import com.delivery.restaurant.entity.Dish;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,7 @@ public interface DishRepository extends JpaRepository<Dish, Long> {
     boolean existsByNameAndIdNot(String name, Long id);
 
     List<Dish> findByRestaurantId(Long restaurantId);
+
+    @Query("select d.name from Dish d where d.restaurant.id = :restaurantId")
+    List<String> findNamesByRestaurantId(Long restaurantId);
 }
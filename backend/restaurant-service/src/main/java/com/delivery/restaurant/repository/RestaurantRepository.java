@@ -3,10 +3,15 @@ package com.delivery.restaurant.repository;
 import com.delivery.restaurant.entity.Restaurant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long>,
         JpaSpecificationExecutor<Restaurant> {
@@ -18,4 +23,10 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long>,
             String cuisine,
             Pageable pageable
     );
+
+    @EntityGraph(attributePaths = "dishes")
+    Optional<Restaurant> findWithDishesById(Long id);
+
+    @Query("select r.name from Restaurant r")
+    List<String> findAllNames();
 }
\ No newline at end of file
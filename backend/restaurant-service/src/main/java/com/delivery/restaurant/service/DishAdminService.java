@@ -4,14 +4,23 @@ import com.delivery.restaurant.dto.request.DishRequestDto;
 import com.delivery.restaurant.dto.response.DishResponseDto;
 import com.delivery.restaurant.entity.Dish;
 import com.delivery.restaurant.entity.Restaurant;
+import com.delivery.restaurant.event.ChangeType;
+import com.delivery.restaurant.event.MenuEventPublisher;
 import com.delivery.restaurant.exception.ApiException;
+import com.delivery.restaurant.inventory.DishInventory;
 import com.delivery.restaurant.mapper.DishMapper;
 import com.delivery.restaurant.repository.DishRepository;
 import com.delivery.restaurant.repository.RestaurantRepository;
+import com.delivery.restaurant.storage.DishImageStorage;
+import com.delivery.restaurant.storage.StoredImage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +30,12 @@ public class DishAdminService {
     private final RestaurantRepository restaurantRepository;
     private final DishRepository dishRepository;
     private final DishMapper dishMapper;
+    private final DishImageStorage dishImageStorage;
+    private final MenuEventPublisher menuEventPublisher;
+    private final DishInventory dishInventory;
+
+    @Value("${app.images.base-url}")
+    private String imageBaseUrl;
 
     public DishResponseDto createDish(DishRequestDto dishRequest, Long restaurantId) {
         if (dishRepository.existsByNameAndRestaurantId(dishRequest.getName(), restaurantId)) {
@@ -34,6 +49,7 @@ public class DishAdminService {
         dish.setRestaurant(restaurant);
 
         Dish savedDish = dishRepository.save(dish);
+        menuEventPublisher.menuChanged(restaurantId, savedDish.getId(), ChangeType.CREATED);
 
         return dishMapper.toDto(savedDish);
     }
@@ -50,13 +66,41 @@ public class DishAdminService {
         dish.setPrice(dishRequest.getPrice());
         dish.setDescription(dishRequest.getDescription());
         dish.setImageUrl(dishRequest.getImageUrl());
+        menuEventPublisher.menuChanged(dish.getRestaurant().getId(), dishId, ChangeType.UPDATED);
 
         return dishMapper.toDto(dish);
     }
 
     public void deleteDish(Long id) {
-        dishRepository.findById(id)
+        Dish dish = dishRepository.findById(id)
                 .orElseThrow(() -> new ApiException("Dish not found", HttpStatus.NOT_FOUND));
+        menuEventPublisher.menuChanged(dish.getRestaurant().getId(), id, ChangeType.DELETED);
         dishRepository.deleteById(id);
     }
+
+    public DishResponseDto uploadImage(Long dishId, MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new ApiException("Image is required", HttpStatus.BAD_REQUEST);
+        }
+
+        Dish dish = dishRepository.findById(dishId)
+                .orElseThrow(() -> new ApiException("Dish not found", HttpStatus.NOT_FOUND));
+
+        StoredImage image = dishImageStorage.store(file.getBytes());
+        dish.setImageUrl(imageBaseUrl + "/images/" + image.fileName());
+        menuEventPublisher.menuChanged(dish.getRestaurant().getId(), dishId, ChangeType.UPDATED);
+
+        return dishMapper.toDto(dish);
+    }
+
+    public DishResponseDto updateDailyLimit(Long dishId, Integer dailyLimit) {
+        Dish dish = dishRepository.findById(dishId)
+                .orElseThrow(() -> new ApiException("Dish not found", HttpStatus.NOT_FOUND));
+
+        dish.setDailyLimit(dailyLimit);
+        dishInventory.updateLimit(dishId, dailyLimit);
+        menuEventPublisher.menuChanged(dish.getRestaurant().getId(), dishId, ChangeType.UPDATED);
+
+        return dishMapper.toDto(dish);
+    }
 }
@@ -0,0 +1,349 @@
+package com.delivery.restaurant.service;
+
+import com.delivery.common.util.CsvUtils;
+import com.delivery.restaurant.dto.bulk.BulkFormat;
+import com.delivery.restaurant.dto.request.DishRequestDto;
+import com.delivery.restaurant.dto.request.RestaurantRequestDto;
+import com.delivery.restaurant.dto.response.ImportResultDto;
+import com.delivery.restaurant.event.ChangeType;
+import com.delivery.restaurant.event.MenuEventPublisher;
+import com.delivery.restaurant.exception.ApiException;
+import com.delivery.restaurant.repository.DishRepository;
+import com.delivery.restaurant.repository.RestaurantRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuBulkService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int FETCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    // Bounds of one CSV record, line breaks inside quoted fields included
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final int MAX_RECORD_LINES = 100;
+
+    private static final List<String> DISH_COLUMNS = List.of("id", "name", "description", "price", "imageUrl");
+    private static final List<String> RESTAURANT_COLUMNS = List.of("id", "name", "cuisine", "address");
+
+    private static final String UPSERT_DISH_SQL = """
+            INSERT INTO dish (name, description, price, image_url, restaurant_id)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (restaurant_id, name) DO UPDATE
+            SET description = EXCLUDED.description,
+                price = EXCLUDED.price,
+                image_url = EXCLUDED.image_url
+            """;
+
+    private static final String UPSERT_RESTAURANT_SQL = """
+            INSERT INTO restaurant (name, cuisine, address, menu_version)
+            VALUES (?, ?, ?, 1)
+            ON CONFLICT (name) DO UPDATE
+            SET cuisine = EXCLUDED.cuisine,
+                address = EXCLUDED.address,
+                menu_version = restaurant.menu_version + 1
+            """;
+
+    private static final String SELECT_RESTAURANT_VERSIONS_SQL =
+            "SELECT id, menu_version FROM restaurant WHERE name = ANY (?)";
+
+    private static final String SELECT_DISHES_SQL =
+            "SELECT id, name, description, price, image_url FROM dish WHERE restaurant_id = ? ORDER BY id";
+
+    private static final String SELECT_RESTAURANTS_SQL =
+            "SELECT id, name, cuisine, address FROM restaurant ORDER BY id";
+
+    private final RestaurantRepository restaurantRepository;
+    private final DishRepository dishRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MenuEventPublisher menuEventPublisher;
+
+    public ImportResultDto importDishes(Long restaurantId, InputStream input, BulkFormat format) throws IOException {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ApiException("Restaurant not found", HttpStatus.NOT_FOUND);
+        }
+
+        Set<String> existingNames = new HashSet<>(dishRepository.findNamesByRestaurantId(restaurantId));
+        Set<String> importedNames = new HashSet<>();
+        List<DishRequestDto> batch = new ArrayList<>(BATCH_SIZE);
+        ImportResultDto result = new ImportResultDto();
+
+        readRows(input, format, DishRequestDto.class, result, (dish, lineNumber) -> {
+            if (!importedNames.add(dish.getName())) {
+                reject(result, lineNumber, "duplicate dish name '" + dish.getName() + "'");
+                return;
+            }
+            batch.add(dish);
+            if (batch.size() == BATCH_SIZE) {
+                flushDishes(restaurantId, batch, existingNames, result);
+            }
+        });
+        flushDishes(restaurantId, batch, existingNames, result);
+
+        log.info("Imported dishes for restaurant {}: {} created, {} updated, {} rejected",
+                restaurantId, result.getCreated(), result.getUpdated(), result.getRejected());
+        return result;
+    }
+
+    public ImportResultDto importRestaurants(InputStream input, BulkFormat format) throws IOException {
+        Set<String> existingNames = new HashSet<>(restaurantRepository.findAllNames());
+        Set<String> importedNames = new HashSet<>();
+        List<RestaurantRequestDto> batch = new ArrayList<>(BATCH_SIZE);
+        ImportResultDto result = new ImportResultDto();
+
+        readRows(input, format, RestaurantRequestDto.class, result, (restaurant, lineNumber) -> {
+            if (!importedNames.add(restaurant.getName())) {
+                reject(result, lineNumber, "duplicate restaurant name '" + restaurant.getName() + "'");
+                return;
+            }
+            batch.add(restaurant);
+            if (batch.size() == BATCH_SIZE) {
+                flushRestaurants(batch, existingNames, result);
+            }
+        });
+        flushRestaurants(batch, existingNames, result);
+
+        log.info("Imported restaurants: {} created, {} updated, {} rejected",
+                result.getCreated(), result.getUpdated(), result.getRejected());
+        return result;
+    }
+
+    public StreamingResponseBody exportDishes(Long restaurantId, BulkFormat format) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ApiException("Restaurant not found", HttpStatus.NOT_FOUND);
+        }
+
+        return output -> stream(output, format, DISH_COLUMNS, SELECT_DISHES_SQL, restaurantId);
+    }
+
+    public StreamingResponseBody exportRestaurants(BulkFormat format) {
+        return output -> stream(output, format, RESTAURANT_COLUMNS, SELECT_RESTAURANTS_SQL, null);
+    }
+
+    private void flushDishes(Long restaurantId, List<DishRequestDto> batch,
+                             Set<String> existingNames, ImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_DISH_SQL, batch, batch.size(), (ps, dish) -> {
+                ps.setString(1, dish.getName());
+                ps.setString(2, dish.getDescription());
+                ps.setInt(3, dish.getPrice());
+                ps.setString(4, dish.getImageUrl());
+                ps.setLong(5, restaurantId);
+            });
+            // One event per batch: consumers reload the whole menu anyway
+            menuEventPublisher.menuChanged(restaurantId, null, ChangeType.IMPORTED);
+        });
+
+        for (DishRequestDto dish : batch) {
+            countUpsert(existingNames.add(dish.getName()), result);
+        }
+        batch.clear();
+    }
+
+    private void flushRestaurants(List<RestaurantRequestDto> batch,
+                                  Set<String> existingNames, ImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_RESTAURANT_SQL, batch, batch.size(), (ps, restaurant) -> {
+                ps.setString(1, restaurant.getName());
+                ps.setString(2, restaurant.getCuisine().toLowerCase());
+                ps.setString(3, restaurant.getAddress());
+            });
+            // The upsert already bumped menu_version, so read it back instead of bumping again per row
+            String[] names = batch.stream().map(RestaurantRequestDto::getName).toArray(String[]::new);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SELECT_RESTAURANT_VERSIONS_SQL);
+                ps.setArray(1, connection.createArrayOf("varchar", names));
+                return ps;
+            }, rs -> {
+                menuEventPublisher.restaurantChanged(rs.getLong(1), rs.getLong(2), ChangeType.IMPORTED);
+            });
+        });
+
+        for (RestaurantRequestDto restaurant : batch) {
+            countUpsert(existingNames.add(restaurant.getName()), result);
+        }
+        batch.clear();
+    }
+
+    private void countUpsert(boolean created, ImportResultDto result) {
+        if (created) {
+            result.setCreated(result.getCreated() + 1);
+        } else {
+            result.setUpdated(result.getUpdated() + 1);
+        }
+    }
+
+    private <T> void readRows(InputStream input, BulkFormat format, Class<T> type,
+                              ImportResultDto result, ObjIntConsumer<T> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = null;
+        int nextLineNumber = 1;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            int lineNumber = nextLineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == BulkFormat.CSV) {
+                // A quoted field may hold line breaks; the record goes on until its quotes are closed. Only the new
+                // line is scanned for quotes, and the record is bounded, so a stray quote cannot swallow the file.
+                StringBuilder record = new StringBuilder(line);
+                boolean insideQuotes = CsvUtils.endsInsideQuotes(line);
+                int recordLines = 1;
+                String continuation;
+                while (insideQuotes && record.length() <= MAX_RECORD_LENGTH && recordLines < MAX_RECORD_LINES
+                        && (continuation = reader.readLine()) != null) {
+                    record.append('\n').append(continuation);
+                    insideQuotes ^= CsvUtils.endsInsideQuotes(continuation);
+                    recordLines++;
+                    nextLineNumber++;
+                }
+                if (record.length() > MAX_RECORD_LENGTH) {
+                    reject(result, lineNumber, "record longer than " + MAX_RECORD_LENGTH + " characters");
+                    continue;
+                }
+                if (insideQuotes && recordLines == MAX_RECORD_LINES) {
+                    reject(result, lineNumber, "quoted field not closed within " + MAX_RECORD_LINES + " lines");
+                    continue;
+                }
+                line = record.toString();
+            }
+
+            if (format == BulkFormat.CSV && header == null) {
+                header = CsvUtils.parseLine(line).stream()
+                        .map(String::trim)
+                        .collect(Collectors.toList());
+                continue;
+            }
+
+            T row;
+            try {
+                row = format == BulkFormat.CSV
+                        ? objectMapper.convertValue(toRecord(header, CsvUtils.parseLine(line)), type)
+                        : objectMapper.readValue(line, type);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                reject(result, lineNumber, "malformed row");
+                continue;
+            }
+
+            Set<ConstraintViolation<T>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                reject(result, lineNumber, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " - " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            consumer.accept(row, lineNumber);
+        }
+    }
+
+    private Map<String, String> toRecord(List<String> header, List<String> values) {
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns");
+        }
+
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), values.get(i));
+        }
+        return record;
+    }
+
+    private void reject(ImportResultDto result, int lineNumber, String reason) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add("Line " + lineNumber + ": " + reason);
+        }
+    }
+
+    private void stream(OutputStream output, BulkFormat format, List<String> columns,
+                        String sql, Long restaurantId) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == BulkFormat.CSV) {
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        }
+
+        try {
+            // PostgreSQL only honours the fetch size inside a transaction, which turns the query into a cursor
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                ps.setFetchSize(FETCH_SIZE);
+                if (restaurantId != null) {
+                    ps.setLong(1, restaurantId);
+                }
+                return ps;
+            }, rs -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    row.put(columns.get(i), rs.getObject(i + 1));
+                }
+                try {
+                    writeRow(writer, format, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void writeRow(Writer writer, BulkFormat format, Map<String, Object> row) throws IOException {
+        if (format == BulkFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+        } else {
+            writer.write(row.values().stream()
+                    .map(CsvUtils::escape)
+                    .collect(Collectors.joining(",")));
+        }
+        writer.write('\n');
+    }
+}
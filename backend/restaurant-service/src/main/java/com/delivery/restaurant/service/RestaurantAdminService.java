@@ -3,6 +3,8 @@ package com.delivery.restaurant.service;
 import com.delivery.restaurant.dto.request.RestaurantRequestDto;
 import com.delivery.restaurant.dto.response.RestaurantResponseDto;
 import com.delivery.restaurant.entity.Restaurant;
+import com.delivery.restaurant.event.ChangeType;
+import com.delivery.restaurant.event.MenuEventPublisher;
 import com.delivery.restaurant.exception.ApiException;
 import com.delivery.restaurant.mapper.RestaurantMapper;
 import com.delivery.restaurant.repository.RestaurantRepository;
@@ -18,6 +20,7 @@ public class RestaurantAdminService {
 
     private final RestaurantRepository restaurantRepository;
     private final RestaurantMapper restaurantMapper;
+    private final MenuEventPublisher menuEventPublisher;
 
     public RestaurantResponseDto createRestaurant(RestaurantRequestDto restaurantRequest) {
         if(restaurantRepository.existsByName(restaurantRequest.getName())) {
@@ -28,6 +31,8 @@ public class RestaurantAdminService {
         restaurant.setCuisine(restaurant.getCuisine().toLowerCase());
 
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        savedRestaurant.setMenuVersion(
+                menuEventPublisher.restaurantChanged(savedRestaurant.getId(), ChangeType.CREATED));
         return restaurantMapper.toDto(savedRestaurant);
     }
 
@@ -45,6 +50,7 @@ public class RestaurantAdminService {
         restaurant.setName(restaurantRequest.getName());
         restaurant.setCuisine(restaurantRequest.getCuisine().toLowerCase());
         restaurant.setAddress(restaurantRequest.getAddress());
+        restaurant.setMenuVersion(menuEventPublisher.restaurantChanged(restaurantId, ChangeType.UPDATED));
 
         return restaurantMapper.toDto(restaurant);
     }
@@ -53,6 +59,7 @@ public class RestaurantAdminService {
         restaurantRepository.findById(restaurantId)
                 .orElseThrow(() -> new ApiException("Restaurant not found", HttpStatus.NOT_FOUND));
 
+        menuEventPublisher.restaurantChanged(restaurantId, ChangeType.DELETED);
         restaurantRepository.deleteById(restaurantId);
     }
 }
@@ -9,26 +9,49 @@ import com.delivery.restaurant.mapper.DishMapper;
 import com.delivery.restaurant.mapper.RestaurantMapper;
 import com.delivery.restaurant.repository.DishRepository;
 import com.delivery.restaurant.repository.RestaurantRepository;
-import lombok.RequiredArgsConstructor;
+import com.delivery.restaurant.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class RestaurantPublicService {
     private final RestaurantRepository restaurantRepository;
     private final RestaurantMapper restaurantMapper;
     private final DishRepository dishRepository;
     private final DishMapper dishMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<Long, RestaurantResponseDto> restaurantLoads;
+
+    public RestaurantPublicService(RestaurantRepository restaurantRepository,
+                                   RestaurantMapper restaurantMapper,
+                                   DishRepository dishRepository,
+                                   DishMapper dishMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.catalog.single-flight.max-wait}") Duration maxWait) {
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantMapper = restaurantMapper;
+        this.dishRepository = dishRepository;
+        this.dishMapper = dishMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.restaurantLoads = new SingleFlight<>("restaurant", maxWait, meterRegistry);
+    }
 
     public Page<RestaurantResponseDto> getRestaurants(String cuisine, int page) {
         Pageable pageable = PageRequest.of(page, 20, Sort.by("name").ascending());
@@ -44,11 +67,22 @@ public class RestaurantPublicService {
                 .map(restaurantMapper::toDto);
     }
 
+    /**
+     * Concurrent requests for the same restaurant share one load. Runs outside a transaction so waiters do not
+     * hold a connection; the returned DTO is shared between them and must not be modified.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RestaurantResponseDto getRestaurant(Long id) {
-        Restaurant restaurant = restaurantRepository.findById(id)
-                .orElseThrow(() -> new ApiException("Restaurant not found", HttpStatus.NOT_FOUND));
+        return restaurantLoads.get(id, this::loadRestaurant);
+    }
+
+    private RestaurantResponseDto loadRestaurant(Long id) {
+        return readOnlyTransaction.execute(status -> {
+            Restaurant restaurant = restaurantRepository.findWithDishesById(id)
+                    .orElseThrow(() -> new ApiException("Restaurant not found", HttpStatus.NOT_FOUND));
 
-        return restaurantMapper.toDto(restaurant);
+            return restaurantMapper.toDto(restaurant);
+        });
     }
 
     public List<DishResponseDto> getDishesByRestaurantId(Long id) {
@@ -0,0 +1,190 @@
+package com.delivery.restaurant.storage;
+
+import com.delivery.restaurant.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class DishImageStorage {
+
+    private static final String THUMBNAIL_SUFFIX = "-thumb.jpg";
+    // 6000x4000 and a little more; decoded as RGB that is still about 100 MB
+    private static final long MAX_PIXELS = 25_000_000;
+    private static final Pattern FILE_NAME = Pattern.compile("^[0-9a-f]{64}(\\.(jpg|png|gif)|-thumb\\.jpg)$");
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "jpeg", "jpg",
+            "png", "png",
+            "gif", "gif"
+    );
+    private static final Map<String, MediaType> CONTENT_TYPES = Map.of(
+            "jpg", MediaType.IMAGE_JPEG,
+            "png", MediaType.IMAGE_PNG,
+            "gif", MediaType.IMAGE_GIF
+    );
+
+    private final Path rootDir;
+    private final int thumbnailSize;
+
+    public DishImageStorage(@Value("${app.images.root-dir}") String rootDir,
+                            @Value("${app.images.thumbnail-size}") int thumbnailSize) throws IOException {
+        this.rootDir = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.thumbnailSize = thumbnailSize;
+        Files.createDirectories(this.rootDir);
+    }
+
+    public StoredImage store(byte[] content) {
+        String extension = detectExtension(content);
+        String hash = sha256(content);
+
+        String fileName = hash + "." + extension;
+        String thumbnailFileName = hash + THUMBNAIL_SUFFIX;
+
+        try {
+            Path target = pathOf(fileName);
+            if (Files.notExists(target)) {
+                writeAtomically(target, content);
+            }
+
+            Path thumbnail = pathOf(thumbnailFileName);
+            if (Files.notExists(thumbnail)) {
+                writeAtomically(thumbnail, createThumbnail(content));
+            }
+        } catch (IOException e) {
+            log.error("Failed to store image {}: {}", fileName, e.getMessage());
+            throw new ApiException("Failed to store image", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        return new StoredImage(fileName, thumbnailFileName);
+    }
+
+    public Optional<Path> find(String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(fileName);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public MediaType contentType(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(extension, MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    public static String thumbnailFileName(String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches() || fileName.endsWith(THUMBNAIL_SUFFIX)) {
+            return null;
+        }
+        return fileName.substring(0, fileName.indexOf('.')) + THUMBNAIL_SUFFIX;
+    }
+
+    private Path pathOf(String fileName) {
+        return rootDir.resolve(fileName.substring(0, 2)).resolve(fileName);
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String detectExtension(byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers != null && readers.hasNext()) {
+                ImageReader reader = readers.next();
+                String extension = EXTENSIONS.get(reader.getFormatName().toLowerCase());
+                if (extension != null) {
+                    checkPixelCount(reader, input);
+                    return extension;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Unreadable image upload: {}", e.getMessage());
+        }
+        throw new ApiException("Image must be JPEG, PNG or GIF", HttpStatus.BAD_REQUEST);
+    }
+
+    // The size comes from the header, so an image that would decode to gigabytes is refused before decoding
+    private void checkPixelCount(ImageReader reader, ImageInputStream input) throws IOException {
+        try {
+            reader.setInput(input, true, true);
+            if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                throw new ApiException("Image must not have more than " + MAX_PIXELS + " pixels",
+                        HttpStatus.BAD_REQUEST);
+            }
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private byte[] createThumbnail(byte[] content) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(content));
+        if (source == null) {
+            throw new ApiException("Image must be JPEG, PNG or GIF", HttpStatus.BAD_REQUEST);
+        }
+
+        double scale = Math.max((double) thumbnailSize / source.getWidth(), (double) thumbnailSize / source.getHeight());
+        int width = (int) Math.ceil(source.getWidth() * scale);
+        int height = (int) Math.ceil(source.getHeight() * scale);
+
+        BufferedImage thumbnail = new BufferedImage(thumbnailSize, thumbnailSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, thumbnailSize, thumbnailSize);
+            graphics.drawImage(source, (thumbnailSize - width) / 2, (thumbnailSize - height) / 2, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "jpg", output);
+        return output.toByteArray();
+    }
+
+    private String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.delivery.restaurant.storage;
+
+public record StoredImage(String fileName, String thumbnailFileName) {
+}
@@ -21,32 +21,39 @@ public class JwtRoleExtractor {
         return Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
 
+    public Claims extractClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(getSigningKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
     public List<String> extractRoles(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) claims.get("roles");
-            return roles != null ? roles : List.of();
+            return extractRoles(extractClaims(token));
         } catch (Exception e) {
             log.error("Error extracting roles from token: {}", e.getMessage());
             return List.of();
         }
     }
 
+    public List<String> extractRoles(Claims claims) {
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) claims.get("roles");
+        return roles != null ? roles : List.of();
+    }
+
     public boolean isValidToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return !isRefreshToken(extractClaims(token));
         } catch (Exception e) {
             return false;
         }
     }
+
+    // Refresh tokens are only accepted by user-service /auth/refresh
+    public boolean isRefreshToken(Claims claims) {
+        return "refresh".equals(claims.get("type"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.delivery.restaurant.util;
+
+import com.delivery.restaurant.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller loads on its own thread; everyone
+ * arriving while that load is in flight waits for its result, up to {@code maxWait}, instead of loading again.
+ * Nothing is kept once the load finishes, so this only removes duplicate work, never serves stale data.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter waitTimeouts;
+
+    public SingleFlight(String name, Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.loads = Counter.builder("single.flight.loads").tag("name", name).register(meterRegistry);
+        this.coalesced = Counter.builder("single.flight.coalesced").tag("name", name).register(meterRegistry);
+        this.waitTimeouts = Counter.builder("single.flight.wait.timeouts").tag("name", name).register(meterRegistry);
+        Gauge.builder("single.flight.in_flight", inFlight, ConcurrentMap::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.apply(key);
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private V await(CompletableFuture<V> leader) {
+        try {
+            return leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Loading again would only add to whatever is slowing the leader down
+            waitTimeouts.increment();
+            throw new ApiException("Service is busy, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Service is busy, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            // Waiters see the leader's failure, e.g. the same 404
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.delivery.restaurant.util;
+
+import com.delivery.restaurant.filter.InternalTokenFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local copy of the user token epochs published by user-service, polled in the background and swapped as an
+ * immutable map so the JWT filter checks it without locks or network calls.
+ */
+@Slf4j
+@Component
+public class TokenRevocationCache {
+
+    private final RestClient restClient;
+    private final Duration retention;
+
+    private volatile Map<Long, Long> revokedBefore = Map.of();
+    private String lastPoll;
+
+    public TokenRevocationCache(@Value("${app.services.user}") String userServiceUrl,
+                                @Value("${app.security.internal-token}") String internalToken,
+                                @Value("${app.security.token-revocation.retention}") Duration retention) {
+        this.restClient = RestClient.builder()
+                .baseUrl(userServiceUrl)
+                .defaultHeader(InternalTokenFilter.HEADER, internalToken)
+                .build();
+        this.retention = retention;
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long epoch = revokedBefore.get(userId);
+        return epoch != null && (issuedAt == null || issuedAt.getTime() / 1000 < epoch);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.poll-interval-ms}")
+    public void refresh() {
+        Revocations response;
+        try {
+            response = restClient.get()
+                    .uri(builder -> builder.path("/internal/token-revocations")
+                            .queryParamIfPresent("since", Optional.ofNullable(lastPoll))
+                            .build())
+                    .retrieve()
+                    .body(Revocations.class);
+        } catch (RuntimeException e) {
+            // Keep the last known revocations; they only expire by retention
+            log.warn("Failed to poll token revocations: {}", e.getMessage());
+            return;
+        }
+        if (response == null) {
+            return;
+        }
+
+        long oldest = Instant.now().minus(retention).getEpochSecond();
+        Map<Long, Long> next = new HashMap<>(revokedBefore);
+        next.values().removeIf(epoch -> epoch < oldest);
+        for (Revocation revocation : response.revocations()) {
+            if (revocation.revokedBefore() >= oldest) {
+                next.merge(revocation.userId(), revocation.revokedBefore(), Math::max);
+            }
+        }
+        revokedBefore = Map.copyOf(next);
+        lastPoll = response.asOf();
+    }
+
+    record Revocation(Long userId, long revokedBefore) {
+    }
+
+    record Revocations(String asOf, List<Revocation> revocations) {
+    }
+}
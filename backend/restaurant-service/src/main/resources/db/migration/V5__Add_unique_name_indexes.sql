@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX ux_restaurant_name ON restaurant(name);
+CREATE UNIQUE INDEX ux_dish_restaurant_name ON dish(restaurant_id, name);
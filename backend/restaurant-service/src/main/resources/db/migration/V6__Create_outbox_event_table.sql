@@ -0,0 +1,13 @@
+ALTER TABLE restaurant ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE outbox_event (
+                              id BIGSERIAL PRIMARY KEY,
+                              topic VARCHAR(255) NOT NULL,
+                              event_key VARCHAR(255) NOT NULL,
+                              payload TEXT NOT NULL,
+                              created_at TIMESTAMP NOT NULL,
+                              published_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event(id) WHERE published_at IS NULL;
+CREATE INDEX idx_outbox_event_published_at ON outbox_event(published_at);
@@ -0,0 +1,14 @@
+ALTER TABLE dish ADD COLUMN daily_limit INTEGER;
+
+CREATE TABLE dish_inventory (
+                                dish_id BIGINT NOT NULL,
+                                business_date DATE NOT NULL,
+                                reserved INTEGER NOT NULL DEFAULT 0,
+                                leased INTEGER NOT NULL DEFAULT 0,
+
+                                PRIMARY KEY (dish_id, business_date),
+                                CONSTRAINT fk_dish_inventory_dish
+                                    FOREIGN KEY (dish_id)
+                                        REFERENCES dish(id)
+                                        ON DELETE CASCADE
+);
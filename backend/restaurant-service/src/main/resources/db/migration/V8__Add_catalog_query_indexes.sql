@@ -0,0 +1,7 @@
+-- findByCuisineContainingIgnoreCase renders as upper(cuisine) LIKE upper('%x%'), which no btree can serve
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_restaurant_cuisine_upper_trgm ON restaurant USING gin (upper(cuisine) gin_trgm_ops);
+
+-- DishRepository.existsByNameAndIdNot filters on name alone; ux_dish_restaurant_name leads with restaurant_id
+CREATE INDEX idx_dish_name ON dish(name);
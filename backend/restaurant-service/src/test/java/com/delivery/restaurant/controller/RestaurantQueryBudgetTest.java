@@ -0,0 +1,107 @@
+package com.delivery.restaurant.controller;
+
+import com.delivery.common.sql.QueryBudgetAssertions;
+import com.delivery.restaurant.filter.InternalTokenFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.delivery.common.sql.QueryBudgetAssertions.withinQueryBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every endpoint with a {@link com.delivery.common.sql.QueryBudget} against the restaurants and dishes the
+ * migrations seed. Each test reads a different restaurant, so none is served from what another one loaded.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=query-budget-test-secret-of-at-least-256-bits",
+        "app.security.internal-token=" + RestaurantQueryBudgetTest.INTERNAL_TOKEN,
+        "app.services.user=http://localhost:1",
+        // No broker here; the outbox stays empty as long as nothing changes the menu
+        "spring.kafka.admin.auto-create=false",
+        // Over-budget requests are reported by the assertion with their statement count instead of failing
+        "app.sql.query-budget.strict=false"
+})
+@AutoConfigureMockMvc
+@Import(QueryBudgetAssertions.Capture.class)
+@Testcontainers(disabledWithoutDocker = true)
+class RestaurantQueryBudgetTest {
+
+    static final String INTERNAL_TOKEN = "test-internal-token";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void restaurants() throws Exception {
+        mockMvc.perform(get("/restaurants"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void restaurantsOfCuisine() throws Exception {
+        mockMvc.perform(get("/restaurants").param("cuisine", "Italian"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void restaurant() throws Exception {
+        mockMvc.perform(get("/restaurants/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dishes.length()").value(5))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void restaurantDishes() throws Exception {
+        mockMvc.perform(get("/restaurants/2/dishes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void internalRestaurant() throws Exception {
+        mockMvc.perform(get("/internal/restaurants/3")
+                        .header(InternalTokenFilter.HEADER, INTERNAL_TOKEN)
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dishes.length()").value(5))
+                .andExpect(withinQueryBudget());
+    }
+
+    @AfterAll
+    static void everyBudgetIsTested(
+            @Autowired @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        QueryBudgetAssertions.assertEveryBudgetChecked(handlerMapping);
+    }
+}
@@ -0,0 +1,147 @@
+package com.delivery.restaurant.repository;
+
+import com.delivery.common.sql.PlanCaseStatements;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Runs every repository method once and fails when it sends other SQL than its plan cases in perf-tools'
+ * {@code plans/restaurant.json}, so the query plan check explains the statements restaurant-service really runs.
+ * Reads the restaurants and dishes the migrations seed.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=plan-case-test-secret-of-at-least-256-bits",
+        "app.security.internal-token=test-internal-token",
+        "app.services.user=http://localhost:1",
+        // No broker here; the outbox stays empty as long as nothing changes the menu
+        "spring.kafka.admin.auto-create=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class RestaurantRepositoryPlanCaseTest {
+
+    private static final long RESTAURANT_ID = 1;
+    // Past the last restaurant, so the page is empty and Spring Data runs the count query too
+    private static final Pageable BEYOND_LAST_PAGE = PageRequest.of(1000, 20, Sort.by("name").ascending());
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    private static PlanCaseStatements planCases;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void recordStatements(@Autowired DataSource dataSource) throws IOException {
+        planCases = PlanCaseStatements.of("restaurant");
+        planCases.attach(dataSource);
+    }
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void findByCuisineContainingIgnoreCase() {
+        planCases.assertRuns("RestaurantRepository.findByCuisineContainingIgnoreCase",
+                () -> restaurantRepository.findByCuisineContainingIgnoreCase("Italian", BEYOND_LAST_PAGE));
+    }
+
+    @Test
+    void findAll() {
+        planCases.assertRuns("RestaurantRepository.findAll(Pageable)",
+                () -> restaurantRepository.findAll(BEYOND_LAST_PAGE));
+    }
+
+    @Test
+    void findWithDishesById() {
+        planCases.assertRuns("RestaurantRepository.findWithDishesById",
+                () -> restaurantRepository.findWithDishesById(RESTAURANT_ID));
+    }
+
+    @Test
+    void existsByName() {
+        planCases.assertRuns("RestaurantRepository.existsByName",
+                () -> restaurantRepository.existsByName("Pizza Place"));
+    }
+
+    @Test
+    void existsByNameAndIdNot() {
+        planCases.assertRuns("RestaurantRepository.existsByNameAndIdNot",
+                () -> restaurantRepository.existsByNameAndIdNot("Pizza Place", RESTAURANT_ID));
+    }
+
+    @Test
+    void findAllNames() {
+        planCases.assertRuns("RestaurantRepository.findAllNames", () -> restaurantRepository.findAllNames());
+    }
+
+    @Test
+    void dishExistsByNameAndRestaurantId() {
+        planCases.assertRuns("DishRepository.existsByNameAndRestaurantId",
+                () -> dishRepository.existsByNameAndRestaurantId("Margherita", RESTAURANT_ID));
+    }
+
+    @Test
+    void dishExistsByNameAndIdNot() {
+        planCases.assertRuns("DishRepository.existsByNameAndIdNot",
+                () -> dishRepository.existsByNameAndIdNot("Margherita", 1L));
+    }
+
+    @Test
+    void dishFindByRestaurantId() {
+        planCases.assertRuns("DishRepository.findByRestaurantId",
+                () -> dishRepository.findByRestaurantId(RESTAURANT_ID));
+    }
+
+    @Test
+    void dishFindNamesByRestaurantId() {
+        planCases.assertRuns("DishRepository.findNamesByRestaurantId",
+                () -> dishRepository.findNamesByRestaurantId(RESTAURANT_ID));
+    }
+
+    @Test
+    void outboxLockUnpublished() {
+        planCases.assertRuns("OutboxEventRepository.lockUnpublished", () -> transactionTemplate.executeWithoutResult(
+                status -> outboxEventRepository.lockUnpublished(100)));
+    }
+
+    @Test
+    void outboxDeletePublishedBefore() {
+        planCases.assertRuns("OutboxEventRepository.deletePublishedBefore", () -> transactionTemplate
+                .executeWithoutResult(status -> outboxEventRepository.deletePublishedBefore(LocalDateTime.now())));
+    }
+
+    @AfterAll
+    static void everyPlanCaseIsTested() {
+        planCases.assertEveryPlanCaseChecked();
+    }
+}
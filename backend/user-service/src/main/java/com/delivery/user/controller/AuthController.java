@@ -2,15 +2,19 @@ package com.delivery.user.controller;
 
 import com.delivery.user.dto.response.AuthResponseDto;
 import com.delivery.user.dto.request.LoginRequestDto;
+import com.delivery.user.dto.request.RefreshRequestDto;
 import com.delivery.user.dto.request.RegisterRequestDto;
 import com.delivery.user.dto.response.RegisterResponseDto;
+import com.delivery.user.dto.response.TokenResponseDto;
 import com.delivery.user.service.AuthService;
+import com.delivery.user.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -23,6 +27,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final RefreshTokenService refreshTokenService;
 
 
     @Operation(
@@ -80,11 +85,46 @@ public class AuthController {
                     responseCode = "404",
                     description = "User not found",
                     content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many login attempts for this email or address",
+                    content = @Content(schema = @Schema(hidden = true))
             )
     })
     @PostMapping("/login")
     @ResponseStatus(HttpStatus.OK)
-    public AuthResponseDto login(@Valid @RequestBody LoginRequestDto loginRequest) {
-        return authService.login(loginRequest);
+    public AuthResponseDto login(@Valid @RequestBody LoginRequestDto loginRequest, HttpServletRequest request) {
+        return authService.login(loginRequest, request.getRemoteAddr());
+    }
+
+    @Operation(
+            summary = "Refresh tokens",
+            description = "Exchanges a refresh token for a new access token and a rotated refresh token. "
+                    + "Reusing an already rotated refresh token revokes the whole session."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens have been refreshed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TokenResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data or validation error",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Invalid, expired or reused refresh token",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public TokenResponseDto refresh(@Valid @RequestBody RefreshRequestDto refreshRequest) {
+        return refreshTokenService.refresh(refreshRequest.getRefreshToken());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.delivery.user.controller;
+
+import com.delivery.user.dto.response.TokenRevocationsResponseDto;
+import com.delivery.user.service.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/internal/token-revocations")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SERVICE')")
+@Tag(name = "Token revocation controller", description = "Revoked token epochs for other services")
+public class TokenRevocationController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    @Operation(
+            summary = "Token revocations",
+            description = "Get user token epochs changed since the given time, or all that still matter"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Get revocations",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TokenRevocationsResponseDto.class))
+            )
+    })
+    @GetMapping("")
+    @ResponseStatus(HttpStatus.OK)
+    public TokenRevocationsResponseDto getRevocations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return tokenRevocationService.getRevocations(since);
+    }
+}
@@ -1,8 +1,16 @@
 package com.delivery.user.controller;
 
+import com.delivery.common.export.ExportFormat;
+import com.delivery.common.sql.QueryBudget;
+import com.delivery.user.dto.request.PatchUserRequestDto;
 import com.delivery.user.dto.request.UpdateUserRequestDto;
 import com.delivery.user.dto.response.AuthResponseDto;
+import com.delivery.user.dto.response.UserPageResponseDto;
 import com.delivery.user.dto.response.UserResponseDto;
+import com.delivery.user.exception.ApiException;
+import com.delivery.user.service.UserExportService;
+import com.delivery.user.service.UserProfile;
+import com.delivery.user.service.UserProfileService;
 import com.delivery.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,15 +20,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -28,6 +39,8 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserProfileService userProfileService;
+    private final UserExportService userExportService;
 
     @Operation(
             summary = "Current user",
@@ -42,6 +55,11 @@ public class UserController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = UserResponseDto.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Profile not modified",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "User unauthorized",
@@ -53,17 +71,30 @@ public class UserController {
                     content = @Content(schema = @Schema(hidden = true))
             )
     })
+    @QueryBudget(3)
     @GetMapping("/me")
     @PreAuthorize("hasRole('USER')")
-    @ResponseStatus(HttpStatus.OK)
-    public UserResponseDto getCurrentUser() {
+    public ResponseEntity<UserResponseDto> getCurrentUser(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         long userId = (long) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return userService.getCurrentUser(userId);
+        UserProfile profile = userProfileService.getProfile(userId);
+
+        if (ifNoneMatch != null && ifNoneMatch.contains(profile.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(profile.etag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(profile.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile.user());
     }
 
     @Operation(
             summary = "Get all users **HAS ROLE: ADMIN**",
-            description = "Get information about all users",
+            description = "Get a page of users ordered by id, optionally filtered by email prefix, name and role",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -72,7 +103,7 @@ public class UserController {
                     description = "Get users",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = UserResponseDto.class))
+                            schema = @Schema(implementation = UserPageResponseDto.class))
             ),
             @ApiResponse(
                     responseCode = "401",
@@ -80,14 +111,66 @@ public class UserController {
                     content = @Content(schema = @Schema(hidden = true))
             )
     })
+    @QueryBudget(7)
     @GetMapping("")
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseStatus(HttpStatus.OK)
-    public List<UserResponseDto> getUsers() {
-        return userService.getUsers();
+    public UserPageResponseDto getUsers(@RequestParam(required = false) Long afterId,
+                                        @RequestParam(defaultValue = "50") int limit,
+                                        @RequestParam(required = false) String email,
+                                        @RequestParam(required = false) String name,
+                                        @RequestParam(required = false) String role) {
+        return userService.getUsers(afterId, limit, email, name, role);
     }
 
 
+    @Operation(
+            summary = "Export users **HAS ROLE: ADMIN**",
+            description = "Stream all users ordered by id as CSV or NDJSON, with the same filters as the user list. "
+                    + "Gzip-compressed when the request accepts gzip",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exported"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Too many exports running",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat = ExportFormat.fromName(format)
+                .orElseThrow(() -> new ApiException("Unsupported format: " + format, HttpStatus.BAD_REQUEST));
+        boolean compress = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = userExportService.exportUsers(email, name, role, exportFormat, compress);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("users" + exportFormat.getExtension()).build()
+                                .toString());
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @Operation(
             summary = "Get user by id **HAS ROLE: ADMIN**",
             description = "Get information about user by id",
@@ -112,6 +195,7 @@ public class UserController {
                     content = @Content(schema = @Schema(hidden = true))
             )
     })
+    @QueryBudget(3)
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @ResponseStatus(HttpStatus.OK)
@@ -156,6 +240,43 @@ public class UserController {
         return userService.updateUserProfile(userId, updateUserRequestDto);
     }
 
+    @Operation(
+            summary = "Patch current user",
+            description = "Update only the sent fields of the current user; unchanged addresses are kept as they are",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Success update",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UserResponseDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data or validation error",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "User unauthorized",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User with this id not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PatchMapping("/me")
+    @PreAuthorize("hasRole('USER')")
+    @ResponseStatus(HttpStatus.OK)
+    public UserResponseDto patchUser(@Valid @RequestBody PatchUserRequestDto patchUserRequestDto) {
+        long userId = (long) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return userService.patchUserProfile(userId, patchUserRequestDto);
+    }
+
     @Operation(
             summary = "Delete user by id **HAS ROLE: ADMIN**",
             description = "Delete user by id",
@@ -0,0 +1,19 @@
+package com.delivery.user.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Set;
+
+// Absent fields are left as they are; an empty address set removes all addresses
+@Data
+public class PatchUserRequestDto {
+    @Size(min = 2, max = 20)
+    @Pattern(regexp = ".*\\S.*", message = "Full name must not be blank")
+    private String fullName;
+
+    @Valid
+    private Set<AddressRequestDto> addresses;
+}
@@ -0,0 +1,10 @@
+package com.delivery.user.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshRequestDto {
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
@@ -0,0 +1,9 @@
+package com.delivery.user.dto.response;
+
+import lombok.Data;
+
+@Data
+public class TokenResponseDto {
+    private String accessToken;
+    private String refreshToken;
+}
@@ -0,0 +1,4 @@
+package com.delivery.user.dto.response;
+
+public record TokenRevocationDto(Long userId, long revokedBefore) {
+}
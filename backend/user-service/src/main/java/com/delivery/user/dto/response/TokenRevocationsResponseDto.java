@@ -0,0 +1,8 @@
+package com.delivery.user.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Pass asOf back as since on the next poll
+public record TokenRevocationsResponseDto(LocalDateTime asOf, List<TokenRevocationDto> revocations) {
+}
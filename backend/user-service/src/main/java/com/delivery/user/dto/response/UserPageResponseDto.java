@@ -0,0 +1,12 @@
+package com.delivery.user.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserPageResponseDto {
+    private List<UserResponseDto> items;
+    // Pass as afterId to get the next page, null on the last page
+    private Long nextAfterId;
+}
@@ -10,7 +10,8 @@ import lombok.ToString;
 @Table(name = "addresses")
 public class Address {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_seq")
+    @SequenceGenerator(name = "address_seq", sequenceName = "addresses_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,22 @@
+package com.delivery.user.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "token_revocation")
+public class TokenRevocation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Epoch seconds; access tokens issued earlier are rejected
+    @Column(name = "revoked_before", nullable = false)
+    private Long revokedBefore;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,11 @@
 package com.delivery.user.filter;
 
 import com.delivery.user.util.JwtTokenProvider;
+import com.delivery.user.util.TokenRevocationCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +29,8 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,22 +40,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
 
         try {
-            if (token != null && jwtTokenProvider.validateToken(token)) {
+            Claims claims = token != null ? verifyToken(token) : null;
+            if (claims != null) {
 
-                Long userId = jwtTokenProvider.getUserIdFromToken(token);
-                List<String> roles = jwtTokenProvider.getRolesFromToken(token);
+                Long userId = Long.parseLong(claims.getSubject());
 
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                        .collect(Collectors.toList());
+                // Refresh tokens are only accepted by /auth/refresh, never as bearer credentials
+                if (JwtTokenProvider.REFRESH_TOKEN_TYPE.equals(claims.get(JwtTokenProvider.TOKEN_TYPE_CLAIM))) {
+                    log.debug("Refresh token used as bearer token");
+                } else if (tokenRevocationCache.isRevoked(userId, claims.getIssuedAt())) {
+                    log.debug("Revoked JWT token for user ID: {}", userId);
+                } else {
+                    List<String> roles = jwtTokenProvider.getRolesFromClaims(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    List<SimpleGrantedAuthority> authorities = roles.stream()
+                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                            .collect(Collectors.toList());
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                log.debug("Authenticated user ID: {} with roles: {}", userId, roles);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    log.debug("Authenticated user ID: {} with roles: {}", userId, roles);
+                }
             } else {
                 log.debug("No valid JWT token found in request");
             }
@@ -60,6 +76,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Claims verifyToken(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "invalid";
+        try {
+            // One parse checks the signature and expiry and yields the claims the filter reads
+            Claims claims = jwtTokenProvider.getClaimsFromToken(token);
+            result = "valid";
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
+        } finally {
+            sample.stop(meterRegistry.timer("jwt.verification", "result", result));
+        }
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,36 @@
+package com.delivery.user.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groups endpoints that share a concurrency limit, so slow password hashing cannot starve profile reads.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EndpointClass {
+    AUTH("auth"),
+    USER_READ("user-read"),
+    USER_WRITE("user-write");
+
+    private final String key;
+
+    /**
+     * Returns {@code null} for requests that are never shed: preflights, actuator, API docs and the token
+     * revocation feed the other services poll.
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        if (path.startsWith("/auth/")) {
+            return AUTH;
+        }
+        if (path.equals("/users") || path.startsWith("/users/")) {
+            return "GET".equals(request.getMethod()) ? USER_READ : USER_WRITE;
+        }
+        return null;
+    }
+}
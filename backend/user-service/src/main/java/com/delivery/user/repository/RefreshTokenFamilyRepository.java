@@ -0,0 +1,36 @@
+package com.delivery.user.repository;
+
+import com.delivery.user.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update RefreshTokenFamily f set f.currentJti = :nextJti
+            where f.id = :id and f.currentJti = :currentJti and f.revoked = false and f.expiresAt > :now
+            """)
+    int rotate(@Param("id") String id,
+               @Param("currentJti") String currentJti,
+               @Param("nextJti") String nextJti,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.id = :id")
+    int revoke(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshTokenFamily f where f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
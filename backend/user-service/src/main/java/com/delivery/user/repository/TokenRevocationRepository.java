@@ -0,0 +1,35 @@
+package com.delivery.user.repository;
+
+import com.delivery.user.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO token_revocation (user_id, revoked_before, updated_at)
+            VALUES (:userId, :revokedBefore, :updatedAt)
+            ON CONFLICT (user_id) DO UPDATE
+            SET revoked_before = GREATEST(token_revocation.revoked_before, EXCLUDED.revoked_before),
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+                @Param("revokedBefore") long revokedBefore,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+    List<TokenRevocation> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevocation r where r.updatedAt < :before")
+    int deleteUpdatedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,11 +2,19 @@ package com.delivery.user.repository;
 
 import com.delivery.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     Optional<User> findByEmail(String email);
         boolean existsByEmail(String email);
+
+    @Query("select r.name from User u join u.roles r where u.id = :id")
+    List<String> findRoleNamesById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.delivery.user.repository;
+
+import com.delivery.user.entity.Role;
+import com.delivery.user.entity.User;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> idGreaterThan(Long afterId) {
+        return (root, query, cb) -> afterId == null ? null : cb.greaterThan(root.get("id"), afterId);
+    }
+
+    // Matches the lower(email) text_pattern_ops index
+    public static Specification<User> emailStartsWith(String prefix) {
+        return (root, query, cb) -> prefix == null || prefix.isBlank()
+                ? null
+                : cb.like(cb.lower(root.get("email")), escapeLike(prefix.trim().toLowerCase()) + "%", '\\');
+    }
+
+    // Matches the lower(full_name) trigram index
+    public static Specification<User> fullNameContains(String name) {
+        return (root, query, cb) -> name == null || name.isBlank()
+                ? null
+                : cb.like(cb.lower(root.get("fullName")), "%" + escapeLike(name.trim().toLowerCase()) + "%", '\\');
+    }
+
+    // Filters on user_role.role_id, whose statistics know how rare each role is; a filter on the role name
+    // makes the planner guess and walk every user for rare roles
+    public static Specification<User> hasRoleId(Long roleId) {
+        return (root, query, cb) -> {
+            if (roleId == null) {
+                return null;
+            }
+            // Role ids are unique per user, so the join cannot duplicate rows
+            Join<User, Role> roles = root.join("roles");
+            return cb.equal(roles.get("id"), roleId);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -10,45 +10,41 @@ import com.delivery.user.entity.User;
 import com.delivery.user.exception.ApiException;
 import com.delivery.user.mapper.UserMapper;
 import com.delivery.user.repository.UserRepository;
-import com.delivery.user.repository.RoleRepository;
 import com.delivery.user.util.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+// Not @Transactional: hashing takes far longer than the queries, and must not hold a pooled connection
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class AuthService {
 
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "users_email_key";
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginRateLimiter loginRateLimiter;
     private final JwtTokenProvider jwtTokenProvider;
+    private final MeterRegistry meterRegistry;
 
     public RegisterResponseDto register(RegisterRequestDto registerRequest) {
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new ApiException("Email already registered", HttpStatus.CONFLICT);
-        }
-
-        Role customerRole = roleRepository.findByName("USER")
-                .orElseGet(() -> {
-                    Role newRole = new Role();
-                    newRole.setName("USER");
-                    return roleRepository.save(newRole);
-                });
+        Role customerRole = roleRegistry.get(RoleRegistry.USER);
 
         User user = new User();
         user.setEmail(registerRequest.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPasswordHash(passwordHasher.encode(registerRequest.getPassword()));
         user.setFullName(registerRequest.getFullName());
         user.setRoles(new HashSet<>(Set.of(customerRole)));
 
@@ -63,14 +59,25 @@ public class AuthService {
             user.setAddresses(addresses);
         }
 
-        User savedUser = userRepository.save(user);
+        // The unique email constraint is the duplicate check, so there is no race between check and insert
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isConstraintViolation(e, EMAIL_UNIQUE_CONSTRAINT)) {
+                throw new ApiException("Email already registered", HttpStatus.CONFLICT);
+            }
+            throw e;
+        }
 
         List<String> roles = savedUser.getRoles().stream()
                 .map(Role::getName)
                 .collect(Collectors.toList());
 
         String accessToken = jwtTokenProvider.generateAccessToken(savedUser.getId(), roles);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId());
+        String refreshToken = refreshTokenService.issue(savedUser.getId());
+
+        meterRegistry.counter("auth.registrations").increment();
 
         RegisterResponseDto response = userMapper.toRegisterDto(savedUser);
 
@@ -79,20 +86,27 @@ public class AuthService {
         return response;
     }
 
-    public AuthResponseDto login(LoginRequestDto loginRequest) {
+    public AuthResponseDto login(LoginRequestDto loginRequest, String clientIp) {
+        loginRateLimiter.check(loginRequest.getEmail(), clientIp);
+
         User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
+                .orElseThrow(() -> {
+                    countLogin("unknown_user");
+                    return new ApiException("User not found", HttpStatus.NOT_FOUND);
+                });
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPasswordHash())) {
+            countLogin("invalid_password");
             throw new ApiException("Invalid password", HttpStatus.UNAUTHORIZED);
         }
+        countLogin("success");
 
         List<String> roles = user.getRoles().stream()
                 .map(Role::getName)
                 .collect(Collectors.toList());
 
         String accessToken = jwtTokenProvider.generateAccessToken(user.getId(), roles);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId());
+        String refreshToken = refreshTokenService.issue(user.getId());
 
         AuthResponseDto authResponse = new AuthResponseDto();
         authResponse.setAccessToken(accessToken);
@@ -102,4 +116,13 @@ public class AuthService {
 
         return authResponse;
     }
-}
\ No newline at end of file
+
+    private void countLogin(String result) {
+        meterRegistry.counter("auth.logins", "result", result).increment();
+    }
+
+    private boolean isConstraintViolation(DataIntegrityViolationException e, String constraintName) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && constraintName.equalsIgnoreCase(violation.getConstraintName());
+    }
+}
@@ -0,0 +1,55 @@
+package com.delivery.user.service;
+
+import com.delivery.user.exception.ApiException;
+import com.delivery.user.util.StripedTokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Throttles login attempts per email and per client IP before any database or BCrypt work is done.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final StripedTokenBuckets emailBuckets;
+    private final StripedTokenBuckets ipBuckets;
+    private final Counter emailThrottled;
+    private final Counter ipThrottled;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.security.login-rate-limit.stripes}") int stripes,
+                            @Value("${app.security.login-rate-limit.email.capacity}") int emailCapacity,
+                            @Value("${app.security.login-rate-limit.email.tokens-per-second}") double emailRate,
+                            @Value("${app.security.login-rate-limit.ip.capacity}") int ipCapacity,
+                            @Value("${app.security.login-rate-limit.ip.tokens-per-second}") double ipRate) {
+        this.emailBuckets = new StripedTokenBuckets(stripes, emailCapacity, emailRate);
+        this.ipBuckets = new StripedTokenBuckets(stripes, ipCapacity, ipRate);
+        this.emailThrottled = Counter.builder("auth.login.throttled")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.ipThrottled = Counter.builder("auth.login.throttled")
+                .tag("key", "ip")
+                .register(meterRegistry);
+    }
+
+    public void check(String email, String clientIp) {
+        // The IP is checked first so a stuffing run over many emails does not drain each victim's bucket
+        if (clientIp != null && !ipBuckets.tryAcquire(clientIp)) {
+            ipThrottled.increment();
+            throw tooManyAttempts();
+        }
+        if (!emailBuckets.tryAcquire(email.toLowerCase(Locale.ROOT))) {
+            emailThrottled.increment();
+            throw tooManyAttempts();
+        }
+    }
+
+    private ApiException tooManyAttempts() {
+        return new ApiException("Too many login attempts, try again later", HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
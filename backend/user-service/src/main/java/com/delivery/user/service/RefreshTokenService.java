@@ -0,0 +1,92 @@
+package com.delivery.user.service;
+
+import com.delivery.user.dto.response.TokenResponseDto;
+import com.delivery.user.entity.RefreshTokenFamily;
+import com.delivery.user.exception.ApiException;
+import com.delivery.user.repository.RefreshTokenFamilyRepository;
+import com.delivery.user.repository.UserRepository;
+import com.delivery.user.util.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens grouped into families, one per login.
+ * <p>
+ * Only the latest token of a family is accepted. Presenting an older one means it was copied, so the whole
+ * family is revoked and the user has to log in again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public String issue(Long userId) {
+        RefreshTokenFamily family = new RefreshTokenFamily();
+        family.setId(UUID.randomUUID().toString());
+        family.setUserId(userId);
+        family.setCurrentJti(UUID.randomUUID().toString());
+        family.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(jwtTokenProvider.getRefreshTokenExpirationMs())));
+        refreshTokenFamilyRepository.save(family);
+
+        return jwtTokenProvider.generateRefreshToken(userId, family.getId(), family.getCurrentJti());
+    }
+
+    public TokenResponseDto refresh(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.getClaimsFromToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw invalidToken();
+        }
+
+        String familyId = claims.get(JwtTokenProvider.FAMILY_CLAIM, String.class);
+        if (!JwtTokenProvider.REFRESH_TOKEN_TYPE.equals(claims.get(JwtTokenProvider.TOKEN_TYPE_CLAIM))
+                || familyId == null || claims.getId() == null) {
+            throw invalidToken();
+        }
+
+        String nextJti = UUID.randomUUID().toString();
+        if (refreshTokenFamilyRepository.rotate(familyId, claims.getId(), nextJti, LocalDateTime.now()) == 0) {
+            refreshTokenFamilyRepository.revoke(familyId);
+            log.warn("Refresh token reuse or expired family {}, family revoked", familyId);
+            throw invalidToken();
+        }
+
+        Long userId = Long.parseLong(claims.getSubject());
+        List<String> roles = userRepository.findRoleNamesById(userId);
+        if (roles.isEmpty()) {
+            throw invalidToken();
+        }
+
+        TokenResponseDto response = new TokenResponseDto();
+        response.setAccessToken(jwtTokenProvider.generateAccessToken(userId, roles));
+        response.setRefreshToken(jwtTokenProvider.generateRefreshToken(userId, familyId, nextJti));
+        return response;
+    }
+
+    @Scheduled(cron = "${app.security.jwt.refresh-cleanup-cron}")
+    public void deleteExpired() {
+        int deleted = refreshTokenFamilyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh token families", deleted);
+        }
+    }
+
+    private ApiException invalidToken() {
+        return new ApiException("Invalid refresh token", HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,84 @@
+package com.delivery.user.service;
+
+import com.delivery.user.entity.Role;
+import com.delivery.user.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Role ids loaded once at startup. Roles only change through migrations, so registration and role updates
+ * can reference them without a lookup. Loaded when the context starts, in a phase before the web server's, so
+ * requests never see an empty registry; a refresh that stops short of starting, such as a CDS training run, does
+ * not need a database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry implements SmartLifecycle {
+
+    public static final String USER = "USER";
+    public static final String ADMIN = "ADMIN";
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<String, Long> roleIds = Map.of();
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        for (String name : List.of(USER, ADMIN)) {
+            if (roleRepository.findByName(name).isEmpty()) {
+                Role role = new Role();
+                role.setName(name);
+                roleRepository.save(role);
+            }
+        }
+
+        roleIds = roleRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Role::getId, (first, second) -> first));
+        log.info("Loaded roles {}", roleIds.keySet());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // The web server starts in a phase close to Integer.MAX_VALUE
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public Optional<Long> findId(String name) {
+        return Optional.ofNullable(roleIds.get(name));
+    }
+
+    /**
+     * Returns a detached role carrying only the id and name; enough to link it to a user.
+     */
+    public Role get(String name) {
+        Long id = roleIds.get(name);
+        if (id == null) {
+            throw new IllegalStateException("Unknown role " + name);
+        }
+
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,86 @@
+package com.delivery.user.service;
+
+import com.delivery.user.dto.response.TokenRevocationDto;
+import com.delivery.user.dto.response.TokenRevocationsResponseDto;
+import com.delivery.user.repository.TokenRevocationRepository;
+import com.delivery.user.util.TokenRevocationCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-user token epochs. Access tokens issued before a user's epoch are rejected by every service once it has
+ * polled {@code /internal/token-revocations}.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Covers clock skew and transactions that commit after a poll has read past their updated_at
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final Duration retention;
+
+    private LocalDateTime lastPoll;
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+                                  TokenRevocationCache tokenRevocationCache,
+                                  @Value("${app.security.token-revocation.retention}") Duration retention) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.tokenRevocationCache = tokenRevocationCache;
+        this.retention = retention;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void revokeTokens(Long userId) {
+        // iat has second precision, so tokens issued in the current second are revoked as well
+        long revokedBefore = Instant.now().getEpochSecond() + 1;
+        tokenRevocationRepository.upsert(userId, revokedBefore, LocalDateTime.now());
+
+        TokenRevocationDto revocation = new TokenRevocationDto(userId, revokedBefore);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenRevocationCache.merge(List.of(revocation));
+            }
+        });
+    }
+
+    public TokenRevocationsResponseDto getRevocations(LocalDateTime since) {
+        LocalDateTime asOf = LocalDateTime.now().minus(POLL_OVERLAP);
+        LocalDateTime from = since != null ? since : LocalDateTime.now().minus(retention);
+
+        List<TokenRevocationDto> revocations = tokenRevocationRepository.findByUpdatedAtGreaterThanEqual(from).stream()
+                .map(revocation -> new TokenRevocationDto(revocation.getUserId(), revocation.getRevokedBefore()))
+                .toList();
+        return new TokenRevocationsResponseDto(asOf, revocations);
+    }
+
+    // Other user-service instances revoke tokens too, so this one polls the table like the other services do
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.poll-interval-ms}")
+    public void refreshCache() {
+        TokenRevocationsResponseDto response = getRevocations(lastPoll);
+        tokenRevocationCache.merge(response.revocations());
+        lastPoll = response.asOf();
+    }
+
+    @Scheduled(cron = "${app.security.token-revocation.cleanup-cron}")
+    public void deleteExpired() {
+        int deleted = tokenRevocationRepository.deleteUpdatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} expired token revocations", deleted);
+        }
+    }
+}
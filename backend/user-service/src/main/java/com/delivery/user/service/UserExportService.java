@@ -0,0 +1,169 @@
+package com.delivery.user.service;
+
+import com.delivery.common.export.ExportFormat;
+import com.delivery.common.export.ExportWriter;
+import com.delivery.user.exception.ApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams users ordered by id through a server-side cursor, with the same filters as the admin user list.
+ * Memory stays the same whatever the number of users.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final String EXPORT_PERMIT = "exportPermit";
+
+    private static final List<String> COLUMNS = List.of("id", "email", "fullName", "roles", "createdAt");
+
+    // Roles per user come from a subquery, so the users are read in id order without grouping
+    private static final String SELECT_USERS_SQL = """
+            SELECT u.id, u.email, u.full_name,
+                   ARRAY(SELECT r.name FROM user_role ur JOIN roles r ON r.id = ur.role_id
+                         WHERE ur.user_id = u.id ORDER BY r.name),
+                   u.created_at
+            FROM users u
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RoleRegistry roleRegistry;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exports;
+
+    public UserExportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             RoleRegistry roleRegistry,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.max-concurrent}") int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.roleRegistry = roleRegistry;
+        this.objectMapper = objectMapper;
+        this.exports = new Semaphore(maxConcurrent);
+    }
+
+    public StreamingResponseBody exportUsers(String email, String name, String role, ExportFormat format,
+                                             boolean compress) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        // Same predicates as UserSpecifications, so the same indexes serve them
+        if (email != null && !email.isBlank()) {
+            conditions.add("lower(u.email) LIKE ? ESCAPE '\\'");
+            parameters.add(escapeLike(email.trim().toLowerCase()) + "%");
+        }
+        if (name != null && !name.isBlank()) {
+            conditions.add("lower(u.full_name) LIKE ? ESCAPE '\\'");
+            parameters.add("%" + escapeLike(name.trim().toLowerCase()) + "%");
+        }
+        if (role != null && !role.isBlank()) {
+            // An unknown role matches nobody
+            conditions.add("EXISTS (SELECT 1 FROM user_role ur WHERE ur.user_id = u.id AND ur.role_id = ?)");
+            parameters.add(roleRegistry.findId(role.trim().toUpperCase()).orElse(-1L));
+        }
+        String sql = SELECT_USERS_SQL
+                + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n")
+                + "ORDER BY u.id";
+
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(
+                ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest());
+        if (!exports.tryAcquire()) {
+            throw new ApiException("Too many exports running, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exports.release();
+            }
+        };
+        // Released when the export ends, or when the async request completes without running it, e.g. when the
+        // task executor rejects it
+        asyncManager.registerCallableInterceptor(EXPORT_PERMIT, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                release.run();
+            }
+        });
+
+        return output -> {
+            try {
+                stream(output, sql, parameters, format, compress);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private void stream(OutputStream output, String sql, List<Object> parameters, ExportFormat format,
+                        boolean compress) throws IOException {
+        ExportWriter writer = new ExportWriter(output, format, COLUMNS, objectMapper.getFactory(), compress);
+        long[] rows = {0};
+
+        try {
+            try {
+                // PostgreSQL only honours the fetch size inside a transaction, which turns the query into a cursor.
+                // A write failing on a dropped client ends the query, and the rollback closes the cursor.
+                readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    ps.setFetchSize(FETCH_SIZE);
+                    for (int i = 0; i < parameters.size(); i++) {
+                        ps.setObject(i + 1, parameters.get(i));
+                    }
+                    return ps;
+                }, rs -> {
+                    try {
+                        writer.writeRow(rs.getLong(1), rs.getString(2), rs.getString(3),
+                                List.of((String[]) rs.getArray(4).getArray()),
+                                rs.getObject(5, LocalDateTime.class));
+                    } catch (IOException e) {
+                        // A dropped client also cancels the export task, which interrupts this thread; clear it so
+                        // the rollback and the class loading it needs are not cut short
+                        Thread.interrupted();
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                }));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish();
+        } catch (IOException e) {
+            log.info("User export aborted after {} rows: {}", rows[0], e.getMessage());
+            throw e;
+        }
+
+        log.info("Exported {} users", rows[0]);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
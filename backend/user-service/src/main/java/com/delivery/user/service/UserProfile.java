@@ -0,0 +1,6 @@
+package com.delivery.user.service;
+
+import com.delivery.user.dto.response.UserResponseDto;
+
+public record UserProfile(UserResponseDto user, String etag) {
+}
@@ -0,0 +1,83 @@
+package com.delivery.user.service;
+
+import com.delivery.user.entity.User;
+import com.delivery.user.exception.ApiException;
+import com.delivery.user.mapper.UserMapper;
+import com.delivery.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * In-memory cache of {@code /users/me} responses keyed by user id.
+ * <p>
+ * Every write to a user must call {@link #evictAfterCommit(Long)}. The ETag is the entity version, so a client
+ * holding an unchanged profile gets 304 without a body.
+ */
+@Service
+public class UserProfileService {
+
+    private final Cache<Long, UserProfile> cache;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserProfileService(UserRepository userRepository,
+                              UserMapper userMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.profile-cache.maximum-size}") long maximumSize,
+                              @Value("${app.profile-cache.expire-after-write}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userProfiles");
+    }
+
+    public UserProfile getProfile(Long userId) {
+        // Concurrent misses for the same user wait for a single load
+        return cache.get(userId, this::load);
+    }
+
+    /**
+     * Drops the cached profile once the current transaction commits, so a reader cannot cache the old state
+     * again in between.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidate(userId);
+            }
+        });
+    }
+
+    private UserProfile load(Long userId) {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
+            return new UserProfile(userMapper.toDto(user), "\"" + user.getId() + "-" + user.getVersion() + "\"");
+        });
+    }
+}
@@ -1,32 +1,41 @@
 package com.delivery.user.service;
 
+import com.delivery.user.dto.request.AddressRequestDto;
+import com.delivery.user.dto.request.PatchUserRequestDto;
 import com.delivery.user.dto.request.UpdateUserRequestDto;
+import com.delivery.user.dto.response.UserPageResponseDto;
 import com.delivery.user.dto.response.UserResponseDto;
 import com.delivery.user.entity.Address;
 import com.delivery.user.entity.Role;
 import com.delivery.user.entity.User;
 import com.delivery.user.exception.ApiException;
 import com.delivery.user.mapper.UserMapper;
-import com.delivery.user.repository.RoleRepository;
 import com.delivery.user.repository.UserRepository;
+import com.delivery.user.repository.UserSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final UserMapper userMapper;
+    private final UserProfileService userProfileService;
+    private final TokenRevocationService tokenRevocationService;
 
     public UserResponseDto getCurrentUser(Long userId) {
         User user = userRepository.findById(userId)
@@ -34,41 +43,102 @@ public class UserService {
         return userMapper.toDto(user);
     }
 
-    public List<UserResponseDto> getUsers() {
-        List<User> users = userRepository.findAll();
-        return userMapper.toDtoList(users);
+    public UserPageResponseDto getUsers(Long afterId, int limit, String email, String name, String role) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Long roleId = null;
+        if (role != null && !role.isBlank()) {
+            roleId = roleRegistry.findId(role.trim().toUpperCase()).orElse(null);
+            if (roleId == null) {
+                UserPageResponseDto response = new UserPageResponseDto();
+                response.setItems(List.of());
+                return response;
+            }
+        }
+
+        Specification<User> specification = Specification.allOf(
+                UserSpecifications.idGreaterThan(afterId),
+                UserSpecifications.emailStartsWith(email),
+                UserSpecifications.fullNameContains(name),
+                UserSpecifications.hasRoleId(roleId));
+
+        // Fetch one extra row to know whether there is a next page without a count query
+        List<User> users = userRepository.findBy(specification, query -> query
+                .sortBy(Sort.by("id"))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = users.size() > pageSize;
+        List<User> page = hasNext ? users.subList(0, pageSize) : users;
+
+        UserPageResponseDto response = new UserPageResponseDto();
+        response.setItems(userMapper.toDtoList(page));
+        response.setNextAfterId(hasNext ? page.get(page.size() - 1).getId() : null);
+        return response;
     }
 
     @Transactional
     public UserResponseDto updateUserProfile(Long userId, UpdateUserRequestDto updateUserRequestDto) {
+        // PUT has always kept the addresses when none are sent
+        Set<AddressRequestDto> addresses = updateUserRequestDto.getAddresses() == null
+                || updateUserRequestDto.getAddresses().isEmpty() ? null : updateUserRequestDto.getAddresses();
+        return applyProfileChanges(userId, updateUserRequestDto.getFullName(), addresses);
+    }
+
+    @Transactional
+    public UserResponseDto patchUserProfile(Long userId, PatchUserRequestDto patchUserRequestDto) {
+        return applyProfileChanges(userId, patchUserRequestDto.getFullName(), patchUserRequestDto.getAddresses());
+    }
+
+    private UserResponseDto applyProfileChanges(Long userId, String fullName, Set<AddressRequestDto> addresses) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
 
-        user.setFullName(updateUserRequestDto.getFullName());
-
-        if (updateUserRequestDto.getAddresses() != null && !updateUserRequestDto.getAddresses().isEmpty()) {
-            user.getAddresses().clear();
+        boolean changed = false;
+        if (fullName != null && !fullName.equals(user.getFullName())) {
+            user.setFullName(fullName);
+            changed = true;
+        }
+        if (addresses != null) {
+            changed |= mergeAddresses(user, addresses);
+        }
 
-            Set<Address> addresses = updateUserRequestDto.getAddresses().stream()
-                    .map(addressDto -> {
-                        Address address = userMapper.toEntity(addressDto);
-                        address.setUser(user);
-                        return address;
-                    })
-                    .collect(Collectors.toSet());
-            user.getAddresses().addAll(addresses);
+        // Nothing to write: no UPDATE, no version bump, and the cached profile stays valid
+        if (!changed) {
+            return userMapper.toDto(user);
         }
 
-        User updatedUser = userRepository.save(user);
+        // Address changes alone would not make the user dirty, and the version is the profile ETag
+        user.setUpdatedAt(LocalDateTime.now());
+        User updatedUser = userRepository.saveAndFlush(user);
+        userProfileService.evictAfterCommit(userId);
         return userMapper.toDto(updatedUser);
     }
 
+    /**
+     * Addresses have no id on the wire, so they are matched by all their fields. Only rows that are gone are
+     * deleted and only new ones are inserted; unchanged rows are not touched.
+     */
+    private boolean mergeAddresses(User user, Set<AddressRequestDto> incoming) {
+        Set<AddressRequestDto> added = new HashSet<>(incoming);
+        boolean changed = user.getAddresses().removeIf(address -> !added.remove(userMapper.toAddressDto(address)));
+
+        for (AddressRequestDto addressDto : added) {
+            Address address = userMapper.toEntity(addressDto);
+            address.setUser(user);
+            user.getAddresses().add(address);
+            changed = true;
+        }
+        return changed;
+    }
+
     @Transactional
     public void deleteUser(Long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
 
         userRepository.deleteById(userId);
+        userProfileService.evictAfterCommit(userId);
+        tokenRevocationService.revokeTokens(userId);
     }
 
     @Transactional
@@ -76,12 +146,7 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND));
 
-        Role adminRole = roleRepository.findByName("ADMIN")
-                .orElseGet(() -> {
-                    Role newRole = new Role();
-                    newRole.setName("ADMIN");
-                    return roleRepository.save(newRole);
-                });
+        Role adminRole = roleRegistry.get(RoleRegistry.ADMIN);
 
         if (user.getRoles() == null) {
             user.setRoles(new HashSet<>());
@@ -90,5 +155,8 @@ public class UserService {
         user.getRoles().add(adminRole);
 
         userRepository.save(user);
+        userProfileService.evictAfterCommit(userId);
+        // Tokens carry roles, so existing ones must not keep the old set
+        tokenRevocationService.revokeTokens(userId);
     }
 }
\ No newline at end of file
@@ -14,6 +14,10 @@ import java.util.List;
 @Component
 public class JwtTokenProvider {
 
+    public static final String TOKEN_TYPE_CLAIM = "type";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    public static final String FAMILY_CLAIM = "fam";
+
     @Value("${app.security.jwt.secret-key}")
     private String jwtSecret;
 
@@ -28,14 +32,22 @@ public class JwtTokenProvider {
     }
 
     public String generateAccessToken(Long userId, List<String> roles) {
-        return generateToken(userId, roles, accessTokenExpirationMs);
+        return generateToken(userId, roles, accessTokenExpirationMs).compact();
+    }
+
+    public String generateRefreshToken(Long userId, String familyId, String jti) {
+        return generateToken(userId, null, refreshTokenExpirationMs)
+                .setId(jti)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .claim(FAMILY_CLAIM, familyId)
+                .compact();
     }
 
-    public String generateRefreshToken(Long userId) {
-        return generateToken(userId, null, refreshTokenExpirationMs);
+    public long getRefreshTokenExpirationMs() {
+        return refreshTokenExpirationMs;
     }
 
-    private String generateToken(Long userId, List<String> roles, long expirationMs) {
+    private JwtBuilder generateToken(Long userId, List<String> roles, long expirationMs) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
@@ -49,25 +61,31 @@ public class JwtTokenProvider {
             builder.claim("roles", roles);
         }
 
-        return builder.compact();
+        return builder;
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
+    public Claims getClaimsFromToken(String token) {
+        return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
-        return Long.parseLong(claims.getSubject());
     }
 
-    public List<String> getRolesFromToken(String token) {
+    public Long getUserIdFromToken(String token) {
         Claims claims = Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    public List<String> getRolesFromToken(String token) {
+        return getRolesFromClaims(getClaimsFromToken(token));
+    }
 
+    public List<String> getRolesFromClaims(Claims claims) {
         @SuppressWarnings("unchecked")
         List<String> roles = (List<String>) claims.get("roles");
         return roles != null ? roles : List.of();
@@ -0,0 +1,68 @@
+package com.delivery.user.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of token buckets addressed by key hash.
+ * <p>
+ * Each bucket is one {@code long}: the last refill time in milliseconds since creation (upper 40 bits) and
+ * the tokens left in thousandths (lower 24 bits). Keys that hash to the same stripe share a bucket, which only
+ * makes limiting stricter, and memory stays at 8 bytes per stripe however many keys are seen.
+ */
+public class StripedTokenBuckets {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long capacityMilli;
+    private final double refillMilliPerMs;
+    private final long origin = System.currentTimeMillis();
+
+    /**
+     * @param stripes         number of buckets, rounded up to a power of two
+     * @param capacity        burst size in tokens
+     * @param tokensPerSecond refill rate
+     */
+    public StripedTokenBuckets(int stripes, int capacity, double tokensPerSecond) {
+        if (capacity * MILLI > TOKEN_MASK) {
+            throw new IllegalArgumentException("Capacity too large: " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.buckets = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacityMilli = capacity * MILLI;
+        // One token per second is one thousandth of a token per millisecond
+        this.refillMilliPerMs = tokensPerSecond;
+    }
+
+    public boolean tryAcquire(Object key) {
+        int index = spread(key.hashCode()) & mask;
+        // +1 keeps a real state from ever being 0, which marks an untouched bucket
+        long now = System.currentTimeMillis() - origin + 1;
+
+        while (true) {
+            long state = buckets.get(index);
+            long tokens = capacityMilli;
+            if (state != 0) {
+                long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+                tokens = Math.min(capacityMilli, (state & TOKEN_MASK) + (long) (elapsed * refillMilliPerMs));
+            }
+            if (tokens < MILLI) {
+                return false;
+            }
+            if (buckets.compareAndSet(index, state, (now << TOKEN_BITS) | (tokens - MILLI))) {
+                return true;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+}
@@ -0,0 +1,46 @@
+package com.delivery.user.util;
+
+import com.delivery.user.dto.response.TokenRevocationDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable map of user id to revocation epoch, swapped as a whole on every refresh so the JWT filter reads it
+ * without locks or network calls. Entries older than the longest access token lifetime are dropped, which
+ * keeps the map down to users changed in the last few minutes.
+ */
+@Component
+public class TokenRevocationCache {
+
+    private final Duration retention;
+
+    private volatile Map<Long, Long> revokedBefore = Map.of();
+
+    public TokenRevocationCache(@Value("${app.security.token-revocation.retention}") Duration retention) {
+        this.retention = retention;
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long epoch = revokedBefore.get(userId);
+        return epoch != null && (issuedAt == null || issuedAt.getTime() / 1000 < epoch);
+    }
+
+    public synchronized void merge(Collection<TokenRevocationDto> revocations) {
+        long oldest = Instant.now().minus(retention).getEpochSecond();
+        Map<Long, Long> next = new HashMap<>(revokedBefore);
+        next.values().removeIf(epoch -> epoch < oldest);
+        for (TokenRevocationDto revocation : revocations) {
+            if (revocation.revokedBefore() >= oldest) {
+                next.merge(revocation.userId(), revocation.revokedBefore(), Math::max);
+            }
+        }
+        revokedBefore = Map.copyOf(next);
+    }
+}
@@ -0,0 +1,7 @@
+CREATE TABLE token_revocation (
+                                  user_id BIGINT PRIMARY KEY,
+                                  revoked_before BIGINT NOT NULL,
+                                  updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_token_revocation_updated_at ON token_revocation(updated_at);
@@ -0,0 +1,16 @@
+CREATE TABLE refresh_token_family (
+                                      id VARCHAR(36) PRIMARY KEY,
+                                      user_id BIGINT NOT NULL,
+                                      current_jti VARCHAR(36) NOT NULL,
+                                      revoked BOOLEAN NOT NULL DEFAULT FALSE,
+                                      expires_at TIMESTAMP NOT NULL,
+                                      created_at TIMESTAMP NOT NULL,
+
+                                      CONSTRAINT fk_refresh_token_family_user
+                                          FOREIGN KEY (user_id)
+                                              REFERENCES users(id)
+                                              ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_family_user_id ON refresh_token_family(user_id);
+CREATE INDEX idx_refresh_token_family_expires_at ON refresh_token_family(expires_at);
@@ -0,0 +1,3 @@
+-- Address ids are allocated by Hibernate in blocks of 50 so address inserts can be batched
+ALTER SEQUENCE addresses_id_seq INCREMENT BY 50;
+SELECT setval('addresses_id_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM addresses));
@@ -0,0 +1,95 @@
+package com.delivery.user.controller;
+
+import com.delivery.common.sql.QueryBudgetAssertions;
+import com.delivery.user.util.JwtTokenProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static com.delivery.common.sql.QueryBudgetAssertions.withinQueryBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every endpoint with a {@link com.delivery.common.sql.QueryBudget} against the real schema, with users that have
+ * several roles and addresses each, so a lazy load per user shows up as extra statements.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=query-budget-test-secret-of-at-least-256-bits",
+        "app.security.internal-token=test-internal-token",
+        // Over-budget requests are reported by the assertion with their statement count instead of failing
+        "app.sql.query-budget.strict=false"
+})
+@AutoConfigureMockMvc
+@Import(QueryBudgetAssertions.Capture.class)
+@Sql("/query-budget/users.sql")
+@Testcontainers(disabledWithoutDocker = true)
+class UserControllerQueryBudgetTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void currentUser() throws Exception {
+        mockMvc.perform(get("/users/me").header(HttpHeaders.AUTHORIZATION, bearer(1001, "USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.addresses.length()").value(3))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void users() throws Exception {
+        mockMvc.perform(get("/users").header(HttpHeaders.AUTHORIZATION, bearer(1, "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(4))
+                .andExpect(jsonPath("$.items[0].roles.length()").value(2))
+                .andExpect(withinQueryBudget());
+    }
+
+    @Test
+    void userById() throws Exception {
+        mockMvc.perform(get("/users/1002").header(HttpHeaders.AUTHORIZATION, bearer(1, "ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.addresses.length()").value(3))
+                .andExpect(withinQueryBudget());
+    }
+
+    @AfterAll
+    static void everyBudgetIsTested(
+            @Autowired @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        QueryBudgetAssertions.assertEveryBudgetChecked(handlerMapping);
+    }
+
+    private String bearer(long userId, String... roles) {
+        return "Bearer " + jwtTokenProvider.generateAccessToken(userId, List.of(roles));
+    }
+}
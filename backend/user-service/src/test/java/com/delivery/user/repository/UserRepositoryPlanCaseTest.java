@@ -0,0 +1,165 @@
+package com.delivery.user.repository;
+
+import com.delivery.common.sql.PlanCaseStatements;
+import com.delivery.user.entity.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs every repository method once and fails when it sends other SQL than its plan cases in perf-tools'
+ * {@code plans/user.json}, so the query plan check explains the statements user-service really runs.
+ */
+@SpringBootTest(properties = {
+        "app.security.jwt.secret-key=plan-case-test-secret-of-at-least-256-bits",
+        "app.security.internal-token=test-internal-token"
+})
+@Sql("/query-budget/users.sql")
+@Testcontainers(disabledWithoutDocker = true)
+class UserRepositoryPlanCaseTest {
+
+    private static final long USER_ID = 1001;
+    private static final String EMAIL = "user1001@example.com";
+    private static final int PAGE_SIZE = 50;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    private static PlanCaseStatements planCases;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void recordStatements(@Autowired DataSource dataSource) throws IOException {
+        planCases = PlanCaseStatements.of("user");
+        planCases.attach(dataSource);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void findByEmail() {
+        planCases.assertRuns("UserRepository.findByEmail", () -> userRepository.findByEmail(EMAIL));
+    }
+
+    @Test
+    void existsByEmail() {
+        planCases.assertRuns("UserRepository.existsByEmail", () -> userRepository.existsByEmail(EMAIL));
+    }
+
+    @Test
+    void findRoleNamesById() {
+        planCases.assertRuns("UserRepository.findRoleNamesById", () -> userRepository.findRoleNamesById(USER_ID));
+    }
+
+    @Test
+    void findByIdGreaterThan() {
+        planCases.assertRuns("UserRepository.findBy(idGreaterThan)",
+                () -> page(UserSpecifications.idGreaterThan(USER_ID)));
+    }
+
+    @Test
+    void findByEmailStartsWith() {
+        planCases.assertRuns("UserRepository.findBy(emailStartsWith)",
+                () -> page(UserSpecifications.emailStartsWith("user10")));
+    }
+
+    @Test
+    void findByFullNameContains() {
+        planCases.assertRuns("UserRepository.findBy(fullNameContains)",
+                () -> page(UserSpecifications.fullNameContains("ser 10")));
+    }
+
+    @Test
+    void findByHasRoleId() {
+        long roleId = roleRepository.findByName("USER").orElseThrow().getId();
+        planCases.assertRuns("UserRepository.findBy(hasRoleId)", () -> page(UserSpecifications.hasRoleId(roleId)));
+    }
+
+    @Test
+    void roleFindByName() {
+        planCases.assertRuns("RoleRepository.findByName", () -> roleRepository.findByName("USER"));
+    }
+
+    @Test
+    void tokenRevocationUpsert() {
+        planCases.assertRuns("TokenRevocationRepository.upsert", () -> transactionTemplate.executeWithoutResult(
+                status -> tokenRevocationRepository.upsert(USER_ID, 1_700_000_000_000L, LocalDateTime.now())));
+    }
+
+    @Test
+    void tokenRevocationsSince() {
+        planCases.assertRuns("TokenRevocationRepository.findByUpdatedAtGreaterThanEqual",
+                () -> tokenRevocationRepository.findByUpdatedAtGreaterThanEqual(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    void tokenRevocationsDeleteOld() {
+        planCases.assertRuns("TokenRevocationRepository.deleteUpdatedBefore",
+                () -> tokenRevocationRepository.deleteUpdatedBefore(LocalDateTime.now().minusDays(1)));
+    }
+
+    @Test
+    void refreshFamilyRotate() {
+        planCases.assertRuns("RefreshTokenFamilyRepository.rotate",
+                () -> refreshTokenFamilyRepository.rotate("family", "current", "next", LocalDateTime.now()));
+    }
+
+    @Test
+    void refreshFamilyRevoke() {
+        planCases.assertRuns("RefreshTokenFamilyRepository.revoke", () -> refreshTokenFamilyRepository.revoke("family"));
+    }
+
+    @Test
+    void refreshFamilyDeleteExpired() {
+        planCases.assertRuns("RefreshTokenFamilyRepository.deleteExpired",
+                () -> refreshTokenFamilyRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    @AfterAll
+    static void everyPlanCaseIsTested() {
+        planCases.assertEveryPlanCaseChecked();
+    }
+
+    // The way UserService pages users, with the other filters unset
+    private List<User> page(Specification<User> filter) {
+        return userRepository.findBy(Specification.allOf(filter), query -> query
+                .sortBy(Sort.by("id"))
+                .limit(PAGE_SIZE + 1)
+                .all());
+    }
+}
@@ -0,0 +1,17 @@
+-- Four users, each with two roles and three addresses
+DELETE FROM users;
+
+INSERT INTO users (id, email, password_hash, full_name, created_at, updated_at)
+SELECT id, 'user' || id || '@example.com', 'not-a-hash', 'User ' || id, now(), now()
+FROM generate_series(1001, 1004) id;
+
+INSERT INTO user_role (user_id, role_id)
+SELECT u.id, r.id
+FROM users u
+CROSS JOIN roles r
+WHERE r.name IN ('USER', 'CUSTOMER');
+
+INSERT INTO addresses (id, street, city, zip, country, user_id)
+SELECT u.id * 10 + n, n || ' Test Street', 'Moscow', '10100' || n, 'Russia', u.id
+FROM users u
+CROSS JOIN generate_series(1, 3) n;
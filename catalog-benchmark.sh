@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Load test of the public catalog at many concurrent connections: the servlet endpoints of the default
+# restaurant-service, then the reactive ones (docker-compose.reactive.yml). Each run starts a fresh container
+# and reports throughput, status codes and latency percentiles. From /actuator/prometheus it reports the heap,
+# live data, thread count and direct buffer use before the load and at its peak. Compare the growth between the
+# two: the reactive catalog shares its JVM with Tomcat, and only the growth leaves the idle stack out.
+# Reports go to backend/perf-tools/results.
+#
+# Usage: ./catalog-benchmark.sh [servlet|reactive ...]      e.g. CONNECTIONS=5000 DURATION=120 ./catalog-benchmark.sh
+# Reads the same .env as docker-compose; the database and Kafka are started once and left running.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+CONNECTIONS=${CONNECTIONS:-10000}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+TIMEOUT_MS=${TIMEOUT_MS:-180000}
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(servlet reactive)
+fi
+
+if [ -f .env ]; then
+    set -a
+    . ./.env
+    set +a
+fi
+
+SERVLET_PORT=${RESTAURANT_SERVICE_PORT:-8082}
+REACTIVE_PORT=${REACTIVE_CATALOG_PORT:-8090}
+
+# Every connection is a socket of the load generator
+ulimit -n $(( CONNECTIONS + 1024 )) 2> /dev/null || echo "ulimit -n is $(ulimit -n), below ${CONNECTIONS} connections" >&2
+
+(cd backend/common && sh ./mvnw -B -q install -DskipTests)
+(cd backend/perf-tools && sh ./mvnw -B -q package -DskipTests)
+
+now_ms() {
+    date +%s%3N
+}
+
+compose() {
+    local mode=$1
+    shift
+    if [ "$mode" = "reactive" ]; then
+        docker-compose -f docker-compose.yml -f docker-compose.reactive.yml "$@"
+    else
+        docker-compose -f docker-compose.yml "$@"
+    fi
+}
+
+for mode in "${MODES[@]}"; do
+    compose "$mode" build restaurant-service > /dev/null
+    compose "$mode" up -d postgres-restaurant kafka > /dev/null
+    compose "$mode" rm -sf restaurant-service > /dev/null 2>&1
+    compose "$mode" up -d --no-deps restaurant-service > /dev/null 2>&1
+
+    start=$(now_ms)
+    until curl -fs -o /dev/null "http://localhost:${SERVLET_PORT}/actuator/health"; do
+        if [ $(( $(now_ms) - start )) -gt "$TIMEOUT_MS" ]; then
+            echo "restaurant-service ($mode) did not answer within ${TIMEOUT_MS} ms" >&2
+            exit 1
+        fi
+        sleep 0.5
+    done
+
+    port=$SERVLET_PORT
+    if [ "$mode" = "reactive" ]; then
+        port=$REACTIVE_PORT
+    fi
+
+    # Both stacks report through the servlet port's actuator. In the reactive run the scrape is the only servlet
+    # traffic, so Tomcat stays at its idle footprint and drops out of the growth figures
+    (cd backend/perf-tools && java -cp target/perf-tools.jar com.delivery.perf.CatalogBenchmark \
+        --label "$mode" \
+        --url "http://localhost:${port}" \
+        --metrics "http://localhost:${SERVLET_PORT}/actuator/prometheus" \
+        --connections "$CONNECTIONS" --duration "$DURATION" --warmup "$WARMUP")
+    echo
+done
+
+# Leave the default service running
+compose servlet up -d --no-deps restaurant-service > /dev/null 2>&1
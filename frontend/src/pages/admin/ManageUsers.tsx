@@ -65,6 +65,13 @@ interface UserResponseDto {
     roles: Role[];
 }
 
+interface UserPageResponseDto {
+    items: UserResponseDto[];
+    nextAfterId: number | null;
+}
+
+const PAGE_SIZE = 50;
+
 const ManageUsers: React.FC = () => {
     const navigate = useNavigate();
     const [users, setUsers] = useState<UserResponseDto[]>([]);
@@ -73,6 +80,8 @@ const ManageUsers: React.FC = () => {
     const [deleteDialogOpen, setDeleteDialogOpen] = useState(false);
     const [selectedUser, setSelectedUser] = useState<UserResponseDto | null>(null);
     const [retryCount, setRetryCount] = useState(0);
+    const [nextAfterId, setNextAfterId] = useState<number | null>(null);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     // Загружаем список пользователей
     useEffect(() => {
@@ -85,11 +94,14 @@ const ManageUsers: React.FC = () => {
             setError(null);
 
             // Используем основной API с токеном
-            const response = await api.get('http://localhost:8081/users');
+            const response = await api.get<UserPageResponseDto>('http://localhost:8081/users', {
+                params: { limit: PAGE_SIZE },
+            });
 
-            // Проверяем, что response.data - массив
-            if (Array.isArray(response.data)) {
-                setUsers(response.data);
+            // Проверяем, что пришла страница пользователей
+            if (Array.isArray(response.data?.items)) {
+                setUsers(response.data.items);
+                setNextAfterId(response.data.nextAfterId);
             } else {
                 console.error('❌ API did not return array:', response.data);
                 setError('Invalid data format received from server');
@@ -115,6 +127,25 @@ const ManageUsers: React.FC = () => {
         }
     };
 
+    // Загрузка следующей страницы
+    const fetchMoreUsers = async () => {
+        if (nextAfterId === null) return;
+
+        try {
+            setLoadingMore(true);
+            const response = await api.get<UserPageResponseDto>('http://localhost:8081/users', {
+                params: { afterId: nextAfterId, limit: PAGE_SIZE },
+            });
+            setUsers(prev => [...prev, ...response.data.items]);
+            setNextAfterId(response.data.nextAfterId);
+        } catch (error: any) {
+            console.error('❌ Error fetching more users:', error);
+            setError(`Failed to load users: ${error.message}`);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     // Открытие диалога удаления
     const handleDeleteClick = (user: UserResponseDto) => {
         setSelectedUser(user);
@@ -221,7 +252,7 @@ const ManageUsers: React.FC = () => {
                     <Box sx={{ display: 'flex', alignItems: 'center', gap: 2 }}>
                         {users.length > 0 && (
                             <Typography variant="body1" color="textSecondary">
-                                Total users: {users.length}
+                                Loaded users: {users.length}
                             </Typography>
                         )}
                         <Tooltip title="Refresh">
@@ -394,6 +425,17 @@ const ManageUsers: React.FC = () => {
                                 ))}
                             </TableBody>
                         </Table>
+                        {nextAfterId !== null && (
+                            <Box sx={{ display: 'flex', justifyContent: 'center', p: 2 }}>
+                                <Button
+                                    variant="outlined"
+                                    onClick={fetchMoreUsers}
+                                    disabled={loadingMore}
+                                >
+                                    {loadingMore ? <CircularProgress size={20} /> : 'Load more'}
+                                </Button>
+                            </Box>
+                        )}
                     </TableContainer>
                 ) : !loading && !error ? (
                     <Alert severity="info" sx={{ mt: 3 }}>
@@ -23,8 +23,7 @@ import {
     ShoppingCart,
     Refresh,
 } from '@mui/icons-material';
-import { orderApi } from '../../services/orderApi';
-import { restaurantApi } from '../../services/restaurantApi';
+import { gatewayApi } from '../../services/gatewayApi';
 import { format } from 'date-fns';
 
 interface OrderItemResponseDto {
@@ -43,12 +42,12 @@ interface PaymentResponseDto {
     paymentDate: string;
 }
 
-interface RestaurantResponseDto {
+interface RestaurantSummaryDto {
     id: number;
     name: string;
     cuisine: string;
     address: string;
-    dishes: any[];
+    dishCount: number;
 }
 
 interface OrderResponseDto {
@@ -57,25 +56,20 @@ interface OrderResponseDto {
     orderDate: string;
     userId: number;
     restaurantId: number;
-    restaurantName?: string;
+    restaurant: RestaurantSummaryDto | null;
+    restaurantName: string | null;
     totalPrice: number;
     orderItems: OrderItemResponseDto[];
     payment: PaymentResponseDto;
 }
 
-interface RestaurantCache {
-    [key: number]: RestaurantResponseDto;
-}
-
 const Orders: React.FC = () => {
     const navigate = useNavigate();
     const [orders, setOrders] = useState<OrderResponseDto[]>([]);
-    const [restaurantCache, setRestaurantCache] = useState<RestaurantCache>({});
     const [loading, setLoading] = useState(true);
-    const [loadingRestaurants, setLoadingRestaurants] = useState<Set<number>>(new Set());
     const [error, setError] = useState<string | null>(null);
 
-    // Загружаем список заказов и названия ресторанов
+    // Загружаем список заказов вместе с ресторанами одним запросом к gateway
     useEffect(() => {
         fetchOrders();
     }, []);
@@ -83,13 +77,8 @@ const Orders: React.FC = () => {
     const fetchOrders = async () => {
         try {
             setLoading(true);
-            const response = await orderApi.get('/orders');
-            const ordersData = response.data;
-            console.log(ordersData);
-            setOrders(ordersData);
-
-            // Загружаем названия ресторанов для всех заказов
-            await fetchRestaurantNames(ordersData);
+            const response = await gatewayApi.get('/bff/orders');
+            setOrders(response.data);
         } catch (error: any) {
             console.error('❌ Error fetching orders:', error);
             setError('Failed to load orders');
@@ -98,89 +87,9 @@ const Orders: React.FC = () => {
         }
     };
 
-    // Функция для загрузки названий ресторанов
-    const fetchRestaurantNames = async (ordersData: OrderResponseDto[]) => {
-        const uniqueRestaurantIds = [...new Set(ordersData.map(order => order.restaurantId))];
-
-        // Фильтруем те ID, которые еще не загружены
-        const idsToLoad = uniqueRestaurantIds.filter(id =>
-            !restaurantCache[id] && !loadingRestaurants.has(id)
-        );
-
-        if (idsToLoad.length === 0) return;
-
-        // Добавляем ID в loading state
-        setLoadingRestaurants(prev => new Set([...prev, ...idsToLoad]));
-
-        try {
-            const promises = idsToLoad.map(async (restaurantId) => {
-                try {
-                    const response = await restaurantApi.get(`/restaurants/${restaurantId}`);
-                    return response.data;
-                } catch (error) {
-                    console.error(`❌ Error fetching restaurant ${restaurantId}:`, error);
-                    return {
-                        id: restaurantId,
-                        name: `Restaurant ${restaurantId}`,
-                        cuisine: 'Unknown',
-                        address: 'Unknown'
-                    };
-                }
-            });
-
-            const restaurants = await Promise.all(promises);
-
-            // Обновляем кэш
-            const newCache = { ...restaurantCache };
-            restaurants.forEach(restaurant => {
-                newCache[restaurant.id] = restaurant;
-            });
-            setRestaurantCache(newCache);
-
-            // Обновляем имена ресторанов в заказах
-            setOrders(prevOrders =>
-                prevOrders.map(order => ({
-                    ...order,
-                    restaurantName: newCache[order.restaurantId]?.name || `Restaurant ${order.restaurantId}`
-                }))
-            );
-
-        } catch (error) {
-            console.error('❌ Error fetching restaurant names:', error);
-        } finally {
-            // Удаляем ID из loading state
-            setLoadingRestaurants(prev => {
-                const newSet = new Set(prev);
-                idsToLoad.forEach(id => newSet.delete(id));
-                return newSet;
-            });
-        }
-    };
-
     // Функция для получения названия ресторана
-    const getRestaurantName = (restaurantId: number) => {
-        if (restaurantCache[restaurantId]) {
-            return restaurantCache[restaurantId].name;
-        }
-
-        // Если ресторан загружается, показываем спиннер
-        if (loadingRestaurants.has(restaurantId)) {
-            return 'Loading...';
-        }
-
-        return `Restaurant ${restaurantId}`;
-    };
-
-    // Функция для получения дополнительной информации о ресторане
-    const getRestaurantInfo = (restaurantId: number) => {
-        const restaurant = restaurantCache[restaurantId];
-        if (!restaurant) return null;
-
-        return {
-            cuisine: restaurant.cuisine,
-            address: restaurant.address,
-            dishCount: restaurant.dishes?.length || 0
-        };
+    const getRestaurantName = (order: OrderResponseDto) => {
+        return order.restaurantName || `Restaurant ${order.restaurantId}`;
     };
 
     const handleBack = () => {
@@ -277,8 +186,7 @@ const Orders: React.FC = () => {
                         </TableHead>
                         <TableBody>
                             {orders.map((order) => {
-                                const restaurantInfo = getRestaurantInfo(order.restaurantId);
-                                const isRestaurantLoading = loadingRestaurants.has(order.restaurantId);
+                                const restaurantInfo = order.restaurant;
 
                                 return (
                                     <TableRow key={order.id} hover>
@@ -290,14 +198,7 @@ const Orders: React.FC = () => {
                                         <TableCell>
                                             <Box>
                                                 <Typography variant="body1" fontWeight="bold">
-                                                    {isRestaurantLoading ? (
-                                                        <Box sx={{ display: 'flex', alignItems: 'center', gap: 1 }}>
-                                                            <CircularProgress size={16} />
-                                                            Loading...
-                                                        </Box>
-                                                    ) : (
-                                                        getRestaurantName(order.restaurantId)
-                                                    )}
+                                                    {getRestaurantName(order)}
                                                 </Typography>
                                                 {restaurantInfo && (
                                                     <Typography variant="caption" color="textSecondary">
@@ -0,0 +1,46 @@
+import axios from 'axios';
+
+const GATEWAY_API_URL = import.meta.env.VITE_GATEWAY_API_URL || 'http://localhost:8080';
+
+console.log('🧩 Gateway API URL:', GATEWAY_API_URL);
+
+const gatewayApi = axios.create({
+    baseURL: GATEWAY_API_URL,
+    headers: {
+        'Content-Type': 'application/json',
+    },
+    timeout: 10000,
+});
+
+gatewayApi.interceptors.request.use(
+    (config) => {
+        const token = localStorage.getItem('token');
+        if (token) {
+            config.headers.Authorization = `Bearer ${token}`;
+        }
+        return config;
+    },
+    (error) => Promise.reject(error)
+);
+
+gatewayApi.interceptors.response.use(
+    (response) => response,
+    (error) => {
+        console.error('🚨 Gateway API Error:', {
+            url: error.config?.url,
+            method: error.config?.method,
+            status: error.response?.status,
+            message: error.message
+        });
+
+        if (error.response?.status === 401) {
+            console.warn('⚠️ Unauthorized - redirecting to login');
+            localStorage.removeItem('token');
+            window.location.href = '/login';
+        }
+
+        return Promise.reject(error);
+    }
+);
+
+export { gatewayApi };
\ No newline at end of file
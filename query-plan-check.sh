@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Query plan regression check. For every service it starts a throwaway Postgres, applies the service's
+# Flyway migrations, seeds a large synthetic dataset and explains every repository query
+# (backend/perf-tools/src/main/resources/plans). Fails on sequential scans of large tables, blown buffer
+# budgets and buffer growth against backend/perf-tools/baselines, and on repository methods without a plan case.
+#
+# Usage: ./query-plan-check.sh [service ...]      e.g. SCALE=2 ./query-plan-check.sh order
+# WRITE_BASELINE=1 stores the run as the new baseline. Reports go to backend/perf-tools/results.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+SCALE=${SCALE:-1}
+PORT=${PORT:-55432}
+CONTAINER=query-plan-check-postgres
+SERVICES=("$@")
+if [ ${#SERVICES[@]} -eq 0 ]; then
+    SERVICES=(restaurant user order)
+fi
+
+(cd backend/common && sh ./mvnw -B -q install -DskipTests)
+(cd backend/perf-tools && sh ./mvnw -B -q package -DskipTests)
+
+cleanup() {
+    docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+status=0
+for service in "${SERVICES[@]}"; do
+    cleanup
+    docker run -d --name "$CONTAINER" -p "${PORT}:5432" \
+        -e POSTGRES_DB="${service}_db" -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres \
+        postgres:15 > /dev/null
+    until docker exec "$CONTAINER" pg_isready -h 127.0.0.1 -U postgres -d "${service}_db" > /dev/null 2>&1; do
+        sleep 1
+    done
+
+    echo "== ${service}-service"
+    (cd backend/perf-tools && java -cp target/perf-tools.jar com.delivery.perf.QueryPlanChecker \
+        --service "$service" \
+        --url "jdbc:postgresql://localhost:${PORT}/${service}_db" \
+        --user postgres --password postgres \
+        --migrations "../${service}-service/src/main/resources/db/migration" \
+        --repositories "../${service}-service/src/main/java/com/delivery/${service}/repository" \
+        --seed --scale "$SCALE" \
+        ${WRITE_BASELINE:+--write-baseline}) || status=1
+done
+
+exit $status
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Cold-start benchmark of the default images (Dockerfile) against the fast ones (Dockerfile.fast).
+# For every run it reports the startup time Spring logs ("Started ... in X seconds") and the
+# time to first request: from container start until GET /actuator/health answers 200.
+#
+# Usage: ./startup-benchmark.sh [service ...]      e.g. RUNS=10 ./startup-benchmark.sh order-service
+# Reads the same .env as docker-compose; databases and Kafka are started once and left running.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+RUNS=${RUNS:-5}
+TIMEOUT_MS=${TIMEOUT_MS:-180000}
+SERVICES=("$@")
+if [ ${#SERVICES[@]} -eq 0 ]; then
+    SERVICES=(user-service restaurant-service order-service)
+fi
+
+if [ -f .env ]; then
+    set -a
+    . ./.env
+    set +a
+fi
+
+declare -A PORTS=(
+    [user-service]=${USER_SERVICE_PORT:-8081}
+    [restaurant-service]=${RESTAURANT_SERVICE_PORT:-8082}
+    [order-service]=${ORDER_SERVICE_PORT:-8083}
+)
+
+now_ms() {
+    date +%s%3N
+}
+
+compose() {
+    local mode=$1
+    shift
+    if [ "$mode" = "fast" ]; then
+        docker-compose -f docker-compose.yml -f docker-compose.fast.yml "$@"
+    else
+        docker-compose -f docker-compose.yml "$@"
+    fi
+}
+
+benchmark() {
+    local mode=$1 service=$2 port=${PORTS[$2]}
+    local started_total=0 first_request_total=0
+
+    compose "$mode" build "$service" > /dev/null
+    compose "$mode" up -d "$service" > /dev/null
+
+    for run in $(seq 1 "$RUNS"); do
+        compose "$mode" rm -sf "$service" > /dev/null 2>&1
+        local start
+        start=$(now_ms)
+        compose "$mode" up -d --no-deps "$service" > /dev/null 2>&1
+
+        until curl -fs -o /dev/null "http://localhost:${port}/actuator/health"; do
+            if [ $(( $(now_ms) - start )) -gt "$TIMEOUT_MS" ]; then
+                echo "$service ($mode) did not answer within ${TIMEOUT_MS} ms" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        local first_request=$(( $(now_ms) - start ))
+
+        local started
+        started=$(compose "$mode" logs --no-color "$service" \
+            | grep -o 'Started [A-Za-z]* in [0-9.]* seconds' | tail -1 | awk '{print $4}')
+        started_ms=$(awk -v s="${started:-0}" 'BEGIN { printf "%d", s * 1000 }')
+
+        printf '%-18s %-7s run %-2d started %6d ms  first request %6d ms\n' \
+            "$service" "$mode" "$run" "$started_ms" "$first_request"
+        started_total=$(( started_total + started_ms ))
+        first_request_total=$(( first_request_total + first_request ))
+    done
+
+    printf '%-18s %-7s mean   started %6d ms  first request %6d ms\n\n' \
+        "$service" "$mode" $(( started_total / RUNS )) $(( first_request_total / RUNS ))
+}
+
+for service in "${SERVICES[@]}"; do
+    benchmark default "$service"
+    benchmark fast "$service"
+done